@@ -1,17 +1,34 @@
 package g65058.dev3.labyrinthe.controller;
 
 import g65058.dev3.labyrinthe.model.board.Arrow;
+import g65058.dev3.labyrinthe.model.board.Board;
 import g65058.dev3.labyrinthe.model.board.Position;
 import g65058.dev3.labyrinthe.model.game.*;
 import g65058.dev3.labyrinthe.model.observer.Observer;
 import javafx.application.Platform;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Controller for the Labyrinth game.
  * Handles user interactions and coordinates between view and model.
  */
 public class GameController {
+    private static final System.Logger LOGGER = System.getLogger(GameController.class.getName());
+    // Pause before a robot plays, for visual feedback
+    private static final long AI_DELAY_MILLIS = 500;
+
     private final LabyrinthFacade facade;
+    // The robots think on one thread of their own, one search at a time
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "ai-player");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Creates a new controller.
@@ -40,6 +57,21 @@ public class GameController {
      */
     public void startNewGame(int humanCount, int aiDifficulty, boolean simplifiedVersion) {
         facade.startNewGame(humanCount, aiDifficulty, simplifiedVersion);
+        ponderIfHumanTurn();
+    }
+
+    /**
+     * Starts a new game dealt from a seed, so that the robots may play from
+     * the opening book.
+     *
+     * @param humanCount        number of human players
+     * @param aiDifficulty      AI difficulty level
+     * @param simplifiedVersion use simplified win condition
+     * @param seed              the seed of the deal
+     */
+    public void startNewGame(int humanCount, int aiDifficulty, boolean simplifiedVersion, long seed) {
+        facade.startNewGame(humanCount, aiDifficulty, simplifiedVersion, Board.SIZE, seed);
+        ponderIfHumanTurn();
     }
 
     /**
@@ -123,23 +155,33 @@ public class GameController {
 
     /**
      * Checks if current player is AI and plays their turn.
+     * The move is chosen off the JavaFX thread, which stays free for undo
+     * or abandon, and played back on it unless the game changed meanwhile.
+     * A failure is logged rather than silently dropped.
      */
     private void checkAndPlayAI() {
         if (facade.isCurrentPlayerRobot() && isGameRunning()) {
-            // Use Platform.runLater to allow UI to update
-            Platform.runLater(() -> {
-                try {
-                    Thread.sleep(500); // Small delay for visual feedback
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+            Executor delayed = CompletableFuture.delayedExecutor(AI_DELAY_MILLIS, TimeUnit.MILLISECONDS, aiExecutor);
+            facade.requestAIMove(delayed).whenComplete((move, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    LOGGER.log(System.Logger.Level.ERROR, "AI move failed", error);
+                    return;
                 }
-                facade.playAITurn();
-
                 // Continue if next player is also AI
-                if (facade.isCurrentPlayerRobot() && isGameRunning()) {
+                if (facade.applyAIMove(move)) {
                     checkAndPlayAI();
+                    ponderIfHumanTurn();
                 }
-            });
+            }));
+        }
+    }
+
+    /**
+     * Lets the next robot prepare its replies while a human is to play.
+     */
+    private void ponderIfHumanTurn() {
+        if (isGameRunning() && !facade.isCurrentPlayerRobot()) {
+            facade.requestPondering(aiExecutor);
         }
     }
 
@@ -163,6 +205,7 @@ public class GameController {
     public void undo() {
         if (canUndo()) {
             facade.undo();
+            ponderIfHumanTurn();
         }
     }
 
@@ -172,6 +215,7 @@ public class GameController {
     public void redo() {
         if (canRedo()) {
             facade.redo();
+            ponderIfHumanTurn();
         }
     }
 
@@ -0,0 +1,111 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Arrow;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.board.Tile;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Strategy that plays the move of an {@link OpeningBook} when the position
+ * is in it, and otherwise asks another strategy (Decorator pattern).
+ * <p>
+ * The position is found by its state hash, which needs every player: see
+ * {@link #setPlayers(Player[])}. A move of the book is only played if it
+ * is legal in the position: a colliding hash or a book built for other
+ * deals must not stall the game. The book is only borrowed; its owner
+ * closes it.
+ */
+public class BookStrategy implements Strategy {
+    private final OpeningBook book;
+    private final Strategy fallback;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private Player[] players;
+    private boolean simplifiedVersion;
+
+    /**
+     * Creates a strategy reading a book first.
+     *
+     * @param book     the opening book
+     * @param fallback the strategy for the positions out of the book
+     */
+    public BookStrategy(OpeningBook book, Strategy fallback) {
+        this.book = Objects.requireNonNull(book);
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    @Override
+    public void setPlayers(Player[] players) {
+        this.players = players.clone();
+        fallback.setPlayers(players);
+    }
+
+    @Override
+    public void setSimplifiedVersion(boolean simplifiedVersion) {
+        this.simplifiedVersion = simplifiedVersion;
+        fallback.setSimplifiedVersion(simplifiedVersion);
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile) {
+        return chooseMove(board, player, spareTile, NO_DEADLINE, new CancellationToken());
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile, long deadlineNanos,
+                           CancellationToken cancellation) {
+        lookups.increment();
+        Simulation position = new Simulation(board, players, player, simplifiedVersion);
+        Move move = book.lookup(position.hash(position.rootSeat()), board);
+        if (move != null && isLegal(board, player, move)) {
+            hits.increment();
+            return move;
+        }
+        return fallback.chooseMove(board, player, spareTile, deadlineNanos, cancellation);
+    }
+
+    /**
+     * Checks that the insertion of a move is allowed and that the player
+     * can walk to its destination afterwards.
+     */
+    private static boolean isLegal(Board board, Player player, Move move) {
+        Arrow arrow = move.getInsertArrow();
+        if (!board.canInsert(arrow)) {
+            return false;
+        }
+        Board after = board.copy();
+        after.setSpareOrientation(move.getTileRotation());
+        after.insertAndShift(arrow);
+        return after.isReachable(arrow.shift(player.getPosition(), board.getSize()), move.getDestination());
+    }
+
+    /**
+     * @return the strategy for the positions out of the book
+     */
+    public Strategy getFallback() {
+        return fallback;
+    }
+
+    /**
+     * @return the number of positions looked up
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return the number of positions found in the book
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public String getName() {
+        return fallback.getName();
+    }
+}
@@ -0,0 +1,24 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+/**
+ * Flag telling a running search that its result is no longer wanted, for
+ * instance because the turn was undone or the game abandoned. The search
+ * polls it and returns its best move so far; any thread may cancel it.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Asks the search to stop. Cancelling twice has no further effect.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true once the token is cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,199 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Weights of the position score used by {@link SearchStrategy}. A seat
+ * scores
+ * <pre>
+ *   found × {@code found} × board size − distance × {@code distance} + reach × {@code reach}
+ * </pre>
+ * where found is its number of objectives found, distance the grid distance
+ * of its pawn to its target and reach the number of cells its pawn can walk
+ * to. In paranoid mode the searching player's score is its own minus
+ * {@code opponents} percent of the best opponent score. The
+ * {@link #DEFAULT default} weights are the original hand-set score.
+ * <p>
+ * Weights are integers from 0 to {@value #MAX_WEIGHT}, so that scores stay
+ * integers well below the win scores. They are saved as a properties file
+ * ({@code found=4}, one weight per line) and read back by {@link #load(Path)};
+ * {@link #tuned()} reads the file named by the {@value #WEIGHTS_PROPERTY}
+ * system property once, when the first search strategy is created.
+ */
+public final class EvaluationWeights {
+    /** Names of the weights, in vector order. */
+    public static final String[] NAMES = {"found", "distance", "reach", "opponents"};
+    /** Largest value of a weight. */
+    public static final int MAX_WEIGHT = 200;
+    /** System property naming the weights file read by {@link #tuned()}. */
+    public static final String WEIGHTS_PROPERTY = "labyrinthe.weights";
+    /** The hand-set weights. */
+    public static final EvaluationWeights DEFAULT = new EvaluationWeights(4, 1, 0, 100);
+
+    // Weights of the file named by the system property, read on first use
+    private static EvaluationWeights tuned;
+
+    private final int[] values;
+
+    /**
+     * Creates a set of weights.
+     *
+     * @param found     points per objective found, times the board size
+     * @param distance  points lost per grid step to the target
+     * @param reach     points per reachable cell
+     * @param opponents percent of the best opponent score subtracted, in paranoid mode
+     * @throws IllegalArgumentException if a weight is out of range
+     */
+    public EvaluationWeights(int found, int distance, int reach, int opponents) {
+        this(new int[]{found, distance, reach, opponents});
+    }
+
+    private EvaluationWeights(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0 || values[i] > MAX_WEIGHT) {
+                throw new IllegalArgumentException("Weight " + NAMES[i] + " out of range: " + values[i]);
+            }
+        }
+        this.values = values;
+    }
+
+    /**
+     * Creates a set of weights from a vector in {@link #NAMES} order.
+     *
+     * @param vector the weights
+     * @return the weights
+     * @throws IllegalArgumentException if the vector has the wrong length or a weight is out of range
+     */
+    public static EvaluationWeights of(int... vector) {
+        if (vector.length != NAMES.length) {
+            throw new IllegalArgumentException("Expected " + NAMES.length + " weights, got " + vector.length);
+        }
+        return new EvaluationWeights(vector.clone());
+    }
+
+    /**
+     * @return the weights as a vector in {@link #NAMES} order
+     */
+    public int[] toVector() {
+        return values.clone();
+    }
+
+    /**
+     * @return points per objective found, times the board size
+     */
+    public int found() {
+        return values[0];
+    }
+
+    /**
+     * @return points lost per grid step to the target
+     */
+    public int distance() {
+        return values[1];
+    }
+
+    /**
+     * @return points per reachable cell
+     */
+    public int reach() {
+        return values[2];
+    }
+
+    /**
+     * @return percent of the best opponent score subtracted
+     */
+    public int opponents() {
+        return values[3];
+    }
+
+    /**
+     * Reads weights from a properties file. A weight missing from the file
+     * keeps its default value.
+     *
+     * @param path the file
+     * @return the weights
+     * @throws IOException if the file cannot be read or holds an invalid weight
+     */
+    public static EvaluationWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        int[] vector = DEFAULT.toVector();
+        try {
+            for (int i = 0; i < NAMES.length; i++) {
+                String value = properties.getProperty(NAMES[i]);
+                if (value != null) {
+                    vector[i] = Integer.parseInt(value.trim());
+                }
+            }
+            return new EvaluationWeights(vector);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid weights file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the weights to a properties file.
+     *
+     * @param path    the file, replaced if it exists
+     * @param comment a comment written at the top of the file, or null
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path, String comment) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            if (comment != null) {
+                writer.write("# " + comment + System.lineSeparator());
+            }
+            for (int i = 0; i < NAMES.length; i++) {
+                writer.write(NAMES[i] + "=" + values[i] + System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Returns the weights of the file named by the {@value #WEIGHTS_PROPERTY}
+     * system property, read on the first call, or the default weights if
+     * the property is not set.
+     *
+     * @return the weights
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static synchronized EvaluationWeights tuned() {
+        if (tuned == null) {
+            String file = System.getProperty(WEIGHTS_PROPERTY);
+            try {
+                tuned = file == null ? DEFAULT : load(Path.of(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return tuned;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EvaluationWeights other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(NAMES[i]).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+}
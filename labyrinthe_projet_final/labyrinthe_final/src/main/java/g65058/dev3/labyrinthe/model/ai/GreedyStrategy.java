@@ -0,0 +1,40 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+/**
+ * Greedy strategy: looks one insertion ahead for the current objective (level 1).
+ * <p>
+ * Every allowed arrow is tried with every distinct orientation of the spare
+ * tile. A candidate that lets the player walk onto the objective wins at
+ * once; otherwise the candidate whose reachable cells come closest to the
+ * objective, in grid steps, is kept, and the player walks to that closest
+ * cell. Once every objective is found, the target is the starting corner.
+ * <p>
+ * The cost of a decision is bounded by the number of candidates (at most
+ * four per arrow) times the cells of the board, whatever the position. On
+ * the standard board the candidates come from one {@link InsertionBatch},
+ * without copying the board or allocating beyond the returned move; larger
+ * boards try each insertion on a copy of the board. The
+ * strategy reuses its buffers, so it must not be shared between threads:
+ * use one instance per thread.
+ */
+public class GreedyStrategy implements Strategy {
+    private final MoveCandidates candidates = new MoveCandidates();
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile) {
+        // Larger boards are filled by applying and reverting insertions, never on the caller's board
+        Board tried = board.getSize() == Board.SIZE ? board : board.copy();
+        candidates.fill(tried, board.cellOf(player.getPosition()), player.getCurrentObjectiveType(),
+                board.cellOf(player.getStartPosition()));
+        return candidates.toMove(board, candidates.closest());
+    }
+
+    @Override
+    public String getName() {
+        return "Greedy (Level 1)";
+    }
+}
@@ -0,0 +1,342 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Monte Carlo tree search strategy with root parallelization (level 3).
+ * <p>
+ * Each worker thread grows its own tree from its own {@link Simulation} of
+ * the game, so the workers share nothing while they search. A tree node is
+ * a player's turn; its moves are the candidates of {@link MoveCandidates},
+ * tried first in the order of their distance to the objective and then by
+ * UCB1. A playout continues the game from a new node for a few turns, each
+ * player taking its greedy move or, half of the time, a random candidate;
+ * every player is then rewarded with its progress in [0, 1], or 1 for the
+ * winner and 0 for the others. At the deadline the visit counts of the
+ * root moves are added over all trees and the most visited move is played.
+ * A deadline given by the caller is handled the same way, and a cancelled
+ * search stops its workers at their next playout. An interrupted search
+ * plays the move closest to the objective.
+ * <p>
+ * The workers run on a pool of daemon threads owned by the strategy, which
+ * end after a while without search; {@link #close()} stops them at once.
+ * As with the other strategies, the opponents are seen through
+ * {@link #setPlayers(Player[])} and the end condition through
+ * {@link #setSimplifiedVersion(boolean)}.
+ */
+public class MctsStrategy implements Strategy, AutoCloseable {
+    /** Default time budget, in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+
+    // Turns played at random after a new node
+    private static final int PLAYOUT_TURNS = 8;
+    // UCB1 exploration constant
+    private static final double EXPLORATION = 0.7;
+    // Nodes of each tree, the root included, at most
+    private static final int MAX_TREE_NODES = 200_000;
+
+    private final int threads;
+    private final long timeBudgetNanos;
+    private final long playoutBudget;
+    private final SplittableRandom random;
+    private final ExecutorService pool;
+
+    private Player[] players;
+    private boolean simplifiedVersion;
+    private SearchStats lastStats = new SearchStats(0, 0, 0);
+
+    /**
+     * Creates a search on every available processor with the default time budget.
+     */
+    public MctsStrategy() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_TIME_BUDGET_MILLIS, Long.MAX_VALUE,
+                new SplittableRandom());
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param threads          the number of worker threads, one tree each
+     * @param timeBudgetMillis the time after which the workers stop, in milliseconds
+     * @param playoutBudget    the number of playouts after which a worker stops
+     * @param random           the random stream, split between the workers
+     * @throws IllegalArgumentException if the number of threads or a budget is not positive
+     */
+    public MctsStrategy(int threads, long timeBudgetMillis, long playoutBudget, SplittableRandom random) {
+        if (threads < 1 || timeBudgetMillis < 1 || playoutBudget < 1) {
+            throw new IllegalArgumentException("Threads and budgets must be positive");
+        }
+        this.threads = threads;
+        this.timeBudgetNanos = timeBudgetMillis > Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000;
+        this.playoutBudget = playoutBudget;
+        this.random = random;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "mcts-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Idle workers end on their own, so a strategy dropped without close() leaves no thread behind
+        executor.allowCoreThreadTimeOut(true);
+        this.pool = executor;
+    }
+
+    @Override
+    public void setPlayers(Player[] players) {
+        this.players = players.clone();
+    }
+
+    @Override
+    public void setSimplifiedVersion(boolean simplifiedVersion) {
+        this.simplifiedVersion = simplifiedVersion;
+    }
+
+    /**
+     * @return the figures of the last search: playouts of all workers, deepest tree node, time
+     */
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile) {
+        return chooseMove(board, player, spareTile, NO_DEADLINE, new CancellationToken());
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile, long deadlineNanos,
+                           CancellationToken cancellation) {
+        long start = System.nanoTime();
+        long deadline = timeBudgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : start + timeBudgetNanos;
+        deadline = Math.min(deadline, deadlineNanos);
+
+        // Copies are made here, while the caller keeps the game still: the workers only touch their own
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(new Simulation(board, players, player, simplifiedVersion), random.split(),
+                    deadline, cancellation));
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // Cancelled workers may still be growing their trees: play the closest move without reading them
+            Thread.currentThread().interrupt();
+            lastStats = new SearchStats(0, 0, System.nanoTime() - start);
+            return move(board, workers.get(0).root, 0);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+
+        // Every tree has the same root moves in the same order: add their visits
+        Node root = workers.get(0).root;
+        long[] visits = new long[root.size];
+        long playouts = 0;
+        int depth = 0;
+        for (Worker worker : workers) {
+            for (int move = 0; move < root.size; move++) {
+                visits[move] += worker.root.visits[move];
+            }
+            playouts += worker.playouts;
+            depth = Math.max(depth, worker.depth);
+        }
+        int best = 0;
+        for (int move = 1; move < root.size; move++) {
+            if (visits[move] > visits[best]) {
+                best = move;
+            }
+        }
+        lastStats = new SearchStats(playouts, depth, System.nanoTime() - start);
+        return move(board, root, best);
+    }
+
+    /**
+     * @return the move of a root candidate
+     */
+    private static Move move(Board board, Node root, int candidate) {
+        return new Move(board.getArrow(root.arrowIndices[candidate]), root.orientations[candidate],
+                board.positionOf(root.destinations[candidate]));
+    }
+
+    /**
+     * Stops the worker threads. The strategy cannot search afterwards.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return "Monte Carlo (Level 3)";
+    }
+
+    /**
+     * One player's turn in a tree: the candidate moves, ordered by distance
+     * to the objective, and the statistics of each.
+     */
+    private static final class Node {
+        final int seat;
+        final int size;
+        final int[] arrowIndices;
+        final Direction[] orientations;
+        final int[] destinations;
+        final Node[] children;
+        final int[] visits;
+        final double[] rewards;
+        int totalVisits;
+        int expanded;
+
+        Node(int seat, MoveCandidates moves) {
+            this.seat = seat;
+            this.size = moves.size();
+            this.arrowIndices = new int[size];
+            this.orientations = new Direction[size];
+            this.destinations = new int[size];
+            for (int move = 0; move < size; move++) {
+                arrowIndices[move] = moves.arrowIndex(move);
+                orientations[move] = moves.orientation(move);
+                destinations[move] = moves.destination(move);
+            }
+            this.children = new Node[size];
+            this.visits = new int[size];
+            this.rewards = new double[size];
+        }
+
+        /**
+         * @return the next untried move, in candidate order, or else the best by UCB1
+         */
+        int select() {
+            if (expanded < size) {
+                return expanded++;
+            }
+            double logTotal = Math.log(totalVisits);
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int move = 0; move < size; move++) {
+                double value = rewards[move] / visits[move] + EXPLORATION * Math.sqrt(logTotal / visits[move]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = move;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Grows one tree until the deadline, the playout budget or the cancellation.
+     */
+    private final class Worker implements Callable<Void> {
+        final Simulation simulation;
+        final SplittableRandom random;
+        final long deadline;
+        final CancellationToken cancellation;
+        final MoveCandidates moves = new MoveCandidates();
+        final Node root;
+        // Path of the current iteration: nodes and moves
+        Node[] pathNodes = new Node[64];
+        int[] pathMoves = new int[64];
+        final double[] reward;
+        long playouts;
+        int depth;
+        int nodes = 1;
+
+        Worker(Simulation simulation, SplittableRandom random, long deadline, CancellationToken cancellation) {
+            this.simulation = simulation;
+            this.random = random;
+            this.deadline = deadline;
+            this.cancellation = cancellation;
+            this.reward = new double[simulation.seats()];
+            this.root = newNode(simulation.rootSeat());
+        }
+
+        private Node newNode(int seat) {
+            simulation.fillCandidates(moves, seat);
+            moves.sortByDistance();
+            return new Node(seat, moves);
+        }
+
+        @Override
+        public Void call() {
+            while (playouts < playoutBudget && System.nanoTime() < deadline
+                    && !cancellation.isCancelled() && !Thread.currentThread().isInterrupted()) {
+                iterate();
+                playouts++;
+            }
+            return null;
+        }
+
+        /**
+         * Selects a path down the tree, adds a node, plays out and backs up.
+         */
+        private void iterate() {
+            Node node = root;
+            int length = 0;
+            int winner = -1;
+            while (true) {
+                int move = node.select();
+                if (length == pathNodes.length) {
+                    pathNodes = Arrays.copyOf(pathNodes, length * 2);
+                    pathMoves = Arrays.copyOf(pathMoves, length * 2);
+                }
+                pathNodes[length] = node;
+                pathMoves[length] = move;
+                length++;
+                if (simulation.play(node.seat, node.arrowIndices[move], node.orientations[move],
+                        node.destinations[move])) {
+                    winner = node.seat;
+                    break;
+                }
+                Node child = node.children[move];
+                if (child == null) {
+                    if (nodes < MAX_TREE_NODES) {
+                        node.children[move] = newNode(simulation.next(node.seat));
+                        nodes++;
+                    }
+                    break;
+                }
+                node = child;
+            }
+            depth = Math.max(depth, length);
+
+            int seat = simulation.next(pathNodes[length - 1].seat);
+            int turns = 0;
+            while (winner < 0 && turns < PLAYOUT_TURNS) {
+                simulation.fillCandidates(moves, seat);
+                int move = random.nextBoolean() ? moves.closest() : random.nextInt(moves.size());
+                turns++;
+                if (simulation.play(seat, moves.arrowIndex(move), moves.orientation(move), moves.destination(move))) {
+                    winner = seat;
+                }
+                seat = simulation.next(seat);
+            }
+            for (int s = 0; s < reward.length; s++) {
+                reward[s] = winner < 0 ? simulation.progress(s) : s == winner ? 1 : 0;
+            }
+
+            // Take the playout back, then the path, crediting each move to its mover
+            for (int turn = turns; turn > 0; turn--) {
+                seat = seat == 0 ? simulation.seats() - 1 : seat - 1;
+                simulation.undo(seat);
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                Node pathNode = pathNodes[i];
+                int move = pathMoves[i];
+                simulation.undo(pathNode.seat);
+                pathNode.visits[move]++;
+                pathNode.rewards[move] += reward[pathNode.seat];
+                pathNode.totalVisits++;
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+
+/**
+ * The moves worth playing for one player on one board: every allowed
+ * insertion with every distinct orientation of the spare tile, each paired
+ * with a single destination. The destination is the target itself when the
+ * insertion brings it within reach, and otherwise the reachable cell
+ * closest to it in grid steps.
+ * <p>
+ * On the standard board the candidates come from one {@link InsertionBatch}
+ * and the closest cell from precomputed rings of cells. Larger boards apply
+ * and revert each insertion in place. The arrays are reused between fills.
+ */
+final class MoveCandidates {
+    /** Distance of a candidate that pushes the target off the board. */
+    static final int TARGET_EXPELLED = Integer.MAX_VALUE;
+
+    // Cells of the standard board at each grid distance from each cell
+    private static final long[][] RINGS = rings(Board.SIZE);
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final InsertionBatch batch = new InsertionBatch();
+    private long[] reachable = new long[0];
+    private final int[] pawn = new int[1];
+    private int[] arrowIndices = new int[0];
+    private Direction[] orientations = new Direction[0];
+    private int[] destinations = new int[0];
+    private int[] distances = new int[0];
+    private int size;
+
+    /**
+     * Fills the candidates of a player. The target is the cell of the
+     * objective, followed through each insertion, or the home cell when
+     * there is no objective left.
+     *
+     * @param board     the board, left as it was
+     * @param pawnCell  the player's cell
+     * @param objective the objective sought, or null
+     * @param homeCell  the player's starting cell
+     */
+    void fill(Board board, int pawnCell, Objective objective, int homeCell) {
+        int capacity = board.getArrowCount() * DIRECTIONS.length;
+        if (arrowIndices.length < capacity) {
+            arrowIndices = new int[capacity];
+            orientations = new Direction[capacity];
+            destinations = new int[capacity];
+            distances = new int[capacity];
+        }
+        size = 0;
+        int target = objective != null ? board.locateCell(objective) : homeCell;
+        if (board.getSize() == Board.SIZE) {
+            fillFromBatch(board, pawnCell, target);
+        } else {
+            fillInPlace(board, pawnCell, objective, target);
+        }
+    }
+
+    private void fillFromBatch(Board board, int pawnCell, int target) {
+        board.evaluateInsertions(batch);
+        // Every candidate is flooded at once, on SIMD lanes if available
+        reachable = batch.reachableMasks(pawnCell, reachable);
+        for (int candidate = 0; candidate < batch.size(); candidate++) {
+            int insertionCell = board.cellOf(batch.arrow(candidate).getPosition());
+            int goal = target == Board.SPARE_CELL ? insertionCell : batch.shiftedCell(candidate, target);
+            int destination = batch.shiftedCell(candidate, pawnCell);
+            int distance = TARGET_EXPELLED;
+            // Unless the target tile is pushed out and becomes the spare tile
+            if (target == Board.SPARE_CELL || goal != insertionCell) {
+                long reach = reachable[candidate];
+                long[] rings = RINGS[goal];
+                distance = 0;
+                while ((reach & rings[distance]) == 0) {
+                    distance++;
+                }
+                destination = Long.numberOfTrailingZeros(reach & rings[distance]);
+            }
+            add(batch.arrowIndex(candidate), batch.orientation(candidate), destination, distance);
+        }
+    }
+
+    private void fillInPlace(Board board, int pawnCell, Objective objective, int target) {
+        int size = board.getSize();
+        Tile spare = board.getSpareTile();
+        for (long mask = board.validArrowMask(); mask != 0; mask &= mask - 1) {
+            int arrowIndex = Long.numberOfTrailingZeros(mask);
+            int seenOpenings = 0;
+            for (Direction orientation : DIRECTIONS) {
+                int openings = spare.withOrientation(orientation).getOpenings();
+                if ((seenOpenings & 1 << openings) != 0) {
+                    continue;
+                }
+                seenOpenings |= 1 << openings;
+
+                pawn[0] = pawnCell;
+                long undo = board.applyInsertion(arrowIndex, orientation, pawn);
+                int goal = objective != null ? board.locateCell(objective) : target;
+                int destination = pawn[0];
+                int distance = TARGET_EXPELLED;
+                if (goal != Board.SPARE_CELL) {
+                    int label = board.componentOf(pawn[0]);
+                    for (int cell = label; cell < size * size; cell++) {
+                        if (board.componentOf(cell) == label) {
+                            int steps = Math.abs(cell / size - goal / size) + Math.abs(cell % size - goal % size);
+                            if (steps < distance) {
+                                distance = steps;
+                                destination = cell;
+                            }
+                        }
+                    }
+                }
+                board.revertInsertion(undo);
+                add(arrowIndex, orientation, destination, distance);
+            }
+        }
+    }
+
+    private void add(int arrowIndex, Direction orientation, int destination, int distance) {
+        arrowIndices[size] = arrowIndex;
+        orientations[size] = orientation;
+        destinations[size] = destination;
+        distances[size] = distance;
+        size++;
+    }
+
+    /**
+     * Sorts the candidates by distance to the target, keeping the
+     * generation order between equal distances (insertion sort: a few
+     * dozen entries, often nearly sorted).
+     */
+    void sortByDistance() {
+        for (int i = 1; i < size; i++) {
+            int j = i;
+            while (j > 0 && distances[j - 1] > distances[i]) {
+                j--;
+            }
+            moveTo(i, j);
+        }
+    }
+
+    /**
+     * Moves the candidate of an insertion to the front, if present.
+     *
+     * @return true if the candidate was found
+     */
+    boolean moveFirst(int arrowIndex, Direction orientation) {
+        for (int i = 0; i < size; i++) {
+            if (arrowIndices[i] == arrowIndex && orientations[i] == orientation) {
+                moveTo(i, 0);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a candidate to a lower index, shifting the ones in between.
+     */
+    private void moveTo(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        int arrowIndex = arrowIndices[from];
+        Direction orientation = orientations[from];
+        int destination = destinations[from];
+        int distance = distances[from];
+        int count = from - to;
+        System.arraycopy(arrowIndices, to, arrowIndices, to + 1, count);
+        System.arraycopy(orientations, to, orientations, to + 1, count);
+        System.arraycopy(destinations, to, destinations, to + 1, count);
+        System.arraycopy(distances, to, distances, to + 1, count);
+        arrowIndices[to] = arrowIndex;
+        orientations[to] = orientation;
+        destinations[to] = destination;
+        distances[to] = distance;
+    }
+
+    /**
+     * @return the index of the first candidate with the smallest distance
+     */
+    int closest() {
+        int best = 0;
+        for (int i = 1; i < size; i++) {
+            if (distances[i] < distances[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int arrowIndex(int candidate) {
+        return arrowIndices[candidate];
+    }
+
+    Direction orientation(int candidate) {
+        return orientations[candidate];
+    }
+
+    /**
+     * @return the destination cell, on the board after the insertion
+     */
+    int destination(int candidate) {
+        return destinations[candidate];
+    }
+
+    /**
+     * @return the grid distance from the destination to the target: 0 when
+     * the target is reached, {@link #TARGET_EXPELLED} when it is pushed out
+     */
+    int distance(int candidate) {
+        return distances[candidate];
+    }
+
+    /**
+     * Builds the move of a candidate.
+     */
+    Move toMove(Board board, int candidate) {
+        return new Move(board.getArrow(arrowIndices[candidate]), orientations[candidate],
+                board.positionOf(destinations[candidate]));
+    }
+
+    /**
+     * Builds, for every cell of a board, the masks of the cells at each grid
+     * distance from it.
+     */
+    private static long[][] rings(int size) {
+        long[][] rings = new long[size * size][2 * size - 1];
+        for (int from = 0; from < size * size; from++) {
+            for (int cell = 0; cell < size * size; cell++) {
+                int steps = Math.abs(cell / size - from / size) + Math.abs(cell % size - from % size);
+                rings[from][steps] |= 1L << cell;
+            }
+        }
+        return rings;
+    }
+}
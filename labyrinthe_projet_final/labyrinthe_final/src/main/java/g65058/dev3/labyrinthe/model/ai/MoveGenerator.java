@@ -0,0 +1,209 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lists the legal full turns of a player (insertion, spare orientation and
+ * destination), each resulting position once.
+ * <p>
+ * Orientations of the spare tile with the same openings lead to the same
+ * game, so only the first of them is tried: a straight tile has two
+ * distinct orientations, a corner or a T-junction four. Other turns are
+ * not compared: two insertions always lead to different positions, if
+ * only by the last insertion, which forbids a different one next turn.
+ * The pawns of the players given to {@link #setPlayers(Player[])} move
+ * with the insertions; without them, only the moving player's pawn does.
+ * <p>
+ * The turns are generated lazily, one insertion at a time, on a copy of
+ * the board. After a complete iteration, {@link #getRawCount()} and
+ * {@link #getDistinctCount()} compare the number of (arrow, orientation,
+ * destination) triples with the number of turns listed.
+ */
+public final class MoveGenerator {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Player[] players;
+    private long rawCount;
+    private long distinctCount;
+
+    /**
+     * Lets the generator see every player, whose pawns the insertions move.
+     *
+     * @param players the players
+     */
+    public void setPlayers(Player[] players) {
+        this.players = players.clone();
+    }
+
+    /**
+     * Lists the distinct turns of a player. The board is copied when the
+     * iteration starts and is not changed.
+     *
+     * @param board     the board
+     * @param player    the player to move
+     * @param spareTile the spare tile to insert
+     * @return the turns, generated as they are iterated
+     */
+    public Iterable<Move> moves(Board board, Player player, Tile spareTile) {
+        return () -> new Turns(board, player, spareTile);
+    }
+
+    /**
+     * @return the number of (arrow, orientation, destination) triples of the last complete iteration
+     */
+    public long getRawCount() {
+        return rawCount;
+    }
+
+    /**
+     * @return the number of turns listed by the last complete iteration
+     */
+    public long getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * @return the raw count divided by the distinct count, or 1 before any complete iteration
+     */
+    public double getReductionFactor() {
+        return distinctCount == 0 ? 1 : (double) rawCount / distinctCount;
+    }
+
+    /**
+     * The iteration over the turns: insertions in arrow order, then the
+     * reachable cells of each, in cell order.
+     */
+    private final class Turns implements Iterator<Move> {
+        private final Board board;
+        private final int size;
+        private final int[] pawns;
+        private final int mover;
+        // Orientations tried, and how many orientations share the openings of each
+        private final Direction[] orientations;
+        private final int[] multiplicities;
+
+        private long arrows;
+        private int arrowIndex = -1;
+        private int orientation;
+        // The insertion applied, its pawn cells and the cells left to list
+        private long undo;
+        private boolean applied;
+        private int component;
+        private int nextCell;
+        private Move next;
+        private long raw;
+        private long distinct;
+
+        Turns(Board board, Player player, Tile spareTile) {
+            this.board = board.copy();
+            this.board.setSpareOrientation(spareTile.getOrientation());
+            this.size = board.getSize();
+            Player[] known = players != null && contains(players, player) ? players : new Player[]{player};
+            this.pawns = new int[known.length];
+            int moverSeat = 0;
+            for (int seat = 0; seat < known.length; seat++) {
+                pawns[seat] = board.cellOf(known[seat].getPosition());
+                if (known[seat].getId() == player.getId()) {
+                    moverSeat = seat;
+                }
+            }
+            this.mover = moverSeat;
+
+            int[] seen = new int[16];
+            Direction[] distinctOrientations = new Direction[DIRECTIONS.length];
+            int[] counts = new int[DIRECTIONS.length];
+            int distinctCount = 0;
+            for (Direction direction : DIRECTIONS) {
+                int openings = spareTile.withOrientation(direction).getOpenings();
+                if (seen[openings] == 0) {
+                    distinctOrientations[distinctCount++] = direction;
+                    seen[openings] = distinctCount;
+                }
+                counts[seen[openings] - 1]++;
+            }
+            this.orientations = Arrays.copyOf(distinctOrientations, distinctCount);
+            this.multiplicities = Arrays.copyOf(counts, distinctCount);
+            this.arrows = board.validArrowMask();
+            this.orientation = orientations.length;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Move next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Move move = next;
+            advance();
+            return move;
+        }
+
+        /**
+         * Finds the next turn.
+         */
+        private void advance() {
+            next = null;
+            while (next == null) {
+                if (applied && nextCell < size * size) {
+                    int cell = nextCell++;
+                    if (board.componentOf(cell) != component) {
+                        continue;
+                    }
+                    raw += multiplicities[orientation];
+                    distinct++;
+                    next = new Move(board.getArrow(arrowIndex), orientations[orientation], board.positionOf(cell));
+                } else if (!nextInsertion()) {
+                    rawCount = raw;
+                    distinctCount = distinct;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reverts the insertion applied, if any, and applies the next one.
+         *
+         * @return false once every insertion was tried
+         */
+        private boolean nextInsertion() {
+            if (applied) {
+                board.revertInsertion(undo, pawns);
+                applied = false;
+            }
+            if (++orientation >= orientations.length) {
+                if (arrows == 0) {
+                    return false;
+                }
+                arrowIndex = Long.numberOfTrailingZeros(arrows);
+                arrows &= arrows - 1;
+                orientation = 0;
+            }
+            undo = board.applyInsertion(arrowIndex, orientations[orientation], pawns);
+            applied = true;
+            component = board.componentOf(pawns[mover]);
+            // Components are labelled by their smallest cell
+            nextCell = component;
+            return true;
+        }
+    }
+
+    private static boolean contains(Player[] players, Player player) {
+        for (Player p : players) {
+            if (p.getId() == player.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
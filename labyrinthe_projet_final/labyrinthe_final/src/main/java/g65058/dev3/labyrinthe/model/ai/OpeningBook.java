@@ -0,0 +1,161 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.board.Direction;
+import g65058.dev3.labyrinthe.model.game.Move;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Precomputed moves for early positions, read from a file mapped in memory.
+ * <p>
+ * The file starts with a header (magic number, version, board size,
+ * number of entries) and continues with entries sorted by key: the state
+ * hash of a position, as {@link g65058.dev3.labyrinthe.model.game.LabyrinthGame#getStateHash()}
+ * computes it, followed by the packed move. A lookup is a binary search
+ * over the mapping, so opening a book reads only its header and a search
+ * touches only the pages it visits. Books are written by
+ * {@link OpeningBookWriter}.
+ * <p>
+ * Lookups only read the mapping and may run on several threads. The
+ * applications open the book named by the {@value #BOOK_PROPERTY} system
+ * property, if set, when they start.
+ */
+public final class OpeningBook implements AutoCloseable {
+    /** System property naming the book file opened by {@link #openFromProperty()}. */
+    public static final String BOOK_PROPERTY = "labyrinthe.book";
+
+    static final int MAGIC = 0x4C42_4B31;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 12;
+
+    // Packed move: arrow index (8 bits), orientation (2), destination cell (16)
+    private static final int ORIENTATION_SHIFT = 8;
+    private static final int CELL_SHIFT = 10;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int boardSize;
+    private final int size;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer entries, int boardSize, int size) {
+        this.channel = channel;
+        this.entries = entries;
+        this.boardSize = boardSize;
+        this.size = size;
+    }
+
+    /**
+     * Maps a book file.
+     *
+     * @param path the book file
+     * @return the book, to be closed after use
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (length < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            int boardSize = buffer.getInt(8);
+            int size = buffer.getInt(12);
+            if (size < 0 || length != HEADER_BYTES + (long) size * ENTRY_BYTES) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            return new OpeningBook(channel, buffer, boardSize, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the book file named by the {@value #BOOK_PROPERTY} system property.
+     *
+     * @return the book, to be closed after use, or null if the property is not set or blank
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static OpeningBook openFromProperty() throws IOException {
+        String file = System.getProperty(BOOK_PROPERTY, "");
+        return file.isBlank() ? null : open(Path.of(file));
+    }
+
+    /**
+     * @return the size of the boards of the book
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * @return the number of positions of the book
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param stateHash the state hash of the position
+     * @param board     the board of the position, to rebuild the move
+     * @return the move of the book, or null if the position is not in the book
+     * or its entry names no arrow or cell of the board
+     */
+    public Move lookup(long stateHash, Board board) {
+        if (board.getSize() != boardSize) {
+            return null;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = HEADER_BYTES + middle * ENTRY_BYTES;
+            int comparison = Long.compare(entries.getLong(offset), stateHash);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return unpack(entries.getInt(offset + Long.BYTES), board);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Packs a move into the 32 bits of an entry.
+     */
+    static int pack(Move move, Board board) {
+        return board.arrowIndex(move.getInsertArrow())
+                | move.getTileRotation().ordinal() << ORIENTATION_SHIFT
+                | board.cellOf(move.getDestination()) << CELL_SHIFT;
+    }
+
+    private static Move unpack(int packed, Board board) {
+        int arrowIndex = packed & 0xFF;
+        int cell = packed >>> CELL_SHIFT;
+        if (arrowIndex >= board.getArrowCount() || cell >= board.getSize() * board.getSize()) {
+            return null;
+        }
+        return new Move(board.getArrow(arrowIndex), DIRECTIONS[packed >>> ORIENTATION_SHIFT & 3],
+                board.positionOf(cell));
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once unreachable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,121 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the moves of an {@link OpeningBook} and writes them sorted by key.
+ */
+public final class OpeningBookWriter {
+    private final int boardSize;
+    // Packed moves by state hash, in the order of the file
+    private final TreeMap<Long, Integer> moves = new TreeMap<>();
+
+    /**
+     * Creates an empty book.
+     *
+     * @param boardSize the size of the boards of the book
+     */
+    public OpeningBookWriter(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    /**
+     * Adds the move of a position, replacing the previous one if any.
+     *
+     * @param stateHash the state hash of the position
+     * @param board     the board of the position
+     * @param move      the move to play
+     * @throws IllegalArgumentException if the board is not of the size of the book
+     */
+    public void add(long stateHash, Board board, Move move) {
+        if (board.getSize() != boardSize) {
+            throw new IllegalArgumentException("Board size " + board.getSize() + " in a book for " + boardSize);
+        }
+        moves.put(stateHash, OpeningBook.pack(move, board));
+    }
+
+    /**
+     * Adds the opening of a position where a human is to play: for each of
+     * the human's likely moves, most promising first, the robots that play
+     * next choose their replies in turn, until a human is to play again.
+     * Every robot position met is added with the strategy's move.
+     *
+     * @param board             the board
+     * @param players           the players in turn order, whose ids are their indices
+     * @param mover             the index of the human to move
+     * @param strategy          the strategy choosing the robots' moves
+     * @param simplifiedVersion true if the game ends once a player's objectives are found, without going home
+     * @param humanMoves        the number of likely moves of the human to follow
+     */
+    public void addOpening(Board board, Player[] players, int mover, Strategy strategy, boolean simplifiedVersion,
+                           int humanMoves) {
+        Player[] snapshot = Ponderer.snapshot(board, players);
+        Simulation simulation = new Simulation(board, snapshot, snapshot[mover], simplifiedVersion);
+        MoveCandidates candidates = new MoveCandidates();
+        simulation.fillCandidates(candidates, mover);
+        candidates.sortByDistance();
+        int[] seats = new int[players.length];
+        try {
+            for (int candidate = 0; candidate < Math.min(humanMoves, candidates.size()); candidate++) {
+                int played = 0;
+                boolean won = simulation.play(mover, candidates.arrowIndex(candidate),
+                        candidates.orientation(candidate), candidates.destination(candidate));
+                seats[played++] = mover;
+                for (int seat = simulation.next(mover); !won && seat != mover && players[seat].isRobot();
+                     seat = simulation.next(seat)) {
+                    Board after = simulation.board().copy();
+                    Player[] position = Ponderer.position(simulation, snapshot, after);
+                    strategy.setPlayers(position);
+                    Move reply = strategy.chooseMove(after, position[seat], after.getSpareTile());
+                    add(simulation.hash(seat), after, reply);
+                    won = simulation.play(seat, after.arrowIndex(reply.getInsertArrow()), reply.getTileRotation(),
+                            after.cellOf(reply.getDestination()));
+                    seats[played++] = seat;
+                }
+                while (played > 0) {
+                    simulation.undo(seats[--played]);
+                }
+            }
+        } finally {
+            strategy.setPlayers(players);
+        }
+    }
+
+    /**
+     * @return the number of positions added
+     */
+    public int size() {
+        return moves.size();
+    }
+
+    /**
+     * Writes the book, replacing the file if it exists.
+     *
+     * @param path the book file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + moves.size() * OpeningBook.ENTRY_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(boardSize).putInt(moves.size());
+        for (Map.Entry<Long, Integer> entry : moves.entrySet()) {
+            buffer.putLong(entry.getKey()).putInt(entry.getValue());
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.ObjectiveCard;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thinks ahead for a robot while the player before it is choosing its move
+ * (pondering).
+ * <p>
+ * The likely moves of that player are the candidates of
+ * {@link MoveCandidates}, most promising first. For each, the robot's
+ * strategy searches its reply to the resulting position, which is kept
+ * under the position's state hash, the one of
+ * {@link g65058.dev3.labyrinthe.model.game.LabyrinthGame#getStateHash()}.
+ * When the robot's turn comes, {@link #lookup(long)} answers at once if
+ * the position was anticipated. A strategy with a transposition table also
+ * keeps what it learnt while pondering.
+ * <p>
+ * {@link #prepare} copies the game on the thread that drives it; the work
+ * it returns runs on the robots' thread, one search at a time with the
+ * robots' own moves, since they share the strategy.
+ */
+public final class Ponderer {
+    private final Strategy strategy;
+    private final boolean simplifiedVersion;
+    private final Map<Long, Move> replies = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Creates a ponderer for the robots playing a strategy.
+     *
+     * @param strategy          the robots' strategy
+     * @param simplifiedVersion true if the game ends once a player's objectives are found, without going home
+     */
+    public Ponderer(Strategy strategy, boolean simplifiedVersion) {
+        this.strategy = Objects.requireNonNull(strategy);
+        this.simplifiedVersion = simplifiedVersion;
+    }
+
+    /**
+     * Prepares pondering on a position, forgetting the replies of the
+     * previous one. Nothing is to be done unless the next player is a
+     * robot playing this ponderer's strategy.
+     *
+     * @param board        the board, copied
+     * @param players      the players in turn order, whose ids are their indices
+     * @param mover        the index of the player to move
+     * @param cancellation the token that stops the pondering
+     * @return the pondering work, which returns once every likely move is answered or on cancellation
+     */
+    public Runnable prepare(Board board, Player[] players, int mover, CancellationToken cancellation) {
+        replies.clear();
+        int next = (mover + 1) % players.length;
+        if (!players[next].isRobot() || players[next].getStrategy() != strategy) {
+            return () -> {
+            };
+        }
+        Player[] snapshot = snapshot(board, players);
+        Simulation simulation = new Simulation(board, snapshot, snapshot[mover], simplifiedVersion);
+        return () -> ponder(simulation, snapshot, players, cancellation);
+    }
+
+    private void ponder(Simulation simulation, Player[] snapshot, Player[] players, CancellationToken cancellation) {
+        int mover = simulation.rootSeat();
+        int next = simulation.next(mover);
+        MoveCandidates moves = new MoveCandidates();
+        simulation.fillCandidates(moves, mover);
+        moves.sortByDistance();
+        try {
+            for (int candidate = 0; candidate < moves.size() && !cancellation.isCancelled(); candidate++) {
+                boolean won = simulation.play(mover, moves.arrowIndex(candidate), moves.orientation(candidate),
+                        moves.destination(candidate));
+                if (!won) {
+                    long key = simulation.hash(next);
+                    Board after = simulation.board().copy();
+                    Player[] position = position(simulation, snapshot, after);
+                    strategy.setPlayers(position);
+                    Move reply = strategy.chooseMove(after, position[next], after.getSpareTile(),
+                            Strategy.NO_DEADLINE, cancellation);
+                    if (!cancellation.isCancelled()) {
+                        replies.put(key, reply);
+                    }
+                }
+                simulation.undo(mover);
+            }
+        } finally {
+            strategy.setPlayers(players);
+        }
+    }
+
+    /**
+     * Copies the players, as they stand on a board: position and objective
+     * cards. A search running on another thread reads the copies, not the
+     * players the game keeps changing.
+     *
+     * @param board   the board the players stand on
+     * @param players the players
+     * @return the copies, in the same order
+     */
+    public static Player[] snapshot(Board board, Player[] players) {
+        Player[] snapshot = new Player[players.length];
+        for (int i = 0; i < players.length; i++) {
+            snapshot[i] = copy(players[i], players[i].getObjectiveStackCopy(), board,
+                    board.cellOf(players[i].getPosition()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Builds the players of a simulated position, from the snapshot the
+     * simulation was created with.
+     *
+     * @param simulation the simulation, after some moves
+     * @param snapshot   the players when the simulation was created
+     * @param board      a copy of the simulation's board, for the new players
+     * @return the players of the position
+     */
+    static Player[] position(Simulation simulation, Player[] snapshot, Board board) {
+        Player[] position = new Player[snapshot.length];
+        for (int seat = 0; seat < snapshot.length; seat++) {
+            Stack<ObjectiveCard> cards = snapshot[seat].getObjectiveStackCopy();
+            for (int found = simulation.found(seat); found > 0; found--) {
+                cards.pop();
+            }
+            position[seat] = copy(snapshot[seat], cards, board, simulation.cell(seat));
+        }
+        return position;
+    }
+
+    /**
+     * Copies a player onto a cell, with the given objective cards.
+     */
+    private static Player copy(Player player, Stack<ObjectiveCard> cards, Board board, int cell) {
+        Player copy = new Player(player.getId(), player.getName(), player.getColor(), cards,
+                player.getStrategy(), player.isRobot(), board.getSize());
+        copy.setPosition(board.positionOf(cell));
+        return copy;
+    }
+
+    /**
+     * Returns the reply prepared for a position.
+     *
+     * @param stateHash the state hash of the position, the robot to move
+     * @return the reply, or null if the position was not anticipated
+     */
+    public Move lookup(long stateHash) {
+        lookups.increment();
+        Move reply = replies.get(stateHash);
+        if (reply != null) {
+            hits.increment();
+        }
+        return reply;
+    }
+
+    /**
+     * @return the number of replies ready
+     */
+    public int getAnticipated() {
+        return replies.size();
+    }
+
+    /**
+     * @return the number of lookups
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return the number of lookups answered from pondering
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+}
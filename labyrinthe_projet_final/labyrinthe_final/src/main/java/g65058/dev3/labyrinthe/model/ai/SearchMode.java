@@ -0,0 +1,18 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+/**
+ * How a multi-player search scores the positions of the other players.
+ */
+public enum SearchMode {
+    /**
+     * The opponents play as a coalition against the searching player:
+     * every position is scored from its point of view, which allows
+     * alpha-beta pruning.
+     */
+    PARANOID,
+    /**
+     * Every player maximizes its own score (max^n): positions are scored
+     * for all players at once and nothing is pruned.
+     */
+    MAX_N
+}
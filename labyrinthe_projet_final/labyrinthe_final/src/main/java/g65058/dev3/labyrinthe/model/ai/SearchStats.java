@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+/**
+ * Figures of one search: how many positions were visited, how deep the
+ * last completed iteration went, and how long it took. For a Monte Carlo
+ * search the nodes are the playouts and the depth is the deepest tree node.
+ */
+public final class SearchStats {
+    private final long nodes;
+    private final int depth;
+    private final long elapsedNanos;
+
+    /**
+     * Creates the figures of a search.
+     *
+     * @param nodes        the number of positions visited
+     * @param depth        the depth of the last completed iteration, in plies
+     * @param elapsedNanos the duration of the search
+     */
+    public SearchStats(long nodes, int depth, long elapsedNanos) {
+        this.nodes = nodes;
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of positions visited, aborted iterations included
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return the depth of the last completed iteration, in plies (one ply per player turn)
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the duration of the search in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the number of positions visited per second
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nodes, depth %d, %.1f ms, %.0f nodes/s",
+                nodes, depth, elapsedNanos / 1e6, getNodesPerSecond());
+    }
+}
@@ -0,0 +1,464 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.Objects;
+
+/**
+ * Search strategy: looks several turns ahead over the turn order of all
+ * players (level 2).
+ * <p>
+ * A ply is one player's turn. Each turn considers the candidates of
+ * {@link MoveCandidates}: every insertion and distinct spare orientation,
+ * the player walking to the objective or as close to it as it can. The
+ * search is run with increasing depths (iterative deepening) until the
+ * maximum depth or the node or time budget is reached; the move of the
+ * last completed depth is played, and it is searched first at the next
+ * depth. At every node the candidates are ordered by their distance to
+ * the mover's target, so that alpha-beta cuts early.
+ * <p>
+ * The node and time budgets never stop the first depth, so a searched move
+ * is always found. A deadline or a cancellation given by the caller stops
+ * any depth: without a completed depth, the move closest to the objective
+ * is played, as the greedy strategy would.
+ * <p>
+ * In {@link SearchMode#PARANOID} mode the opponents minimize the searching
+ * player's score; in {@link SearchMode#MAX_N} mode each player maximizes
+ * its own. A player's score is the number of objectives it found, then the
+ * grid distance of its pawn to its current target, weighted by
+ * {@link EvaluationWeights}: the weights file given at startup, if any
+ * (see {@link EvaluationWeights#tuned()}), or those of
+ * {@link #setWeights(EvaluationWeights)}. The opponents' cards
+ * are read from the players given to {@link #setPlayers(Player[])}; without
+ * them, only the searching player's own turns are searched. A won game
+ * scores above any position, under the end condition given to
+ * {@link #setSimplifiedVersion(boolean)}.
+ * <p>
+ * The search works on a {@link Simulation} of the game, applying and
+ * reverting insertions in place. Like the other strategies, an instance reuses its
+ * buffers and must not be shared between threads.
+ * <p>
+ * In paranoid mode, searched positions are kept in a {@link TranspositionTable},
+ * which may be shared with searches on other threads: a stored bound deep
+ * enough ends the search of a position at once, and otherwise the stored
+ * best move is searched first. Max^n prunes nothing, so it visits the
+ * same nodes whatever the order and does not use the table.
+ */
+public class SearchStrategy implements Strategy {
+    /** Default maximum depth, in plies. */
+    public static final int DEFAULT_MAX_DEPTH = 8;
+    /** Default node budget. */
+    public static final long DEFAULT_NODE_BUDGET = 200_000;
+    /** Default time budget, in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    /** Base-2 logarithm of the number of entries of the default transposition table. */
+    public static final int DEFAULT_TABLE_BITS = 18;
+
+    // Score of a won game, minus the plies needed to win it
+    private static final int WIN = 1_000_000;
+    // Scores beyond this are wins, stored relative to the position rather than to the root
+    private static final int WIN_BOUND = WIN - 1000;
+    // Nodes between two clock readings
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final SearchMode mode;
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final long timeBudgetNanos;
+    private final MoveCandidates[] candidates;
+    private final TranspositionTable table;
+
+    private Player[] players;
+    private boolean simplifiedVersion;
+    private EvaluationWeights weights = EvaluationWeights.tuned();
+    private SearchStats lastStats = new SearchStats(0, 0, 0);
+
+    // The position being searched, and the seats of its players
+    private Simulation simulation;
+    private int seats;
+    private int rootSeat;
+    // Scores of each seat at each ply (max^n)
+    private int[][] scores;
+    // Mixed into the position keys, as paranoid scores depend on the searching player
+    private long keySalt;
+
+    private long nodes;
+    private long deadline;
+    // Deadline and token of the caller, which stop the search at any depth
+    private long hardDeadline;
+    private CancellationToken cancellation;
+    private boolean mayAbort;
+    private boolean aborted;
+    // Value of the best root move of the last iteration, for the searching player
+    private int lastRootValue;
+
+    /**
+     * Creates a paranoid search with the default depth and budgets.
+     */
+    public SearchStrategy() {
+        this(SearchMode.PARANOID, DEFAULT_MAX_DEPTH, DEFAULT_NODE_BUDGET, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a search strategy with its own transposition table of
+     * 2<sup>{@value #DEFAULT_TABLE_BITS}</sup> entries.
+     *
+     * @param mode             how the opponents are scored
+     * @param maxDepth         the maximum depth, in plies (at least 1)
+     * @param nodeBudget       the number of nodes after which the search stops
+     * @param timeBudgetMillis the time after which the search stops, in milliseconds
+     * @throws IllegalArgumentException if the depth or a budget is not positive
+     */
+    public SearchStrategy(SearchMode mode, int maxDepth, long nodeBudget, long timeBudgetMillis) {
+        this(mode, maxDepth, nodeBudget, timeBudgetMillis, new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     * Creates a search strategy. The first depth is always searched to the
+     * end, so a move is found whatever the budgets.
+     *
+     * @param mode             how the opponents are scored
+     * @param maxDepth         the maximum depth, in plies (at least 1)
+     * @param nodeBudget       the number of nodes after which the search stops
+     * @param timeBudgetMillis the time after which the search stops, in milliseconds
+     * @param table            the transposition table, possibly shared, or null to search without one
+     * @throws IllegalArgumentException if the depth or a budget is not positive
+     */
+    public SearchStrategy(SearchMode mode, int maxDepth, long nodeBudget, long timeBudgetMillis,
+                          TranspositionTable table) {
+        if (maxDepth < 1 || nodeBudget < 1 || timeBudgetMillis < 1) {
+            throw new IllegalArgumentException("Depth and budgets must be positive");
+        }
+        this.mode = Objects.requireNonNull(mode);
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetNanos = timeBudgetMillis > Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000;
+        this.candidates = new MoveCandidates[maxDepth];
+        for (int ply = 0; ply < maxDepth; ply++) {
+            candidates[ply] = new MoveCandidates();
+        }
+        this.table = table;
+    }
+
+    @Override
+    public void setPlayers(Player[] players) {
+        this.players = players.clone();
+    }
+
+    @Override
+    public void setSimplifiedVersion(boolean simplifiedVersion) {
+        this.simplifiedVersion = simplifiedVersion;
+    }
+
+    /**
+     * Sets the weights of the position score. A transposition table shared
+     * with other searches must only be shared by searches with the same
+     * weights, or they will read each other's scores.
+     *
+     * @param weights the weights
+     */
+    public void setWeights(EvaluationWeights weights) {
+        this.weights = Objects.requireNonNull(weights);
+    }
+
+    /**
+     * @return the weights of the position score
+     */
+    public EvaluationWeights getWeights() {
+        return weights;
+    }
+
+    /**
+     * @return the figures of the last search
+     */
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * @return the transposition table, or null
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile) {
+        return chooseMove(board, player, spareTile, NO_DEADLINE, new CancellationToken());
+    }
+
+    @Override
+    public Move chooseMove(Board board, Player player, Tile spareTile, long deadlineNanos,
+                           CancellationToken cancellation) {
+        long start = System.nanoTime();
+        this.hardDeadline = deadlineNanos;
+        this.cancellation = Objects.requireNonNull(cancellation);
+        simulation = new Simulation(board, players, player, simplifiedVersion, weights);
+        seats = simulation.seats();
+        rootSeat = simulation.rootSeat();
+        scores = new int[maxDepth + 1][seats];
+        keySalt = (simulation.id(rootSeat) + 1) * 0x9E3779B97F4A7C15L;
+        if (table != null && mode == SearchMode.PARANOID) {
+            table.newSearch();
+        }
+        nodes = 0;
+        mayAbort = false;
+        aborted = false;
+        deadline = timeBudgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : start + timeBudgetNanos;
+
+        MoveCandidates root = null;
+        int bestArrow = -1;
+        Direction bestOrientation = null;
+        int bestDestination = -1;
+        int completed = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            root = fillCandidates(0, rootSeat);
+            if (cancellation.isCancelled() || System.nanoTime() >= hardDeadline) {
+                break;
+            }
+            if (bestArrow >= 0) {
+                root.moveFirst(bestArrow, bestOrientation);
+            }
+            int best = searchRoot(depth);
+            if (aborted) {
+                break;
+            }
+            bestArrow = root.arrowIndex(best);
+            bestOrientation = root.orientation(best);
+            bestDestination = root.destination(best);
+            completed = depth;
+            mayAbort = true;
+            if (lastRootValue >= WIN - depth) {
+                break;
+            }
+        }
+
+        if (completed == 0) {
+            // Cut short by the caller: the candidates are still ordered by distance
+            bestArrow = root.arrowIndex(0);
+            bestOrientation = root.orientation(0);
+            bestDestination = root.destination(0);
+        }
+
+        lastStats = new SearchStats(nodes, completed, System.nanoTime() - start);
+        simulation = null;
+        this.cancellation = null;
+        return new Move(board.getArrow(bestArrow), bestOrientation, board.positionOf(bestDestination));
+    }
+
+    /**
+     * Searches the root candidates, already filled and ordered, to a depth.
+     *
+     * @return the index of the best candidate
+     */
+    private int searchRoot(int depth) {
+        MoveCandidates root = candidates[0];
+        int best = 0;
+        int bestValue = Integer.MIN_VALUE;
+        int[] childScores = mode == SearchMode.MAX_N ? scores[1] : null;
+        for (int candidate = 0; candidate < root.size(); candidate++) {
+            int value;
+            if (play(rootSeat, root, candidate)) {
+                value = WIN;
+            } else if (mode == SearchMode.PARANOID) {
+                value = paranoid(1, depth, simulation.next(rootSeat), bestValue, Integer.MAX_VALUE);
+            } else {
+                maxN(1, depth, simulation.next(rootSeat), childScores);
+                value = childScores[rootSeat];
+            }
+            simulation.undo(rootSeat);
+            if (aborted) {
+                return best;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = candidate;
+            }
+        }
+        lastRootValue = bestValue;
+        return best;
+    }
+
+    /**
+     * Paranoid alpha-beta: the searching player maximizes its score, the
+     * others minimize it.
+     *
+     * @return the value of the position for the searching player
+     */
+    private int paranoid(int ply, int depth, int seat, int alpha, int beta) {
+        if (ply == depth) {
+            return paranoidScore();
+        }
+        long key = 0;
+        long entry = TranspositionTable.MISS;
+        if (table != null) {
+            key = simulation.hash(seat) ^ keySalt;
+            entry = table.probe(key);
+            if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= depth - ply) {
+                int stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && stored >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && stored <= alpha) {
+                    return stored;
+                }
+            }
+        }
+        MoveCandidates moves = fillCandidates(ply, seat, entry);
+        boolean maximizing = seat == rootSeat;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int bestValue = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int best = 0;
+        for (int candidate = 0; candidate < moves.size() && !aborted; candidate++) {
+            int value;
+            if (play(seat, moves, candidate)) {
+                value = maximizing ? WIN - ply : -WIN + ply;
+            } else {
+                value = paranoid(ply + 1, depth, simulation.next(seat), alpha, beta);
+            }
+            simulation.undo(seat);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? value > bestValue : value < bestValue) {
+                bestValue = value;
+                best = candidate;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        if (table != null && !aborted) {
+            int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : bestValue >= originalBeta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            table.store(key, depth - ply, bound, toTable(bestValue, ply),
+                    moves.arrowIndex(best), moves.orientation(best));
+        }
+        return bestValue;
+    }
+
+    /**
+     * Max^n: the player to move keeps the child that is best for itself.
+     *
+     * @param result receives the score of every seat
+     */
+    private void maxN(int ply, int depth, int seat, int[] result) {
+        if (ply == depth) {
+            for (int s = 0; s < seats; s++) {
+                result[s] = simulation.score(s);
+            }
+            return;
+        }
+        MoveCandidates moves = fillCandidates(ply, seat);
+        int[] child = scores[ply + 1];
+        int bestValue = Integer.MIN_VALUE;
+        for (int candidate = 0; candidate < moves.size() && !aborted; candidate++) {
+            if (play(seat, moves, candidate)) {
+                for (int s = 0; s < seats; s++) {
+                    child[s] = s == seat ? WIN - ply : -WIN + ply;
+                }
+            } else {
+                maxN(ply + 1, depth, simulation.next(seat), child);
+            }
+            simulation.undo(seat);
+            if (aborted) {
+                return;
+            }
+            if (child[seat] > bestValue) {
+                bestValue = child[seat];
+                System.arraycopy(child, 0, result, 0, seats);
+            }
+        }
+    }
+
+    /**
+     * Fills and orders the candidates of a seat at a ply.
+     */
+    private MoveCandidates fillCandidates(int ply, int seat) {
+        return fillCandidates(ply, seat, TranspositionTable.MISS);
+    }
+
+    /**
+     * Fills and orders the candidates of a seat at a ply, the best move of
+     * a table entry first.
+     */
+    private MoveCandidates fillCandidates(int ply, int seat, long entry) {
+        MoveCandidates moves = candidates[ply];
+        simulation.fillCandidates(moves, seat);
+        moves.sortByDistance();
+        if (entry != TranspositionTable.MISS && TranspositionTable.arrowIndex(entry) >= 0) {
+            moves.moveFirst(TranspositionTable.arrowIndex(entry), TranspositionTable.orientation(entry));
+        }
+        return moves;
+    }
+
+    /**
+     * Makes a win score relative to the position, for the table.
+     */
+    private static int toTable(int value, int ply) {
+        return value > WIN_BOUND ? value + ply : value < -WIN_BOUND ? value - ply : value;
+    }
+
+    /**
+     * Makes a win score from the table relative to the root again.
+     */
+    private static int fromTable(int value, int ply) {
+        return value > WIN_BOUND ? value - ply : value < -WIN_BOUND ? value + ply : value;
+    }
+
+    /**
+     * Plays a candidate for a seat.
+     *
+     * @return true if the move wins the game
+     */
+    private boolean play(int seat, MoveCandidates moves, int candidate) {
+        countNode();
+        return simulation.play(seat, moves.arrowIndex(candidate), moves.orientation(candidate),
+                moves.destination(candidate));
+    }
+
+    /**
+     * Counts a node and stops the search when a budget is spent, which does
+     * not stop the first iteration, or when the caller's deadline passes or
+     * the search is cancelled, which does.
+     */
+    private void countNode() {
+        nodes++;
+        if (mayAbort && nodes >= nodeBudget) {
+            aborted = true;
+        } else if (nodes % CLOCK_INTERVAL == 0) {
+            long now = System.nanoTime();
+            if (now >= hardDeadline || cancellation.isCancelled() || mayAbort && now >= deadline) {
+                aborted = true;
+            }
+        }
+    }
+
+    /**
+     * @return the searching player's score minus the weighted best opponent score
+     */
+    private int paranoidScore() {
+        int opponents = Integer.MIN_VALUE;
+        for (int seat = 0; seat < seats; seat++) {
+            if (seat != rootSeat) {
+                opponents = Math.max(opponents, simulation.score(seat));
+            }
+        }
+        int own = simulation.score(rootSeat);
+        return opponents == Integer.MIN_VALUE ? own : own - opponents * weights.opponents() / 100;
+    }
+
+    @Override
+    public String getName() {
+        return "Search (Level 2)";
+    }
+}
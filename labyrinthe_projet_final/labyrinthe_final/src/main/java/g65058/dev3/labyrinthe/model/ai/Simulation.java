@@ -0,0 +1,271 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.ObjectiveCard;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.util.Arrays;
+import java.util.Stack;
+
+/**
+ * A lightweight copy of a game for the robots' look-ahead: a copy of the
+ * board and, for every player, its pawn cell, starting cell and objective
+ * cards, without {@link Player} objects, observers or commands.
+ * <p>
+ * A move wins under the rule of the game: in the simplified version once
+ * every objective is found, otherwise once the pawn is back home as well.
+ * <p>
+ * Seats follow the turn order. Moves are played in place and taken back in
+ * the reverse order, the board applying and reverting its insertions. A
+ * simulation belongs to one thread; simulations created from the same
+ * board may run on different threads.
+ */
+final class Simulation {
+    private final Board board;
+    private final Zobrist zobrist;
+    private final int size;
+    private final int seats;
+    private final int rootSeat;
+    private final boolean simplifiedVersion;
+    private final int[] ids;
+    private final int[] cells;
+    private final int[] homes;
+    private final int[] found;
+    private final Objective[][] objectives;
+    private final EvaluationWeights weights;
+
+    // Undo information of the moves played, as a stack
+    private long[] undoTokens = new long[16];
+    private int[] previousCells = new int[16];
+    private boolean[] captured = new boolean[16];
+    private int played;
+
+    /**
+     * Copies a game for the player to move, scored with the default weights.
+     * Without the list of players, or if it does not contain that player,
+     * the player is alone.
+     *
+     * @param board             the board, copied
+     * @param players           the players in turn order, or null
+     * @param toMove            the player to move
+     * @param simplifiedVersion true if the game ends once the objectives are found, without going home
+     */
+    Simulation(Board board, Player[] players, Player toMove, boolean simplifiedVersion) {
+        this(board, players, toMove, simplifiedVersion, EvaluationWeights.DEFAULT);
+    }
+
+    /**
+     * Copies a game for the player to move.
+     *
+     * @param board             the board, copied
+     * @param players           the players in turn order, or null
+     * @param toMove            the player to move
+     * @param simplifiedVersion true if the game ends once the objectives are found, without going home
+     * @param weights           the weights of {@link #score(int)}
+     */
+    Simulation(Board board, Player[] players, Player toMove, boolean simplifiedVersion, EvaluationWeights weights) {
+        this.board = board.copy();
+        this.simplifiedVersion = simplifiedVersion;
+        this.weights = weights;
+        this.size = board.getSize();
+        this.zobrist = Zobrist.of(size);
+        Player[] order = players;
+        if (order == null || !contains(order, toMove)) {
+            order = new Player[]{toMove};
+        }
+        this.seats = order.length;
+        this.ids = new int[seats];
+        this.cells = new int[seats];
+        this.homes = new int[seats];
+        this.found = new int[seats];
+        this.objectives = new Objective[seats][];
+        int root = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = order[seat];
+            if (player.getId() == toMove.getId()) {
+                root = seat;
+            }
+            ids[seat] = player.getId();
+            cells[seat] = board.cellOf(player.getPosition());
+            homes[seat] = board.cellOf(player.getStartPosition());
+            // The top of the stack is the current objective
+            Stack<ObjectiveCard> stack = player.getObjectiveStackCopy();
+            objectives[seat] = new Objective[stack.size()];
+            for (int i = 0; i < stack.size(); i++) {
+                objectives[seat][i] = stack.get(stack.size() - 1 - i).getObjective();
+            }
+        }
+        this.rootSeat = root;
+    }
+
+    private static boolean contains(Player[] players, Player player) {
+        for (Player p : players) {
+            if (p.getId() == player.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Board board() {
+        return board;
+    }
+
+    /**
+     * @return the number of players
+     */
+    int seats() {
+        return seats;
+    }
+
+    /**
+     * @return the seat of the player to move when the simulation was created
+     */
+    int rootSeat() {
+        return rootSeat;
+    }
+
+    /**
+     * @return the seat playing after the given one
+     */
+    int next(int seat) {
+        return seat + 1 == seats ? 0 : seat + 1;
+    }
+
+    /**
+     * @return the cell of a seat's pawn
+     */
+    int cell(int seat) {
+        return cells[seat];
+    }
+
+    /**
+     * @return the objective a seat is looking for, or null once all are found
+     */
+    Objective currentObjective(int seat) {
+        return found[seat] < objectives[seat].length ? objectives[seat][found[seat]] : null;
+    }
+
+    /**
+     * @return the number of objectives a seat has found
+     */
+    int found(int seat) {
+        return found[seat];
+    }
+
+    /**
+     * @return the number of objective cards of a seat
+     */
+    int objectiveCount(int seat) {
+        return objectives[seat].length;
+    }
+
+    /**
+     * @return the id of the player in a seat
+     */
+    int id(int seat) {
+        return ids[seat];
+    }
+
+    /**
+     * Hashes the position with a seat to move, the same way as
+     * {@link g65058.dev3.labyrinthe.model.game.LabyrinthGame#getStateHash()}:
+     * board, spare tile and last insertion, then every pawn, the number of
+     * objectives left to each player and the player to move.
+     *
+     * @return the position key
+     */
+    long hash(int seatToMove) {
+        long hash = board.getHash() ^ zobrist.toMove(ids[seatToMove]);
+        for (int seat = 0; seat < seats; seat++) {
+            hash ^= zobrist.pawn(ids[seat], cells[seat])
+                    ^ zobrist.remaining(ids[seat], objectives[seat].length - found[seat]);
+        }
+        return hash;
+    }
+
+    /**
+     * Fills the move candidates of a seat.
+     */
+    void fillCandidates(MoveCandidates moves, int seat) {
+        moves.fill(board, cells[seat], currentObjective(seat), homes[seat]);
+    }
+
+    /**
+     * Plays a move for a seat: the insertion moves every pawn with the line,
+     * then the seat walks to its destination and takes its objective if it
+     * lies there.
+     *
+     * @param seat        the seat to move
+     * @param arrowIndex  the insertion arrow index
+     * @param orientation the orientation of the spare tile
+     * @param destination the destination cell, after the insertion
+     * @return true if the move wins the game: every objective found and, unless
+     * in the simplified version, back home
+     */
+    boolean play(int seat, int arrowIndex, Direction orientation, int destination) {
+        if (played == undoTokens.length) {
+            undoTokens = Arrays.copyOf(undoTokens, played * 2);
+            previousCells = Arrays.copyOf(previousCells, played * 2);
+            captured = Arrays.copyOf(captured, played * 2);
+        }
+        undoTokens[played] = board.applyInsertion(arrowIndex, orientation, cells);
+        previousCells[played] = cells[seat];
+        cells[seat] = destination;
+        Objective objective = currentObjective(seat);
+        captured[played] = objective != null && board.locateCell(objective) == destination;
+        if (captured[played]) {
+            found[seat]++;
+        }
+        played++;
+        return found[seat] == objectives[seat].length && (simplifiedVersion || destination == homes[seat]);
+    }
+
+    /**
+     * Takes back the last move played, which was played by the given seat.
+     */
+    void undo(int seat) {
+        played--;
+        if (captured[played]) {
+            found[seat]--;
+        }
+        cells[seat] = previousCells[played];
+        board.revertInsertion(undoTokens[played], cells);
+    }
+
+    /**
+     * Scores a seat with the weights of the simulation: objectives found,
+     * closeness of its pawn to the current target in grid steps and, if
+     * weighted, the number of cells its pawn can reach. A target on the
+     * spare tile counts as the farthest.
+     *
+     * @return the score, higher is better
+     */
+    int score(int seat) {
+        Objective objective = currentObjective(seat);
+        int target = objective != null ? board.locateCell(objective) : homes[seat];
+        int cell = cells[seat];
+        int distance = 2 * size;
+        if (target != Board.SPARE_CELL) {
+            distance = Math.abs(cell / size - target / size) + Math.abs(cell % size - target % size);
+        }
+        int score = found[seat] * weights.found() * size - weights.distance() * distance;
+        if (weights.reach() != 0) {
+            score += weights.reach() * board.componentSize(cell);
+        }
+        return score;
+    }
+
+    /**
+     * Scales the score of a seat to [0, 1]: 0 with nothing found and the
+     * target out of sight, 1 once home with every objective.
+     */
+    double progress(int seat) {
+        double offset = 2.0 * size * weights.distance();
+        double best = (double) objectives[seat].length * weights.found() * size + offset;
+        if (best <= 0) {
+            return 0;
+        }
+        return Math.max(0, Math.min(1, (score(seat) + offset) / best));
+    }
+}
@@ -7,10 +7,18 @@ import g65058.dev3.labyrinthe.model.game.Player;
 
 /**
  * Strategy interface for AI players (Strategy pattern).
+ * <p>
+ * Besides its own budgets, a strategy may be given a deadline and a
+ * cancellation token: it then returns the best move it has found when the
+ * deadline passes or the token is cancelled, whatever its level.
  */
 public interface Strategy {
+    /** Deadline of a search without time limit. */
+    long NO_DEADLINE = Long.MAX_VALUE;
+
     /**
-     * Chooses a move for the given player.
+     * Chooses a move for the given player. The board is only read: a
+     * strategy that tries insertions works on a {@link Board#copy() copy}.
      *
      * @param board     the current board state
      * @param player    the player making the move
@@ -19,6 +27,42 @@ public interface Strategy {
      */
     Move chooseMove(Board board, Player player, Tile spareTile);
 
+    /**
+     * Chooses a move for the given player before a deadline. Strategies
+     * that answer at once need not override it.
+     *
+     * @param board         the current board state
+     * @param player        the player making the move
+     * @param spareTile     the spare tile to insert
+     * @param deadlineNanos the {@link System#nanoTime()} by which to answer, or {@link #NO_DEADLINE}
+     * @param cancellation  the token that stops the search early
+     * @return the best move found, legal even if the search was cut short
+     */
+    default Move chooseMove(Board board, Player player, Tile spareTile, long deadlineNanos,
+                            CancellationToken cancellation) {
+        return chooseMove(board, player, spareTile);
+    }
+
+    /**
+     * Lets the strategy see every player of the game, for strategies that
+     * look at the opponents' moves. Called once the players are created;
+     * other strategies ignore it.
+     *
+     * @param players the players, in turn order
+     */
+    default void setPlayers(Player[] players) {
+    }
+
+    /**
+     * Tells the strategy which end condition the game uses, for strategies
+     * that look for winning moves. Called once the players are created;
+     * other strategies ignore it.
+     *
+     * @param simplifiedVersion true if the game ends once a player's objectives are found, without going home
+     */
+    default void setSimplifiedVersion(boolean simplifiedVersion) {
+    }
+
     /**
      * @return the name/description of this strategy
      */
@@ -0,0 +1,223 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Direction;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size table of searched positions, shared by search threads without locks.
+ * <p>
+ * An entry is two {@code long}s: the packed data (score, depth, bound, best
+ * move and search generation) and the position key XORed with that data.
+ * A probe accepts an entry only if its two words XOR back to the key, so an
+ * entry torn by two threads writing at once is simply a miss. Entries live
+ * in buckets of two slots, addressed by the low bits of the key: the first
+ * slot keeps the deepest result of the current search, the second always
+ * takes the newest one.
+ * <p>
+ * Entries are read as primitives: {@link #probe(long)} returns the packed
+ * data, or {@link #MISS}, and the static accessors unpack it.
+ */
+public final class TranspositionTable {
+    /** Result of a probe that found nothing. */
+    public static final long MISS = 0;
+
+    /** The score is exact. */
+    public static final int EXACT = 3;
+    /** The score is a lower bound: the search failed high. */
+    public static final int LOWER_BOUND = 1;
+    /** The score is an upper bound: the search failed low. */
+    public static final int UPPER_BOUND = 2;
+
+    // Data layout: score (32 bits), depth (8), bound (2), arrow index + 1 (8), orientation (2), generation (8)
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int ARROW_SHIFT = 42;
+    private static final int ORIENTATION_SHIFT = 50;
+    private static final int GENERATION_SHIFT = 52;
+    private static final long BYTE = 0xFF;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * Creates an empty table.
+     *
+     * @param log2Entries the base-2 logarithm of the number of entries, from 1 to 30
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public TranspositionTable(int log2Entries) {
+        if (log2Entries < 1 || log2Entries > 30) {
+            throw new IllegalArgumentException("Table size out of range: 2^" + log2Entries);
+        }
+        this.keys = new long[1 << log2Entries];
+        this.data = new long[1 << log2Entries];
+        this.bucketMask = (1 << log2Entries) - 2;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param key the position key
+     * @return the packed entry, or {@link #MISS}
+     */
+    public long probe(long key) {
+        probes.increment();
+        int bucket = (int) key & bucketMask;
+        for (int slot = bucket; slot < bucket + 2; slot++) {
+            long entry = data[slot];
+            if (entry != MISS && (keys[slot] ^ entry) == key) {
+                hits.increment();
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Records the result of a search.
+     *
+     * @param key         the position key
+     * @param depth       the depth searched below the position, from 0 to 255
+     * @param bound       {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param score       the score
+     * @param arrowIndex  the arrow of the best move, or -1
+     * @param orientation the spare orientation of the best move, or null
+     */
+    public void store(long key, int depth, int bound, int score, int arrowIndex, Direction orientation) {
+        stores.increment();
+        int generation = this.generation;
+        long entry = score & 0xFFFF_FFFFL
+                | (long) Math.min(depth, 255) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) (arrowIndex + 1) << ARROW_SHIFT
+                | (long) (orientation == null ? 0 : orientation.ordinal()) << ORIENTATION_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+
+        // The first slot keeps the deepest entry of this search, unless it already holds this position
+        int slot = (int) key & bucketMask;
+        long first = data[slot];
+        boolean replaceFirst = first == MISS
+                || (keys[slot] ^ first) == key
+                || generation(first) != generation
+                || depth(first) <= depth;
+        if (!replaceFirst) {
+            slot++;
+        }
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    /**
+     * Starts a new search: entries of older searches become the first to be replaced.
+     */
+    public void newSearch() {
+        generation = generation + 1 & (int) BYTE;
+    }
+
+    /**
+     * Empties the table and its statistics.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+        resetStatistics();
+    }
+
+    /**
+     * Resets the probe, hit and store counters.
+     */
+    public void resetStatistics() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+    }
+
+    /**
+     * @return the number of probes since the last reset
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * @return the number of probes that found their position
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of entries stored
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * @return the share of probes that found their position, from 0 to 1
+     */
+    public double getHitRate() {
+        long probeCount = getProbes();
+        return probeCount == 0 ? 0 : (double) getHits() / probeCount;
+    }
+
+    /**
+     * @param entry a packed entry
+     * @return its score
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @param entry a packed entry
+     * @return the depth searched below its position
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT & BYTE);
+    }
+
+    /**
+     * @param entry a packed entry
+     * @return its bound type
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT & 3);
+    }
+
+    /**
+     * @param entry a packed entry
+     * @return the arrow index of its best move, or -1
+     */
+    public static int arrowIndex(long entry) {
+        return (int) (entry >>> ARROW_SHIFT & BYTE) - 1;
+    }
+
+    /**
+     * @param entry a packed entry
+     * @return the spare orientation of its best move
+     */
+    public static Direction orientation(long entry) {
+        return DIRECTIONS[(int) (entry >>> ORIENTATION_SHIFT & 3)];
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT & BYTE);
+    }
+}
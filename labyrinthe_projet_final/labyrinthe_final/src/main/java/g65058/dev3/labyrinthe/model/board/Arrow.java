@@ -6,12 +6,28 @@ import java.util.Objects;
 
 /**
  * Represents an insertion arrow position on the board edge.
- * The game has 12 arrows (3 per side) where the spare tile can be inserted.
- * Each arrow indicates both the position and the direction of insertion.
+ * The standard game has 12 arrows (3 per side) where the spare tile can be
+ * inserted; an N x N board has {@code 4 * (N / 2)}, one per odd row and
+ * column on each side. Each arrow indicates both the position and the
+ * direction of insertion.
+ * <p>
+ * The arrows of each board size form a static registry, in the order of
+ * {@link #getAllArrows()}: top (push down), bottom (push up), left (push right),
+ * right (push left). For each index the registry holds the opposite arrow,
+ * the cells of the affected line in push order and the resulting cell
+ * permutation, so that insertion, validity checks and pawn shifts are table
+ * reads. The static methods below use the standard 7x7 registry; a
+ * {@link Board} exposes the registry of its own size.
  */
 public class Arrow {
+    /** Number of arrows on a standard board. */
+    public static final int COUNT = 4 * (Board.SIZE / 2);
+    /** Mask with one bit per arrow index on a standard board. */
+    public static final int ALL_MASK = (1 << COUNT) - 1;
+
     private final Position position;
     private final Direction insertDirection;
+    private final int index;
 
     /**
      * Creates a new arrow.
@@ -22,6 +38,61 @@ public class Arrow {
     public Arrow(Position position, Direction insertDirection) {
         this.position = Objects.requireNonNull(position);
         this.insertDirection = Objects.requireNonNull(insertDirection);
+        this.index = BoardGeometry.arrowIndex(position, insertDirection, Board.SIZE);
+    }
+
+    /**
+     * Returns the registered arrow with the given index.
+     *
+     * @param index the arrow index (0..11)
+     * @return the shared arrow instance
+     */
+    public static Arrow get(int index) {
+        return BoardGeometry.STANDARD.arrows[index];
+    }
+
+    /**
+     * Returns the registered arrows whose bit is set in the mask.
+     *
+     * @param mask a mask of arrow indices
+     * @return list of arrows, by increasing index
+     */
+    public static List<Arrow> listOf(long mask) {
+        return listOf(BoardGeometry.STANDARD, mask);
+    }
+
+    /**
+     * Returns the arrows of a geometry whose bit is set in the mask.
+     */
+    static List<Arrow> listOf(BoardGeometry geometry, long mask) {
+        List<Arrow> arrows = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            arrows.add(geometry.arrows[Long.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
+        }
+        return arrows;
+    }
+
+    /**
+     * Returns the index of the arrow opposite to the given one.
+     *
+     * @param index an arrow index
+     * @return the index of the arrow that would undo that insertion
+     */
+    public static int oppositeIndex(int index) {
+        return BoardGeometry.STANDARD.opposite[index];
+    }
+
+    /**
+     * Returns where a cell ends up after the insertion at the given arrow.
+     * A pawn on the expelled tile wraps to the inserted tile.
+     *
+     * @param index the arrow index
+     * @param cell  the cell index before the shift
+     * @return the cell index after the shift
+     */
+    public static int shiftedCell(int index, int cell) {
+        return BoardGeometry.STANDARD.shiftedCell[index][cell];
     }
 
     /**
@@ -38,6 +109,13 @@ public class Arrow {
         return insertDirection;
     }
 
+    /**
+     * @return the registry index on a standard board (0..11), or -1 if this is not a valid arrow
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Returns the row index affected by this arrow.
      *
@@ -65,6 +143,33 @@ public class Arrow {
         return insertDirection == Direction.EAST || insertDirection == Direction.WEST;
     }
 
+    /**
+     * Returns where a position ends up after inserting at this arrow.
+     *
+     * @param position the position before the shift
+     * @return the position after the shift
+     */
+    public Position shift(Position position) {
+        return shift(position, Board.SIZE);
+    }
+
+    /**
+     * Returns where a position ends up after inserting at this arrow on a
+     * board of the given size.
+     *
+     * @param position  the position before the shift
+     * @param boardSize the size of the board
+     * @return the position after the shift
+     */
+    public Position shift(Position position, int boardSize) {
+        BoardGeometry geometry = BoardGeometry.of(boardSize);
+        int arrowIndex = geometry.indexOf(this);
+        if (arrowIndex < 0) {
+            return position;
+        }
+        return Position.ofCell(geometry.shiftedCell[arrowIndex][position.toCell(boardSize)], boardSize);
+    }
+
     /**
      * Returns the opposite arrow (the arrow that would undo this insertion).
      *
@@ -72,6 +177,14 @@ public class Arrow {
      * @return the opposite arrow
      */
     public Arrow getOpposite(int boardSize) {
+        if (boardSize >= Board.MIN_SIZE && boardSize <= Board.MAX_SIZE && boardSize % 2 == 1) {
+            BoardGeometry geometry = BoardGeometry.of(boardSize);
+            int arrowIndex = geometry.indexOf(this);
+            if (arrowIndex >= 0) {
+                return geometry.arrows[geometry.opposite[arrowIndex]];
+            }
+        }
+
         int oppRow = position.getRow();
         int oppCol = position.getCol();
 
@@ -83,40 +196,18 @@ public class Arrow {
         }
 
         return new Arrow(
-                new Position(oppRow, oppCol),
+                Position.of(oppRow, oppCol),
                 insertDirection.opposite()
         );
     }
 
     /**
-     * Creates all 12 valid arrows for a standard 7x7 board.
+     * Returns all 12 valid arrows for a standard 7x7 board.
      *
-     * @return list of all insertion arrows
+     * @return unmodifiable list of all insertion arrows, by index
      */
     public static List<Arrow> getAllArrows() {
-        List<Arrow> arrows = new ArrayList<>();
-
-        // Top row (push down) - columns 1, 3, 5
-        for (int col = 1; col < 7; col += 2) {
-            arrows.add(new Arrow(new Position(0, col), Direction.SOUTH));
-        }
-
-        // Bottom row (push up) - columns 1, 3, 5
-        for (int col = 1; col < 7; col += 2) {
-            arrows.add(new Arrow(new Position(6, col), Direction.NORTH));
-        }
-
-        // Left column (push right) - rows 1, 3, 5
-        for (int row = 1; row < 7; row += 2) {
-            arrows.add(new Arrow(new Position(row, 0), Direction.EAST));
-        }
-
-        // Right column (push left) - rows 1, 3, 5
-        for (int row = 1; row < 7; row += 2) {
-            arrows.add(new Arrow(new Position(row, 6), Direction.WEST));
-        }
-
-        return arrows;
+        return BoardGeometry.STANDARD.arrowList;
     }
 
     @Override
@@ -128,7 +219,7 @@ public class Arrow {
 
     @Override
     public int hashCode() {
-        return Objects.hash(position, insertDirection);
+        return position.hashCode() * 4 + insertDirection.ordinal();
     }
 
     @Override
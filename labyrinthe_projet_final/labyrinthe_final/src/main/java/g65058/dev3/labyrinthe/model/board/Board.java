@@ -1,140 +1,248 @@
 package g65058.dev3.labyrinthe.model.board;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Represents the 7x7 game board with corridor tiles.
+ * Represents the game board with corridor tiles: 7x7 for the standard game,
+ * or any odd size from {@link #MIN_SIZE} to {@link #MAX_SIZE}, with the fixed
+ * tiles on even rows and columns and a mobile tile pool scaled to the board.
  * Manages tile placement, insertion/shifting, and path finding.
+ * <p>
+ * Tiles are stored packed: every cell holds the {@code int} code of its
+ * tile (openings, type, orientation, objective and fixed flag), one
+ * {@code int[]} per row, so shifting a row or column only moves ints.
+ * {@link #getTile} and {@link #getSpareTile} return the shared immutable
+ * {@link Tile} flyweights for these codes.
+ * <p>
+ * Copies are persistent versions: {@link #copy()} shares the row arrays and
+ * the component labels with the original, and whichever board writes first
+ * copies the rows it changes. Taking a copy costs one array of {@code size}
+ * references, and an insertion copies the pushed row, or every row for a
+ * column insertion, leaving all other versions untouched.
+ * <p>
+ * A board and its copies share a copy counter: taking a copy only reads
+ * the source and counts the copy, and a board that finds the counter moved
+ * since it last wrote gives up its arrays before writing again. A board is
+ * not thread-safe, and its reachability queries relabel components lazily,
+ * but a board that no thread writes or queries may be copied by several
+ * threads at once, each then working on its own copy.
+ * <p>
+ * The board also keeps the connected components of its corridors: every cell
+ * carries the label of its component, so reachability queries are a label
+ * lookup. On boards of at most 64 cells an insertion only marks the shifted
+ * line and its two neighbouring lines as dirty; on the next query only the
+ * components touching those cells are labelled again, the others keep their
+ * labels. Larger boards are labelled again in one linear union-find pass.
+ * <p>
+ * An index of the cell holding each objective, or the spare tile, moves
+ * with the shifted lines, so {@link #locate(Objective)} is a table read.
+ * <p>
+ * A 64-bit {@link Zobrist} hash of the tiles, the spare tile and the last
+ * arrow is kept up to date by every mutation (see {@link #getHash()}).
  */
 public class Board {
+    /** Size of the standard board. */
     public static final int SIZE = 7;
-    private final Tile[][] tiles;
-    private Tile spareTile;
+    /** Smallest supported board size. */
+    public static final int MIN_SIZE = 7;
+    /** Largest supported board size. */
+    public static final int MAX_SIZE = 31;
+    /** Cell returned by {@link #locateCell(Objective)} for the objective of the spare tile. */
+    public static final int SPARE_CELL = -1;
+
+    private static final int NORTH_BIT = 1 << Direction.NORTH.ordinal();
+    private static final int EAST_BIT = 1 << Direction.EAST.ordinal();
+    private static final int SOUTH_BIT = 1 << Direction.SOUTH.ordinal();
+    private static final int WEST_BIT = 1 << Direction.WEST.ordinal();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] NO_PAWNS = new int[0];
+
+    // Undo tokens: arrow index, previous last arrow index + 1, previous spare code
+    private static final int TOKEN_ARROW_BITS = 8;
+    private static final long TOKEN_ARROW_MASK = (1L << TOKEN_ARROW_BITS) - 1;
+    private static final int TOKEN_SPARE_SHIFT = 2 * TOKEN_ARROW_BITS;
+    private static final long TOKEN_SPARE_MASK = (1L << 14) - 1;
+
+    private final BoardGeometry geometry;
+    private final Zobrist zobrist;
+
+    // Copies taken of this board and of the versions it shares arrays with
+    private final AtomicLong copies;
+    // Value of the copy counter for which the ownership flags below hold
+    private long ownedAt;
+
+    // Tile codes by row; a row is copied before the first write unless owned
+    private final int[][] rows;
+    private long ownedRows;
+    private int spare;
     private Arrow lastArrow;
-    private final List<Position> playerPositions;
+    private int lastArrowIndex = -1;
+    private List<Position> playerPositions;
+    private long hash;
+
+    // Bit i is set when the tile of cell i opens towards that direction (boards of at most 64 cells)
+    private long openNorth;
+    private long openEast;
+    private long openSouth;
+    private long openWest;
+
+    // Component label of each cell (the smallest cell of its component)
+    private int[] labels;
+    // Cells of the component labelled i (boards of at most 64 cells)
+    private long[] components;
+    // Whether labels and components may be written without copying them
+    private boolean ownsComponents;
+    // Cells whose component must be recomputed before the next query
+    private long dirtyCells;
+
+    // Cell holding each objective, by ordinal, or SPARE_CELL
+    private int[] objectiveCells;
+    // Whether objectiveCells may be written without copying it
+    private boolean ownsObjectives;
 
     /**
-     * Creates a new board and initializes it with tiles.
+     * Creates a new standard board and initializes it with tiles.
      */
     public Board() {
-        this.tiles = new Tile[SIZE][SIZE];
-        this.playerPositions = new ArrayList<>();
-        initializeBoard();
+        this(SIZE);
+    }
+
+    /**
+     * Creates a new board of the given size and initializes it with tiles.
+     * The tiles are shuffled with a fresh random stream; use a
+     * {@link BoardGenerator} for a board that depends on a seed.
+     *
+     * @param size the number of rows and columns, odd, from {@link #MIN_SIZE} to {@link #MAX_SIZE}
+     * @throws IllegalArgumentException if the size is not supported
+     */
+    public Board(int size) {
+        this(new BoardGenerator(size), new SplittableRandom());
+    }
+
+    /**
+     * Creates a new board filled by a generator.
+     */
+    Board(BoardGenerator generator, SplittableRandom random) {
+        this.geometry = generator.geometry();
+        this.zobrist = Zobrist.of(geometry.size);
+        this.copies = new AtomicLong();
+        this.rows = new int[geometry.size][geometry.size];
+        this.ownedRows = (1L << geometry.size) - 1;
+        this.labels = new int[geometry.cellCount];
+        this.components = geometry.singleWord ? new long[geometry.cellCount] : null;
+        this.ownsComponents = true;
+        this.spare = generator.fill(rows, random);
+        indexObjectives();
+        rebuildOpenings();
+        this.hash = recomputeHash();
     }
 
     /**
      * Creates a board from existing state (for undo/redo).
+     * The size of the board is the number of rows of {@code tiles}.
      */
     public Board(Tile[][] tiles, Tile spareTile, Arrow lastArrow) {
-        this.tiles = new Tile[SIZE][SIZE];
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                this.tiles[r][c] = tiles[r][c] != null ? tiles[r][c].copy() : null;
+        int size = tiles.length;
+        this.geometry = BoardGeometry.of(size);
+        this.zobrist = Zobrist.of(size);
+        this.copies = new AtomicLong();
+        this.rows = new int[size][size];
+        this.ownedRows = (1L << size) - 1;
+        this.labels = new int[geometry.cellCount];
+        this.components = geometry.singleWord ? new long[geometry.cellCount] : null;
+        this.ownsComponents = true;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                rows[r][c] = tiles[r][c].code();
             }
         }
-        this.spareTile = spareTile != null ? spareTile.copy() : null;
+        this.spare = spareTile.code();
         this.lastArrow = lastArrow;
-        this.playerPositions = new ArrayList<>();
-    }
-
-    /**
-     * Initializes the board with fixed and mobile tiles according to game rules.
-     */
-    private void initializeBoard() {
-        // Create objective lists
-        List<Objective> fixedObjectives = new ArrayList<>(Arrays.asList(
-                Objective.GRIMOIRE, Objective.GOLD_BAG, Objective.MAP, Objective.CROWN,
-                Objective.KEYS, Objective.BONES, Objective.RING, Objective.TREASURE_CHEST,
-                Objective.EMERALD, Objective.SWORD, Objective.CANDLE, Objective.HELMET
-        ));
-        Collections.shuffle(fixedObjectives);
-
-        List<Objective> mobileTObjectives = new ArrayList<>(Arrays.asList(
-                Objective.GNOME, Objective.FAIRY, Objective.GENIE,
-                Objective.SCARAB, Objective.RAT, Objective.BUTTERFLY
-        ));
-        Collections.shuffle(mobileTObjectives);
-
-        List<Objective> mobileLObjectives = new ArrayList<>(Arrays.asList(
-                Objective.GHOST, Objective.DRAGON, Objective.BAT,
-                Objective.OWL, Objective.SPIDER, Objective.LIZARD
-        ));
-        Collections.shuffle(mobileLObjectives);
-
-        // Initialize fixed corner tiles (player starting positions)
-        tiles[0][0] = new Tile(TileType.CORNER, Direction.SOUTH, null, true);  // Player 1
-        tiles[0][6] = new Tile(TileType.CORNER, Direction.WEST, null, true);   // Player 2
-        tiles[6][6] = new Tile(TileType.CORNER, Direction.NORTH, null, true);  // Player 3
-        tiles[6][0] = new Tile(TileType.CORNER, Direction.EAST, null, true);   // Player 4
-
-        // Initialize fixed T-junction tiles with objectives (12 tiles on even positions)
-        int objIndex = 0;
-        
-        // Row 0: positions (0,2) and (0,4)
-        tiles[0][2] = new Tile(TileType.T_JUNCTION, Direction.SOUTH, fixedObjectives.get(objIndex++), true);
-        tiles[0][4] = new Tile(TileType.T_JUNCTION, Direction.SOUTH, fixedObjectives.get(objIndex++), true);
-
-        // Row 2: positions (2,0), (2,2), (2,4), (2,6)
-        tiles[2][0] = new Tile(TileType.T_JUNCTION, Direction.EAST, fixedObjectives.get(objIndex++), true);
-        tiles[2][2] = new Tile(TileType.T_JUNCTION, Direction.SOUTH, fixedObjectives.get(objIndex++), true);
-        tiles[2][4] = new Tile(TileType.T_JUNCTION, Direction.SOUTH, fixedObjectives.get(objIndex++), true);
-        tiles[2][6] = new Tile(TileType.T_JUNCTION, Direction.WEST, fixedObjectives.get(objIndex++), true);
-
-        // Row 4: positions (4,0), (4,2), (4,4), (4,6)
-        tiles[4][0] = new Tile(TileType.T_JUNCTION, Direction.EAST, fixedObjectives.get(objIndex++), true);
-        tiles[4][2] = new Tile(TileType.T_JUNCTION, Direction.NORTH, fixedObjectives.get(objIndex++), true);
-        tiles[4][4] = new Tile(TileType.T_JUNCTION, Direction.NORTH, fixedObjectives.get(objIndex++), true);
-        tiles[4][6] = new Tile(TileType.T_JUNCTION, Direction.WEST, fixedObjectives.get(objIndex++), true);
-
-        // Row 6: positions (6,2) and (6,4)
-        tiles[6][2] = new Tile(TileType.T_JUNCTION, Direction.NORTH, fixedObjectives.get(objIndex++), true);
-        tiles[6][4] = new Tile(TileType.T_JUNCTION, Direction.NORTH, fixedObjectives.get(objIndex++), true);
-
-        // Create mobile tiles pool: 12 I, 16 L (6 with objectives), 6 T (all with objectives)
-        List<Tile> mobileTiles = new ArrayList<>();
-
-        // 12 straight (I) tiles without objectives
-        for (int i = 0; i < 12; i++) {
-            Direction[] orientations = Direction.values();
-            mobileTiles.add(new Tile(TileType.STRAIGHT, orientations[i % 2], null, false));
-        }
-
-        // 16 corner (L) tiles, 6 with objectives
-        for (int i = 0; i < 16; i++) {
-            Direction orientation = Direction.values()[i % 4];
-            Objective obj = i < 6 ? mobileLObjectives.get(i) : null;
-            mobileTiles.add(new Tile(TileType.CORNER, orientation, obj, false));
-        }
-
-        // 6 T-junction tiles with objectives
-        for (int i = 0; i < 6; i++) {
-            Direction orientation = Direction.values()[i % 4];
-            mobileTiles.add(new Tile(TileType.T_JUNCTION, orientation, mobileTObjectives.get(i), false));
-        }
-
-        // Shuffle mobile tiles
-        Collections.shuffle(mobileTiles);
-
-        // Place mobile tiles on empty positions
-        int tileIndex = 0;
-        for (int r = 0; r < SIZE; r++) {
-            for (int c = 0; c < SIZE; c++) {
-                if (tiles[r][c] == null) {
-                    tiles[r][c] = mobileTiles.get(tileIndex++);
-                }
+        this.lastArrowIndex = lastArrow == null ? -1 : geometry.indexOf(lastArrow);
+        indexObjectives();
+        rebuildOpenings();
+        this.hash = recomputeHash();
+    }
+
+    /**
+     * Creates a new version of another board, owning none of the arrays it
+     * shares with it. The other board is only read: counting the copy makes
+     * it give up the shared arrays before its next write.
+     */
+    private Board(Board other) {
+        this.geometry = other.geometry;
+        this.zobrist = other.zobrist;
+        this.copies = other.copies;
+        this.ownedAt = copies.incrementAndGet();
+        this.rows = other.rows.clone();
+        this.spare = other.spare;
+        this.lastArrow = other.lastArrow;
+        this.lastArrowIndex = other.lastArrowIndex;
+        this.openNorth = other.openNorth;
+        this.openEast = other.openEast;
+        this.openSouth = other.openSouth;
+        this.openWest = other.openWest;
+        this.labels = other.labels;
+        this.components = other.components;
+        this.dirtyCells = other.dirtyCells;
+        this.objectiveCells = other.objectiveCells;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Builds the objective index from the tiles and the spare tile.
+     */
+    private void indexObjectives() {
+        objectiveCells = new int[Objective.values().length];
+        ownsObjectives = true;
+        Arrays.fill(objectiveCells, SPARE_CELL);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int id = Tile.objectiveId(code(cell));
+            if (id != 0) {
+                objectiveCells[id - 1] = cell;
             }
         }
+    }
+
+    /**
+     * @return the code of the tile at the given cell
+     */
+    private int code(int cell) {
+        return rows[geometry.rowOf[cell]][geometry.colOf[cell]];
+    }
+
+    /**
+     * Gives up every array this board owned if a copy was taken since the
+     * ownership flags were last checked, as that copy shares them.
+     */
+    private void checkOwnership() {
+        long copied = copies.get();
+        if (copied != ownedAt) {
+            ownedRows = 0;
+            ownsComponents = false;
+            ownsObjectives = false;
+            ownedAt = copied;
+        }
+    }
 
-        // The last tile becomes the spare tile
-        spareTile = mobileTiles.get(tileIndex);
-        lastArrow = null;
+    /**
+     * Returns a row that this board may write, copying it first if it is
+     * shared with other versions. The ownership must have been checked.
+     */
+    private int[] writableRow(int row) {
+        if ((ownedRows & 1L << row) == 0) {
+            rows[row] = rows[row].clone();
+            ownedRows |= 1L << row;
+        }
+        return rows[row];
     }
 
     /**
-     * @return the board size (7)
+     * @return the board size (7 for the standard game)
      */
     public int getSize() {
-        return SIZE;
+        return geometry.size;
     }
 
     /**
@@ -144,7 +252,7 @@ public class Board {
      * @return the tile at that position
      */
     public Tile getTile(Position position) {
-        return tiles[position.getRow()][position.getCol()];
+        return Tile.fromCode(rows[position.getRow()][position.getCol()]);
     }
 
     /**
@@ -155,14 +263,76 @@ public class Board {
      * @return the tile at that position
      */
     public Tile getTile(int row, int col) {
-        return tiles[row][col];
+        return Tile.fromCode(rows[row][col]);
     }
 
     /**
      * @return the current spare tile
      */
     public Tile getSpareTile() {
-        return spareTile;
+        return Tile.fromCode(spare);
+    }
+
+    /**
+     * Turns the spare tile to the given orientation.
+     *
+     * @param orientation the new orientation of the spare tile
+     */
+    public void setSpareOrientation(Direction orientation) {
+        setSpare(getSpareTile().withOrientation(orientation).code());
+    }
+
+    /**
+     * Rotates the spare tile 90 degrees clockwise.
+     */
+    public void rotateSpareTile() {
+        setSpare(getSpareTile().rotateClockwise().code());
+    }
+
+    /**
+     * Replaces the spare tile, updating the hash.
+     */
+    private void setSpare(int code) {
+        hash ^= zobrist.spare(spare) ^ zobrist.spare(code);
+        spare = code;
+    }
+
+    /**
+     * @return the opening mask of the tile at the given cell
+     */
+    private int openings(int cell) {
+        return code(cell) & Tile.OPENINGS_MASK;
+    }
+
+    /**
+     * Returns the cell index of a position ({@code row * size + col}).
+     *
+     * @param position the position
+     * @return the cell index
+     */
+    public int cellOf(Position position) {
+        return position.toCell(geometry.size);
+    }
+
+    /**
+     * Returns the position of a cell index.
+     *
+     * @param cell the cell index
+     * @return the cached position of that cell
+     */
+    public Position positionOf(int cell) {
+        return Position.ofCell(cell, geometry.size);
+    }
+
+    /**
+     * Returns the cell adjacent to the given one.
+     *
+     * @param cell      the cell index
+     * @param direction the direction to look at
+     * @return the neighbouring cell index, or -1 at the board edge
+     */
+    public int neighbour(int cell, Direction direction) {
+        return geometry.neighbours[cell * 4 + direction.ordinal()];
     }
 
     /**
@@ -178,21 +348,74 @@ public class Board {
      * @param position the player's position
      */
     public void registerPlayerPosition(Position position) {
+        if (playerPositions == null) {
+            playerPositions = new ArrayList<>();
+        }
         playerPositions.add(position);
     }
 
     /**
-     * Checks if an insertion is valid (not the reverse of the last insertion).
+     * @return the number of insertion arrows of this board
+     */
+    public int getArrowCount() {
+        return geometry.arrowCount;
+    }
+
+    /**
+     * Returns the arrow with the given index on this board.
+     *
+     * @param index the arrow index, from 0 to {@link #getArrowCount()} - 1
+     * @return the shared arrow instance
+     */
+    public Arrow getArrow(int index) {
+        return geometry.arrows[index];
+    }
+
+    /**
+     * Returns the index of an arrow on this board.
+     *
+     * @param arrow the arrow
+     * @return the arrow index, or -1 if it is not an insertion arrow of this board
+     */
+    public int arrowIndex(Arrow arrow) {
+        return geometry.indexOf(arrow);
+    }
+
+    /**
+     * Returns where a cell ends up after the insertion at the given arrow.
+     * A pawn on the expelled tile wraps to the inserted tile.
+     *
+     * @param arrowIndex the arrow index
+     * @param cell       the cell index before the shift
+     * @return the cell index after the shift
+     */
+    public int shiftedCell(int arrowIndex, int cell) {
+        return geometry.shiftedCell[arrowIndex][cell];
+    }
+
+    /**
+     * Checks if an insertion is valid: a registered arrow that is not the
+     * reverse of the last insertion.
      *
      * @param arrow the arrow to check
      * @return true if the insertion is allowed
      */
     public boolean canInsert(Arrow arrow) {
-        if (lastArrow == null) {
-            return true;
+        int index = geometry.indexOf(arrow);
+        return index >= 0 && (validArrowMask() & 1L << index) != 0;
+    }
+
+    /**
+     * Returns the currently allowed arrows as a mask of arrow indices
+     * (see {@link #getArrow(int)}), without allocating.
+     *
+     * @return mask with one bit per allowed arrow
+     */
+    public long validArrowMask() {
+        if (lastArrowIndex < 0) {
+            return geometry.allArrows;
         }
-        Arrow forbidden = lastArrow.getOpposite(SIZE);
-        return !arrow.equals(forbidden);
+        return geometry.allArrows & ~(1L << geometry.opposite[lastArrowIndex]);
     }
 
     /**
@@ -200,142 +423,592 @@ public class Board {
      *
      * @param arrow the insertion arrow
      * @return the expelled tile (becomes the new spare)
-     * @throws IllegalArgumentException if the insertion reverses the last move
+     * @throws IllegalArgumentException if the arrow is not registered or reverses the last move
      */
     public Tile insertAndShift(Arrow arrow) {
+        int index = geometry.indexOf(arrow);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not an insertion arrow: " + arrow);
+        }
         if (!canInsert(arrow)) {
             throw new IllegalArgumentException("Cannot reverse the previous insertion");
         }
 
-        Tile expelled;
-        Position insertPos = arrow.getPosition();
-        Direction dir = arrow.getInsertDirection();
-        int row = insertPos.getRow();
-        int col = insertPos.getCol();
+        pushLine(index, false);
+        setLastArrow(index);
+        return getSpareTile();
+    }
 
-        switch (dir) {
-            case SOUTH -> {
-                // Insert from top, push down
-                expelled = tiles[SIZE - 1][col];
-                for (int r = SIZE - 1; r > 0; r--) {
-                    tiles[r][col] = tiles[r - 1][col];
-                }
-                tiles[0][col] = spareTile;
-                updatePlayerPositionsVertical(col, dir);
-            }
-            case NORTH -> {
-                // Insert from bottom, push up
-                expelled = tiles[0][col];
-                for (int r = 0; r < SIZE - 1; r++) {
-                    tiles[r][col] = tiles[r + 1][col];
-                }
-                tiles[SIZE - 1][col] = spareTile;
-                updatePlayerPositionsVertical(col, dir);
+    /**
+     * Inserts the spare tile in place for a search, after turning it to the
+     * given orientation, and moves the given pawns with the line. The
+     * returned token lets {@link #revertInsertion(long, int[])} undo the
+     * insertion exactly: the expelled tile is pushed back in from the other
+     * end of the line, and the spare orientation and last arrow are restored.
+     * Insertions must be reverted in the reverse order they were applied.
+     *
+     * @param arrowIndex  the arrow index on this board
+     * @param orientation the orientation of the spare tile
+     * @param pawnCells   the cells of the pawns, updated in place (may be empty)
+     * @return the undo token
+     * @throws IllegalArgumentException if the insertion reverses the last move
+     */
+    public long applyInsertion(int arrowIndex, Direction orientation, int[] pawnCells) {
+        if ((validArrowMask() & 1L << arrowIndex) == 0) {
+            throw new IllegalArgumentException("Cannot reverse the previous insertion");
+        }
+        long token = arrowIndex
+                | (long) (lastArrowIndex + 1) << TOKEN_ARROW_BITS
+                | (long) spare << TOKEN_SPARE_SHIFT;
+        setSpare(getSpareTile().withOrientation(orientation).code());
+        pushLine(arrowIndex, false);
+        setLastArrow(arrowIndex);
+        int[] shifted = geometry.shiftedCell[arrowIndex];
+        for (int i = 0; i < pawnCells.length; i++) {
+            pawnCells[i] = shifted[pawnCells[i]];
+        }
+        return token;
+    }
+
+    /**
+     * Inserts the spare tile in place for a search, without pawns.
+     *
+     * @param arrowIndex  the arrow index on this board
+     * @param orientation the orientation of the spare tile
+     * @return the undo token
+     * @see #applyInsertion(int, Direction, int[])
+     */
+    public long applyInsertion(int arrowIndex, Direction orientation) {
+        return applyInsertion(arrowIndex, orientation, NO_PAWNS);
+    }
+
+    /**
+     * Undoes the last insertion applied with {@link #applyInsertion(int, Direction, int[])},
+     * moving the pawns back.
+     *
+     * @param token     the token returned by that insertion
+     * @param pawnCells the cells of the pawns, updated in place
+     */
+    public void revertInsertion(long token, int[] pawnCells) {
+        int arrowIndex = (int) (token & TOKEN_ARROW_MASK);
+        int[] back = geometry.shiftedCell[geometry.opposite[arrowIndex]];
+        for (int i = 0; i < pawnCells.length; i++) {
+            pawnCells[i] = back[pawnCells[i]];
+        }
+        pushLine(arrowIndex, true);
+        setSpare((int) (token >>> TOKEN_SPARE_SHIFT & TOKEN_SPARE_MASK));
+        setLastArrow((int) (token >>> TOKEN_ARROW_BITS & TOKEN_ARROW_MASK) - 1);
+    }
+
+    /**
+     * Undoes the last insertion applied without pawns.
+     *
+     * @param token the token returned by that insertion
+     */
+    public void revertInsertion(long token) {
+        revertInsertion(token, NO_PAWNS);
+    }
+
+    /**
+     * Pushes the spare tile into a line, from the insertion end of the arrow
+     * or, backwards, from the expelled end, and makes the tile pushed out
+     * the new spare tile.
+     */
+    private void pushLine(int index, boolean backwards) {
+        int[] line = geometry.lineCells[index];
+        int carried = spare;
+        checkOwnership();
+        for (int i = 0; i < line.length; i++) {
+            int cell = line[backwards ? line.length - 1 - i : i];
+            int[] row = writableRow(geometry.rowOf[cell]);
+            int col = geometry.colOf[cell];
+            int previous = row[col];
+            hash ^= zobrist.tile(cell, previous) ^ zobrist.tile(cell, carried);
+            row[col] = carried;
+            setOpenings(cell, carried & Tile.OPENINGS_MASK);
+            moveObjective(carried, cell);
+            carried = previous;
+        }
+        moveObjective(carried, SPARE_CELL);
+        setSpare(carried);
+        dirtyCells |= geometry.singleWord ? geometry.dirtiedByArrow[index] : -1L;
+    }
+
+    /**
+     * Records the last arrow, updating the hash.
+     *
+     * @param index the arrow index, or -1 for none
+     */
+    private void setLastArrow(int index) {
+        hash ^= zobrist.lastArrow(lastArrowIndex) ^ zobrist.lastArrow(index);
+        lastArrow = index < 0 ? null : geometry.arrows[index];
+        lastArrowIndex = index;
+    }
+
+    /**
+     * Records the new cell of the objective of a tile, if it has one.
+     */
+    private void moveObjective(int code, int cell) {
+        int id = Tile.objectiveId(code);
+        if (id != 0) {
+            if (!ownsObjectives) {
+                objectiveCells = objectiveCells.clone();
+                ownsObjectives = true;
             }
-            case EAST -> {
-                // Insert from left, push right
-                expelled = tiles[row][SIZE - 1];
-                for (int c = SIZE - 1; c > 0; c--) {
-                    tiles[row][c] = tiles[row][c - 1];
-                }
-                tiles[row][0] = spareTile;
-                updatePlayerPositionsHorizontal(row, dir);
+            objectiveCells[id - 1] = cell;
+        }
+    }
+
+    /**
+     * Returns the cell of the tile holding an objective.
+     * The board keeps an index of the objectives up to date as lines shift,
+     * so this is a table read.
+     *
+     * @param objective the objective
+     * @return the cell index, or {@link #SPARE_CELL} if the objective is on the spare tile
+     */
+    public int locateCell(Objective objective) {
+        return objectiveCells[objective.ordinal()];
+    }
+
+    /**
+     * Returns the position of the tile holding an objective.
+     *
+     * @param objective the objective
+     * @return the position, or null if the objective is on the spare tile
+     */
+    public Position locate(Objective objective) {
+        int cell = objectiveCells[objective.ordinal()];
+        return cell == SPARE_CELL ? null : positionOf(cell);
+    }
+
+    /**
+     * Fills a batch with every allowed insertion and every distinct
+     * orientation of the spare tile (two for a straight tile, four for the
+     * others), in arrow order. Each candidate gets the connection masks of
+     * the board it would produce: only the bits of the pushed line are
+     * recomputed, with one shift of the line, and the board is not copied.
+     *
+     * @param batch the batch to fill, reused between calls
+     * @return the same batch
+     * @throws IllegalStateException if the board has more than 64 cells
+     */
+    public InsertionBatch evaluateInsertions(InsertionBatch batch) {
+        if (!geometry.singleWord) {
+            throw new IllegalStateException("Cell masks need a board of at most 64 cells");
+        }
+        batch.clear(geometry);
+
+        // Opening masks of the spare tile by orientation (4 bits each), and the orientations giving distinct masks
+        Tile spareTile = getSpareTile();
+        int spareOpenings = 0;
+        int distinct = 0;
+        int seen = 0;
+        for (Direction orientation : DIRECTIONS) {
+            int open = spareTile.withOrientation(orientation).getOpenings();
+            spareOpenings |= open << 4 * orientation.ordinal();
+            if ((seen & 1 << open) == 0) {
+                seen |= 1 << open;
+                distinct |= 1 << orientation.ordinal();
             }
-            case WEST -> {
-                // Insert from right, push left
-                expelled = tiles[row][0];
-                for (int c = 0; c < SIZE - 1; c++) {
-                    tiles[row][c] = tiles[row][c + 1];
+        }
+
+        int size = geometry.size;
+        for (long arrows = validArrowMask(); arrows != 0; arrows &= arrows - 1) {
+            int index = Long.numberOfTrailingZeros(arrows);
+            long line = geometry.lineMasks[index];
+            int step = geometry.lineSteps[index];
+            int inserted = geometry.lineCells[index][0];
+
+            // The line moves one cell in push order; the expelled bit leaves the line mask
+            long north = openNorth & ~line | shiftLine(openNorth & line, step) & line;
+            long east = openEast & ~line | shiftLine(openEast & line, step) & line;
+            long south = openSouth & ~line | shiftLine(openSouth & line, step) & line;
+            long west = openWest & ~line | shiftLine(openWest & line, step) & line;
+
+            for (int o = 0; o < DIRECTIONS.length; o++) {
+                if ((distinct & 1 << o) == 0) {
+                    continue;
                 }
-                tiles[row][SIZE - 1] = spareTile;
-                updatePlayerPositionsHorizontal(row, dir);
+                int open = spareOpenings >>> 4 * o & Tile.OPENINGS_MASK;
+                long n = north | (long) (open >>> Direction.NORTH.ordinal() & 1) << inserted;
+                long e = east | (long) (open >>> Direction.EAST.ordinal() & 1) << inserted;
+                long s = south | (long) (open >>> Direction.SOUTH.ordinal() & 1) << inserted;
+                long w = west | (long) (open >>> Direction.WEST.ordinal() & 1) << inserted;
+                batch.add(index, DIRECTIONS[o],
+                        e & (w >>> 1) & geometry.notLastColumn,
+                        s & (n >>> size));
             }
-            default -> throw new IllegalStateException("Unknown direction: " + dir);
         }
+        return batch;
+    }
 
-        spareTile = expelled;
-        lastArrow = arrow;
-        return expelled;
+    /**
+     * Shifts the bits of a line by a signed cell offset.
+     */
+    private static long shiftLine(long bits, int step) {
+        return step > 0 ? bits << step : bits >>> -step;
     }
 
     /**
-     * Updates player positions after vertical shift.
+     * Returns the Zobrist hash of the tiles, the spare tile (with its
+     * orientation) and the last arrow. Equal boards have equal hashes.
+     *
+     * @return the 64-bit board hash
      */
-    private void updatePlayerPositionsVertical(int col, Direction dir) {
-        // This would be called by the Game class with actual player references
+    public long getHash() {
+        return hash;
     }
 
     /**
-     * Updates player positions after horizontal shift.
+     * Computes the hash of the current state from scratch.
      */
-    private void updatePlayerPositionsHorizontal(int row, Direction dir) {
-        // This would be called by the Game class with actual player references
+    long recomputeHash() {
+        long full = zobrist.spare(spare) ^ zobrist.lastArrow(lastArrowIndex);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            full ^= zobrist.tile(cell, code(cell));
+        }
+        return full;
     }
 
     /**
-     * Returns all positions reachable from the given starting position using BFS.
+     * @return the index of the last arrow, or -1 if none
+     */
+    int lastArrowIndex() {
+        return lastArrowIndex;
+    }
+
+    /**
+     * Returns all positions reachable from the given starting position.
      *
      * @param start the starting position
-     * @return list of reachable positions
+     * @return list of reachable positions, in row-major order
      */
     public List<Position> getReachablePositions(Position start) {
-        boolean[][] visited = new boolean[SIZE][SIZE];
-        Queue<Position> queue = new ArrayDeque<>();
+        if (geometry.singleWord) {
+            long mask = reachableMask(cellOf(start));
+            List<Position> reachable = new ArrayList<>(Long.bitCount(mask));
+            while (mask != 0) {
+                int cell = Long.numberOfTrailingZeros(mask);
+                reachable.add(positionOf(cell));
+                mask &= mask - 1;
+            }
+            return reachable;
+        }
+        int label = componentOf(cellOf(start));
         List<Position> reachable = new ArrayList<>();
+        for (int cell = label; cell < geometry.cellCount; cell++) {
+            if (labels[cell] == label) {
+                reachable.add(positionOf(cell));
+            }
+        }
+        return reachable;
+    }
 
-        visited[start.getRow()][start.getCol()] = true;
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            Position current = queue.poll();
-            reachable.add(current);
-            Tile currentTile = getTile(current);
-
-            for (Direction dir : Direction.values()) {
-                Position neighbor = current.move(dir);
-                if (!neighbor.isInBounds(SIZE)) continue;
-                if (visited[neighbor.getRow()][neighbor.getCol()]) continue;
-
-                Tile neighborTile = getTile(neighbor);
-                // Can move if current tile has opening towards neighbor
-                // AND neighbor tile has opening towards current
-                if (currentTile.isOpenTo(dir) && neighborTile.isOpenTo(dir.opposite())) {
-                    visited[neighbor.getRow()][neighbor.getCol()] = true;
-                    queue.add(neighbor);
+    /**
+     * Fills a distance field with the number of moves from a source cell to
+     * every cell, and the parent links of shortest paths, by a breadth-first
+     * search over the corridors. Neighbours are visited in direction order
+     * (north, east, south, west), so the paths are deterministic. The field's
+     * arrays are reused, so repeated searches do not allocate.
+     *
+     * @param source the source cell
+     * @param field  the field to fill, with room for this board's cells
+     * @return the same field
+     * @throws IllegalArgumentException if the field is too small for this board
+     */
+    public DistanceField fillDistances(int source, DistanceField field) {
+        field.reset(source, geometry.cellCount);
+        int[] queue = field.queue();
+        int[] neighbours = geometry.neighbours;
+        for (int head = 0; head < field.getReachedCount(); head++) {
+            int cell = queue[head];
+            int open = code(cell);
+            for (int dir = 0; dir < 4; dir++) {
+                int next = neighbours[cell * 4 + dir];
+                // The neighbour must open back towards this cell, direction (dir + 2) & 3
+                if ((open >>> dir & 1) != 0 && next >= 0 && field.distance(next) == DistanceField.UNREACHABLE
+                        && (code(next) >>> (dir + 2 & 3) & 1) != 0) {
+                    field.reach(next, cell);
                 }
             }
         }
+        return field;
+    }
 
-        return reachable;
+    /**
+     * Returns a shortest corridor path between two positions, for example to
+     * animate a pawn. This allocates a field; searches in a loop should use
+     * {@link #fillDistances(int, DistanceField)} with a reused field.
+     *
+     * @param from the starting position
+     * @param to   the target position
+     * @return the positions from {@code from} to {@code to}, both included, or an empty list if unreachable
+     */
+    public List<Position> shortestPath(Position from, Position to) {
+        DistanceField field = fillDistances(cellOf(from), new DistanceField(geometry.cellCount));
+        int[] cells = new int[geometry.cellCount];
+        int length = field.pathTo(cellOf(to), cells);
+        List<Position> path = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            path.add(positionOf(cells[i]));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the cells reachable from the given cell as a bit mask.
+     * Cell {@code row * size + col} is bit {@code row * size + col}, so this
+     * is only available on boards of at most 64 cells, like the standard one.
+     *
+     * @param cell the starting cell
+     * @return the mask of reachable cells (always contains the start)
+     * @throws IllegalStateException if the board has more than 64 cells
+     */
+    public long reachableMask(int cell) {
+        if (!geometry.singleWord) {
+            throw new IllegalStateException("Cell masks need a board of at most 64 cells");
+        }
+        ensureComponents();
+        return components[labels[cell]];
+    }
+
+    /**
+     * Returns the label of the connected component containing a cell.
+     * Two cells are connected exactly when their labels are equal; the label
+     * is the smallest cell index of the component.
+     *
+     * @param cell the cell index
+     * @return the component label
+     */
+    public int componentOf(int cell) {
+        ensureComponents();
+        return labels[cell];
+    }
+
+    /**
+     * Returns the number of cells of the connected component containing a
+     * cell, i.e. how many cells a pawn on it can walk to, itself included.
+     *
+     * @param cell the cell index
+     * @return the component size, at least 1
+     */
+    public int componentSize(int cell) {
+        if (geometry.singleWord) {
+            return Long.bitCount(reachableMask(cell));
+        }
+        int label = componentOf(cell);
+        int count = 0;
+        for (int other = label; other < geometry.cellCount; other++) {
+            if (labels[other] == label) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns whether two positions lie in the same connected component,
+     * i.e. whether a pawn on one can walk to the other.
+     *
+     * @param first  a position on the board
+     * @param second another position on the board
+     * @return true if both share a component
+     */
+    public boolean sameComponent(Position first, Position second) {
+        return componentOf(cellOf(first)) == componentOf(cellOf(second));
+    }
+
+    /**
+     * Returns the component label of every cell, indexed by cell.
+     * All reachability queries on the same board state share this labelling,
+     * which is computed once and kept until the next insertion.
+     *
+     * @return a copy of the label array
+     */
+    public int[] componentLabels() {
+        ensureComponents();
+        return labels.clone();
+    }
+
+    /**
+     * Relabels the components touching the dirty cells.
+     * <p>
+     * Edges away from the changed lines are unchanged, so a component that
+     * contains no dirty cell is still a component of the new board, and no
+     * corridor joins it to the cells of the other components. Those cells are
+     * labelled again in one row-major scan: the lowest unlabelled cell seeds a
+     * flood that grows a frontier with shifts and ANDs against the east/south
+     * connection masks, and the whole component it reaches gets that cell as
+     * its label.
+     */
+    private void ensureComponents() {
+        if (dirtyCells == 0) {
+            return;
+        }
+        checkOwnership();
+        if (!ownsComponents) {
+            labels = labels.clone();
+            components = components == null ? null : components.clone();
+            ownsComponents = true;
+        }
+        if (!geometry.singleWord) {
+            labelAllComponents();
+            dirtyCells = 0;
+            return;
+        }
+
+        long affected = geometry.allCells;
+        if (dirtyCells != geometry.allCells) {
+            affected = 0;
+            long dirty = dirtyCells;
+            while (dirty != 0) {
+                long component = components[labels[Long.numberOfTrailingZeros(dirty)]];
+                affected |= component;
+                dirty &= ~component;
+            }
+        }
+
+        int size = geometry.size;
+        long eastLinks = openEast & (openWest >>> 1) & geometry.notLastColumn;
+        long southLinks = openSouth & (openNorth >>> size);
+        long remaining = affected;
+        while (remaining != 0) {
+            int seed = Long.numberOfTrailingZeros(remaining);
+            long reached = 1L << seed;
+            long previous;
+            do {
+                previous = reached;
+                reached |= (reached & eastLinks) << 1
+                        | (reached >>> 1) & eastLinks
+                        | (reached & southLinks) << size
+                        | (reached >>> size) & southLinks;
+            } while (reached != previous);
+
+            // Flooding from the lowest remaining cell makes it the smallest cell of the component
+            components[seed] = reached;
+            for (long members = reached; members != 0; members &= members - 1) {
+                labels[Long.numberOfTrailingZeros(members)] = seed;
+            }
+            remaining &= ~reached;
+        }
+        dirtyCells = 0;
+    }
+
+    /**
+     * Labels every component of a large board in one row-major scan with a
+     * union-find that stores the parent of each cell in {@code labels}: every
+     * cell is joined to its west and north neighbours when they connect, and
+     * roots always point to the smaller cell. A second scan resolves each cell
+     * through its parent, whose label is already final at that point, to the
+     * smallest cell of its component.
+     */
+    private void labelAllComponents() {
+        int size = geometry.size;
+        for (int r = 0; r < size; r++) {
+            int[] row = rows[r];
+            int[] above = r > 0 ? rows[r - 1] : null;
+            for (int c = 0; c < size; c++) {
+                int cell = r * size + c;
+                labels[cell] = cell;
+                int open = row[c];
+                if (c > 0 && (open & WEST_BIT) != 0 && (row[c - 1] & EAST_BIT) != 0) {
+                    union(cell, cell - 1);
+                }
+                if (above != null && (open & NORTH_BIT) != 0 && (above[c] & SOUTH_BIT) != 0) {
+                    union(cell, cell - size);
+                }
+            }
+        }
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            labels[cell] = labels[labels[cell]];
+        }
+    }
+
+    /**
+     * Merges the components of two cells, keeping the smaller root.
+     */
+    private void union(int first, int second) {
+        int a = find(first);
+        int b = find(second);
+        if (a < b) {
+            labels[b] = a;
+        } else if (b < a) {
+            labels[a] = b;
+        }
+    }
+
+    /**
+     * Finds the root of a cell, halving the path on the way.
+     */
+    private int find(int cell) {
+        while (labels[cell] != cell) {
+            labels[cell] = labels[labels[cell]];
+            cell = labels[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Builds the opening masks of every cell and marks all components dirty.
+     */
+    private void rebuildOpenings() {
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            setOpenings(cell, openings(cell));
+        }
+        dirtyCells = geometry.singleWord ? geometry.allCells : -1L;
+    }
+
+    /**
+     * Copies the opening mask of the tile now at a cell into the opening masks.
+     */
+    private void setOpenings(int cell, int open) {
+        if (!geometry.singleWord) {
+            return;
+        }
+        long bit = 1L << cell;
+        openNorth = openNorth & ~bit | (long) (open >>> Direction.NORTH.ordinal() & 1) << cell;
+        openEast = openEast & ~bit | (long) (open >>> Direction.EAST.ordinal() & 1) << cell;
+        openSouth = openSouth & ~bit | (long) (open >>> Direction.SOUTH.ordinal() & 1) << cell;
+        openWest = openWest & ~bit | (long) (open >>> Direction.WEST.ordinal() & 1) << cell;
     }
 
     /**
      * Checks if a position is reachable from another position.
+     * This is a comparison of component labels.
      *
      * @param from the starting position
      * @param to   the target position
      * @return true if there is a path
      */
     public boolean isReachable(Position from, Position to) {
-        return getReachablePositions(from).contains(to);
+        if (!to.isInBounds(geometry.size)) {
+            return false;
+        }
+        return sameComponent(from, to);
     }
 
     /**
-     * Creates a deep copy of the board state.
+     * Creates a new version of the board. The copy shares its rows with this
+     * board until one of them changes, and changes to either board are never
+     * seen by the other.
+     * <p>
+     * Copying only reads this board, so several threads may copy a board
+     * at once, as long as none of them writes or queries it meanwhile.
      *
      * @return a copy of this board
      */
     public Board copy() {
-        return new Board(tiles, spareTile, lastArrow);
+        return new Board(this);
     }
 
     /**
      * Returns all valid insertion arrows.
      *
-     * @return list of all 12 arrows
+     * @return list of all arrows of this board (12 on the standard board), by index
      */
     public List<Arrow> getAllArrows() {
-        return Arrow.getAllArrows();
+        return geometry.arrowList;
     }
 
     /**
@@ -344,12 +1017,6 @@ public class Board {
      * @return list of valid arrows (excludes the forbidden reverse)
      */
     public List<Arrow> getValidArrows() {
-        List<Arrow> valid = new ArrayList<>();
-        for (Arrow arrow : getAllArrows()) {
-            if (canInsert(arrow)) {
-                valid.add(arrow);
-            }
-        }
-        return valid;
+        return Arrow.listOf(geometry, validArrowMask());
     }
 }
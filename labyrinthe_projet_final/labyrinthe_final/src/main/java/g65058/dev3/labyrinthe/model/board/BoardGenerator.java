@@ -0,0 +1,278 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates starting boards from a seed.
+ * <p>
+ * The layout of each board size is built once: the fixed tiles, the fixed
+ * T-junctions waiting for an objective, and the pool of mobile tile codes.
+ * A new board then only copies these primitive arrays into scratch buffers,
+ * shuffles them in place (Fisher-Yates) with the given
+ * {@link SplittableRandom}, and writes the codes into the rows.
+ * <p>
+ * The same seed always gives the same board. A generator reuses its buffers,
+ * so it must not be shared between threads: use one generator per thread,
+ * and {@link SplittableRandom#split()} to give each one its own stream.
+ */
+public final class BoardGenerator {
+    private static final Layout[] LAYOUTS = new Layout[Board.MAX_SIZE + 1];
+
+    private static final Objective[] FIXED_OBJECTIVES = {
+            Objective.GRIMOIRE, Objective.GOLD_BAG, Objective.MAP, Objective.CROWN,
+            Objective.KEYS, Objective.BONES, Objective.RING, Objective.TREASURE_CHEST,
+            Objective.EMERALD, Objective.SWORD, Objective.CANDLE, Objective.HELMET
+    };
+    private static final Objective[] MOBILE_T_OBJECTIVES = {
+            Objective.GNOME, Objective.FAIRY, Objective.GENIE,
+            Objective.SCARAB, Objective.RAT, Objective.BUTTERFLY
+    };
+    private static final Objective[] MOBILE_L_OBJECTIVES = {
+            Objective.GHOST, Objective.DRAGON, Objective.BAT,
+            Objective.OWL, Objective.SPIDER, Objective.LIZARD
+    };
+
+    private final Layout layout;
+    private final int[] fixedObjectives;
+    private final int[] lObjectives;
+    private final int[] tObjectives;
+    private final int[] mobileTiles;
+
+    /**
+     * Creates a generator of standard boards.
+     */
+    public BoardGenerator() {
+        this(Board.SIZE);
+    }
+
+    /**
+     * Creates a generator of boards of the given size.
+     *
+     * @param size the board size, odd, from {@link Board#MIN_SIZE} to {@link Board#MAX_SIZE}
+     * @throws IllegalArgumentException if the size is not supported
+     */
+    public BoardGenerator(int size) {
+        this.layout = Layout.of(size);
+        this.fixedObjectives = new int[layout.fixedObjectives.length];
+        this.lObjectives = new int[layout.lObjectives.length];
+        this.tObjectives = new int[layout.tObjectives.length];
+        this.mobileTiles = new int[layout.mobileTiles.length];
+    }
+
+    /**
+     * @return the size of the generated boards
+     */
+    public int getSize() {
+        return layout.geometry.size;
+    }
+
+    /**
+     * Generates the board of a seed.
+     *
+     * @param seed the seed
+     * @return a new board, always the same for the same seed
+     */
+    public Board generate(long seed) {
+        return generate(new SplittableRandom(seed));
+    }
+
+    /**
+     * Generates a board from the next values of a random stream.
+     *
+     * @param random the random stream
+     * @return a new board
+     */
+    public Board generate(SplittableRandom random) {
+        return new Board(this, random);
+    }
+
+    /**
+     * @return the geometry of the generated boards
+     */
+    BoardGeometry geometry() {
+        return layout.geometry;
+    }
+
+    /**
+     * Fills the rows of a new board with a shuffled layout.
+     *
+     * @param rows   the empty rows to fill
+     * @param random the random stream
+     * @return the code of the spare tile
+     */
+    int fill(int[][] rows, SplittableRandom random) {
+        Layout layout = this.layout;
+        int size = layout.geometry.size;
+        int[] rowOf = layout.geometry.rowOf;
+        int[] colOf = layout.geometry.colOf;
+
+        // Fixed tiles, the objectives spread over the fixed T-junctions
+        for (int r = 0; r < size; r++) {
+            System.arraycopy(layout.fixedRows[r], 0, rows[r], 0, size);
+        }
+        copyShuffled(layout.fixedObjectives, fixedObjectives, random);
+        for (int i = 0; i < fixedObjectives.length; i++) {
+            int cell = layout.fixedObjectiveCells[i];
+            rows[rowOf[cell]][colOf[cell]] |= fixedObjectives[i];
+        }
+
+        // Mobile tiles: the objectives go to the first L and T tiles of the pool, then the pool is shuffled
+        System.arraycopy(layout.mobileTiles, 0, mobileTiles, 0, mobileTiles.length);
+        copyShuffled(layout.lObjectives, lObjectives, random);
+        for (int i = 0; i < lObjectives.length; i++) {
+            mobileTiles[layout.lStart + i] |= lObjectives[i];
+        }
+        copyShuffled(layout.tObjectives, tObjectives, random);
+        for (int i = 0; i < tObjectives.length; i++) {
+            mobileTiles[layout.tStart + i] |= tObjectives[i];
+        }
+        shuffle(mobileTiles, random);
+
+        int[] mobileCells = layout.mobileCells;
+        for (int i = 0; i < mobileCells.length; i++) {
+            int cell = mobileCells[i];
+            rows[rowOf[cell]][colOf[cell]] = mobileTiles[i];
+        }
+
+        // The last tile becomes the spare tile
+        return mobileTiles[mobileCells.length];
+    }
+
+    /**
+     * Copies a template into a buffer and shuffles the buffer.
+     */
+    private static void copyShuffled(int[] template, int[] buffer, SplittableRandom random) {
+        System.arraycopy(template, 0, buffer, 0, template.length);
+        shuffle(buffer, random);
+    }
+
+    /**
+     * Shuffles an array in place (Fisher-Yates).
+     */
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * The unshuffled starting layout of one board size.
+     * <p>
+     * The standard board gets the 16 fixed tiles and the 34 mobile tiles of
+     * the game; larger boards get fixed tiles on every even row and column
+     * and a mobile pool with the same proportions of I, L and T tiles.
+     */
+    private static final class Layout {
+        final BoardGeometry geometry;
+        /** Fixed tile codes by row, without objectives; 0 on the mobile cells. */
+        final int[][] fixedRows;
+        /** Fixed T-junction cells, row-major, and the objective bits they share (padded with 0). */
+        final int[] fixedObjectiveCells;
+        final int[] fixedObjectives;
+        /** Mobile cells, row-major, and the mobile tile codes without objectives (one more: the spare). */
+        final int[] mobileCells;
+        final int[] mobileTiles;
+        /** Where the L and T tiles receiving an objective start in the pool, and the objective bits. */
+        final int lStart;
+        final int tStart;
+        final int[] lObjectives;
+        final int[] tObjectives;
+
+        private Layout(int size) {
+            this.geometry = BoardGeometry.of(size);
+            this.fixedRows = new int[size][size];
+
+            // Fixed corner tiles (player starting positions)
+            int last = size - 1;
+            fixedRows[0][0] = Tile.encode(TileType.CORNER, Direction.SOUTH, null, true);        // Player 1
+            fixedRows[0][last] = Tile.encode(TileType.CORNER, Direction.WEST, null, true);     // Player 2
+            fixedRows[last][last] = Tile.encode(TileType.CORNER, Direction.NORTH, null, true); // Player 3
+            fixedRows[last][0] = Tile.encode(TileType.CORNER, Direction.EAST, null, true);     // Player 4
+
+            // Fixed T-junction tiles on even positions (12 on the standard board, all with objectives)
+            int fixedPerLine = (size + 1) / 2;
+            int fixedCount = fixedPerLine * fixedPerLine;
+            this.fixedObjectiveCells = new int[fixedCount - 4];
+            int fixedIndex = 0;
+            for (int r = 0; r < size; r += 2) {
+                for (int c = 0; c < size; c += 2) {
+                    if (fixedRows[r][c] == 0) {
+                        fixedRows[r][c] = Tile.encode(TileType.T_JUNCTION, fixedOrientation(r, c, size), null, true);
+                        fixedObjectiveCells[fixedIndex++] = r * size + c;
+                    }
+                }
+            }
+            this.fixedObjectives = new int[fixedObjectiveCells.length];
+            for (int i = 0; i < FIXED_OBJECTIVES.length; i++) {
+                fixedObjectives[i] = Tile.objectiveBits(FIXED_OBJECTIVES[i]);
+            }
+
+            // Mobile tiles pool: 12 I, 16 L (6 with objectives), 6 T (all with objectives) on the standard board
+            int mobileCount = size * size - fixedCount + 1;
+            int tCount = Math.max(MOBILE_T_OBJECTIVES.length, Math.round(mobileCount * 6 / 34f));
+            int iCount = Math.round(mobileCount * 12 / 34f);
+            int lCount = mobileCount - iCount - tCount;
+            this.mobileTiles = new int[mobileCount];
+            int tileIndex = 0;
+            for (int i = 0; i < iCount; i++) {
+                mobileTiles[tileIndex++] = Tile.encode(TileType.STRAIGHT, Direction.values()[i % 2], null, false);
+            }
+            this.lStart = tileIndex;
+            for (int i = 0; i < lCount; i++) {
+                mobileTiles[tileIndex++] = Tile.encode(TileType.CORNER, Direction.values()[i % 4], null, false);
+            }
+            this.tStart = tileIndex;
+            for (int i = 0; i < tCount; i++) {
+                mobileTiles[tileIndex++] = Tile.encode(TileType.T_JUNCTION, Direction.values()[i % 4], null, false);
+            }
+            this.lObjectives = objectiveBits(MOBILE_L_OBJECTIVES);
+            this.tObjectives = objectiveBits(MOBILE_T_OBJECTIVES);
+
+            this.mobileCells = new int[mobileCount - 1];
+            int mobileIndex = 0;
+            for (int cell = 0; cell < geometry.cellCount; cell++) {
+                if (fixedRows[cell / size][cell % size] == 0) {
+                    mobileCells[mobileIndex++] = cell;
+                }
+            }
+        }
+
+        static synchronized Layout of(int size) {
+            BoardGeometry.of(size);
+            if (LAYOUTS[size] == null) {
+                LAYOUTS[size] = new Layout(size);
+            }
+            return LAYOUTS[size];
+        }
+
+        private static int[] objectiveBits(Objective[] objectives) {
+            int[] bits = new int[objectives.length];
+            for (int i = 0; i < objectives.length; i++) {
+                bits[i] = Tile.objectiveBits(objectives[i]);
+            }
+            return bits;
+        }
+
+        /**
+         * Orients a fixed T-junction so that its wall faces the nearest border,
+         * the top or bottom border winning ties.
+         */
+        private static Direction fixedOrientation(int row, int col, int size) {
+            int top = row;
+            int bottom = size - 1 - row;
+            int left = col;
+            int right = size - 1 - col;
+            int nearest = Math.min(Math.min(top, bottom), Math.min(left, right));
+            if (top == nearest) {
+                return Direction.SOUTH;
+            }
+            if (bottom == nearest) {
+                return Direction.NORTH;
+            }
+            return left == nearest ? Direction.EAST : Direction.WEST;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import java.util.List;
+
+/**
+ * Precomputed tables for one board size: the arrows with the lines they push
+ * and the resulting cell permutations, cell coordinates and neighbours, and
+ * the bit masks used by boards small enough to fit a cell mask in a
+ * {@code long}.
+ * <p>
+ * Geometries are immutable and shared by all boards of the same size.
+ * Arrows are indexed side by side: top (push down), bottom (push up),
+ * left (push right), right (push left), each side by increasing line.
+ */
+final class BoardGeometry {
+    private static final BoardGeometry[] CACHE = new BoardGeometry[Board.MAX_SIZE + 1];
+
+    /** Geometry of the standard 7x7 board. */
+    static final BoardGeometry STANDARD = of(Board.SIZE);
+
+    final int size;
+    final int cellCount;
+    final int arrowCount;
+    /** Mask with one bit per arrow index. */
+    final long allArrows;
+    final Arrow[] arrows;
+    final List<Arrow> arrowList;
+    final int[] opposite;
+    /** Cells of each arrow's line, from the cell receiving the inserted tile to the expelled one. */
+    final int[][] lineCells;
+    /** Where each cell ends up after each arrow's insertion. */
+    final int[][] shiftedCell;
+    final int[] rowOf;
+    final int[] colOf;
+    /** Entry {@code cell * 4 + direction.ordinal()} is the adjacent cell, or -1 off the board. */
+    final int[] neighbours;
+
+    /** Whether a set of cells fits in a {@code long}; the masks below are only set then. */
+    final boolean singleWord;
+    final long allCells;
+    final long notLastColumn;
+    /** For each arrow, the cells of the pushed line and of the lines on either side. */
+    final long[] dirtiedByArrow;
+    /** For each arrow, the cells of the pushed line. */
+    final long[] lineMasks;
+    /** For each arrow, the cell offset from one cell of the line to the next one in push order. */
+    final int[] lineSteps;
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        this.cellCount = size * size;
+        int perSide = size / 2;
+        this.arrowCount = 4 * perSide;
+        this.allArrows = arrowCount == 64 ? -1L : (1L << arrowCount) - 1;
+
+        this.rowOf = new int[cellCount];
+        this.colOf = new int[cellCount];
+        this.neighbours = new int[cellCount * 4];
+        for (int cell = 0; cell < cellCount; cell++) {
+            rowOf[cell] = cell / size;
+            colOf[cell] = cell % size;
+            Position position = Position.ofCell(cell, size);
+            for (Direction dir : Direction.values()) {
+                Position next = position.move(dir);
+                neighbours[cell * 4 + dir.ordinal()] = next.isInBounds(size) ? next.toCell(size) : -1;
+            }
+        }
+
+        this.arrows = new Arrow[arrowCount];
+        this.opposite = new int[arrowCount];
+        this.lineCells = new int[arrowCount][];
+        this.shiftedCell = new int[arrowCount][];
+        for (int i = 0; i < perSide; i++) {
+            int line = 2 * i + 1;
+            register(i, Position.of(0, line), Direction.SOUTH);
+            register(perSide + i, Position.of(size - 1, line), Direction.NORTH);
+            register(2 * perSide + i, Position.of(line, 0), Direction.EAST);
+            register(3 * perSide + i, Position.of(line, size - 1), Direction.WEST);
+        }
+        this.arrowList = List.of(arrows);
+
+        this.singleWord = cellCount <= Long.SIZE;
+        this.dirtiedByArrow = new long[arrowCount];
+        this.lineMasks = new long[arrowCount];
+        this.lineSteps = new int[arrowCount];
+        long all = 0;
+        long notLast = 0;
+        if (singleWord) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                all |= 1L << cell;
+                if (colOf[cell] != size - 1) {
+                    notLast |= 1L << cell;
+                }
+            }
+            for (int index = 0; index < arrowCount; index++) {
+                lineSteps[index] = lineCells[index][1] - lineCells[index][0];
+                for (int cell : lineCells[index]) {
+                    lineMasks[index] |= 1L << cell;
+                    dirtiedByArrow[index] |= 1L << cell;
+                    for (int d = 0; d < 4; d++) {
+                        int next = neighbours[cell * 4 + d];
+                        if (next >= 0) {
+                            dirtiedByArrow[index] |= 1L << next;
+                        }
+                    }
+                }
+            }
+        }
+        this.allCells = all;
+        this.notLastColumn = notLast;
+    }
+
+    /**
+     * Returns the geometry of the given board size.
+     *
+     * @param size the board size
+     * @return the shared geometry
+     * @throws IllegalArgumentException if the size is not odd or out of range
+     */
+    static synchronized BoardGeometry of(int size) {
+        if (size < Board.MIN_SIZE || size > Board.MAX_SIZE || size % 2 == 0) {
+            throw new IllegalArgumentException("Board size must be odd, from "
+                    + Board.MIN_SIZE + " to " + Board.MAX_SIZE + ": " + size);
+        }
+        if (CACHE[size] == null) {
+            CACHE[size] = new BoardGeometry(size);
+        }
+        return CACHE[size];
+    }
+
+    /**
+     * Adds an arrow with its precomputed tables.
+     */
+    private void register(int index, Position position, Direction direction) {
+        int perSide = size / 2;
+        arrows[index] = new Arrow(position, direction);
+        opposite[index] = (index / perSide) % 2 == 0 ? index + perSide : index - perSide;
+
+        // Cells of the line, from the insertion end to the expelled end
+        int[] line = new int[size];
+        Position cell = position;
+        for (int i = 0; i < size; i++) {
+            line[i] = cell.toCell(size);
+            cell = cell.move(direction);
+        }
+        lineCells[index] = line;
+
+        // The expelled end wraps to the insertion end
+        int[] shifted = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            shifted[i] = i;
+        }
+        for (int i = 0; i < size; i++) {
+            shifted[line[i]] = line[(i + 1) % size];
+        }
+        shiftedCell[index] = shifted;
+    }
+
+    /**
+     * Computes the index of an arrow on a board of the given size.
+     *
+     * @return the arrow index, or -1 if it is not an insertion arrow of that board
+     */
+    static int arrowIndex(Position position, Direction direction, int size) {
+        int last = size - 1;
+        int row = position.getRow();
+        int col = position.getCol();
+        int line;
+        int side;
+        switch (direction) {
+            case SOUTH -> { line = row == 0 ? col : -1; side = 0; }
+            case NORTH -> { line = row == last ? col : -1; side = 1; }
+            case EAST -> { line = col == 0 ? row : -1; side = 2; }
+            case WEST -> { line = col == last ? row : -1; side = 3; }
+            default -> throw new IllegalStateException("Unknown direction: " + direction);
+        }
+        if (line < 1 || line >= last || line % 2 == 0) {
+            return -1;
+        }
+        return side * (size / 2) + line / 2;
+    }
+
+    /**
+     * @return the index of an arrow on this board, or -1 if it is not one of its arrows
+     */
+    int indexOf(Arrow arrow) {
+        if (size == Board.SIZE) {
+            return arrow.getIndex();
+        }
+        return arrowIndex(arrow.getPosition(), arrow.getInsertDirection(), size);
+    }
+}
@@ -0,0 +1,159 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Step distances and parent links from one source cell, filled by
+ * {@link Board#fillDistances(int, DistanceField)}.
+ * <p>
+ * A field owns its arrays and can be filled again for any source and any
+ * board of at most as many cells, so heuristics can run thousands of
+ * searches without allocating. The arrays may also be supplied by the
+ * caller and read directly: entry {@code cell} holds the number of moves
+ * from the source, or {@link #UNREACHABLE}, and the previous cell on a
+ * shortest path, or {@link #NO_PARENT} for the source and unreachable cells.
+ */
+public final class DistanceField {
+    /** Distance of a cell that cannot be reached from the source. */
+    public static final int UNREACHABLE = -1;
+    /** Parent of the source and of unreachable cells. */
+    public static final int NO_PARENT = -1;
+
+    private final int[] distance;
+    private final int[] parent;
+    private final int[] queue;
+    private int source = NO_PARENT;
+    private int cellCount;
+    private int reachedCount;
+
+    /**
+     * Creates a field for boards of up to the given number of cells.
+     *
+     * @param cellCount the maximum number of cells
+     */
+    public DistanceField(int cellCount) {
+        this(new int[cellCount], new int[cellCount]);
+    }
+
+    /**
+     * Creates a field writing into caller-owned arrays of the same length.
+     *
+     * @param distance the array receiving the distances
+     * @param parent   the array receiving the parent links
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public DistanceField(int[] distance, int[] parent) {
+        if (distance.length != parent.length) {
+            throw new IllegalArgumentException("Distance and parent arrays must have the same length");
+        }
+        this.distance = distance;
+        this.parent = parent;
+        this.queue = new int[distance.length];
+    }
+
+    /**
+     * Clears the field before a search from a source cell on a board of the
+     * given number of cells, and marks the source at distance 0.
+     *
+     * @throws IllegalArgumentException if the board has more cells than the field
+     */
+    void reset(int source, int cells) {
+        if (cells > distance.length) {
+            throw new IllegalArgumentException("Field too small for " + cells + " cells");
+        }
+        Arrays.fill(distance, 0, cells, UNREACHABLE);
+        Arrays.fill(parent, 0, cells, NO_PARENT);
+        this.source = source;
+        this.cellCount = cells;
+        distance[source] = 0;
+        queue[0] = source;
+        reachedCount = 1;
+    }
+
+    /**
+     * Records that a cell is reached from a neighbour, one step further.
+     * Cells are queued in the order they are reached.
+     */
+    void reach(int cell, int from) {
+        distance[cell] = distance[from] + 1;
+        parent[cell] = from;
+        queue[reachedCount++] = cell;
+    }
+
+    /**
+     * @return the queue of the search: cells in the order they were reached
+     */
+    int[] queue() {
+        return queue;
+    }
+
+    /**
+     * @return the source cell of the last search, or {@link #NO_PARENT} before any search
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * @return the number of cells reachable from the source, the source included
+     */
+    public int getReachedCount() {
+        return reachedCount;
+    }
+
+    /**
+     * Returns the number of moves from the source to a cell.
+     *
+     * @param cell the cell index
+     * @return the distance, or {@link #UNREACHABLE}
+     */
+    public int distance(int cell) {
+        return distance[cell];
+    }
+
+    /**
+     * Returns the previous cell on a shortest path from the source.
+     *
+     * @param cell the cell index
+     * @return the parent cell, or {@link #NO_PARENT}
+     */
+    public int parent(int cell) {
+        return parent[cell];
+    }
+
+    /**
+     * Returns the cells reached by the last search, in order of distance.
+     * The first {@link #getReachedCount()} entries are valid.
+     *
+     * @param order the array receiving the cells
+     * @return the number of cells written
+     */
+    public int reachedCells(int[] order) {
+        System.arraycopy(queue, 0, order, 0, reachedCount);
+        return reachedCount;
+    }
+
+    /**
+     * Writes a shortest path from the source to a target, both included.
+     *
+     * @param target the target cell
+     * @param path   the array receiving the cells, from the source to the target
+     * @return the number of cells written, or 0 if the target is unreachable
+     * @throws IndexOutOfBoundsException if the path does not fit in the array
+     */
+    public int pathTo(int target, int[] path) {
+        if (target < 0 || target >= cellCount || distance[target] == UNREACHABLE) {
+            return 0;
+        }
+        int length = distance[target] + 1;
+        if (length > path.length) {
+            throw new IndexOutOfBoundsException("Path of " + length + " cells does not fit in " + path.length);
+        }
+        int cell = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+        return length;
+    }
+}
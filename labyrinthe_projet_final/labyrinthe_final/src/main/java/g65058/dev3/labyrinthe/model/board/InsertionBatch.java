@@ -0,0 +1,219 @@
+package g65058.dev3.labyrinthe.model.board;
+
+/**
+ * Every allowed insertion of a board with every distinct orientation of the
+ * spare tile, filled by {@link Board#evaluateInsertions(InsertionBatch)}.
+ * <p>
+ * A candidate is not a board copy: it only keeps the east and south
+ * connection masks of the board it would produce. Those are the masks of
+ * the current board with the bits of the pushed line replaced by the
+ * shifted line and the inserted spare tile, so the cells the insertion
+ * does not move are neither copied nor visited. Reachability on a
+ * candidate is then the same bit-parallel flood as on the board.
+ * <p>
+ * {@link #reachableMasks(int, long[])} floods every candidate at once. When
+ * the code is built with the {@code vector} profile and the JVM is started
+ * with {@code --add-modules jdk.incubator.vector}, it floods several
+ * candidates per instruction on the SIMD lanes of the processor (see
+ * {@link #isVectorized()}); otherwise it floods them one by one, as
+ * {@link #reachableMasksScalar(int, long[])} does.
+ * <p>
+ * A batch can be filled again and again without allocating. Like the cell
+ * masks of the board, it is only available on boards of at most 64 cells.
+ */
+public final class InsertionBatch {
+    private static final int ORIENTATIONS = 4;
+    // The SIMD flood, or null without the vector module or without the class built against it
+    private static final LaneFlood VECTOR_FLOOD = loadVectorFlood();
+
+    private final LaneFlood laneFlood;
+    private BoardGeometry geometry;
+    private int[] arrowIndices = new int[0];
+    private Direction[] orientations = new Direction[0];
+    private long[] eastLinks = new long[0];
+    private long[] southLinks = new long[0];
+    private int size;
+
+    /**
+     * Creates an empty batch, flooded on SIMD lanes when {@link #isVectorized()}.
+     */
+    public InsertionBatch() {
+        this(VECTOR_FLOOD);
+    }
+
+    /**
+     * Creates an empty batch with the given flood of several candidates.
+     *
+     * @param laneFlood the flood of several candidates at once, or null to flood them one by one
+     */
+    InsertionBatch(LaneFlood laneFlood) {
+        this.laneFlood = laneFlood;
+    }
+
+    /**
+     * Loads the SIMD flood by name, so that this class needs neither the
+     * vector module to run nor the {@code vector} profile to compile.
+     */
+    private static LaneFlood loadVectorFlood() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (LaneFlood) Class.forName(InsertionBatch.class.getPackageName() + ".VectorFlood")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // Built without the vector profile
+            return null;
+        }
+    }
+
+    /**
+     * Empties the batch before it is filled for a board.
+     */
+    void clear(BoardGeometry geometry) {
+        this.geometry = geometry;
+        int capacity = geometry.arrowCount * ORIENTATIONS;
+        if (arrowIndices.length < capacity) {
+            arrowIndices = new int[capacity];
+            orientations = new Direction[capacity];
+            eastLinks = new long[capacity];
+            southLinks = new long[capacity];
+        }
+        size = 0;
+    }
+
+    /**
+     * Adds a candidate with the connection masks of the board it produces.
+     */
+    void add(int arrowIndex, Direction orientation, long east, long south) {
+        arrowIndices[size] = arrowIndex;
+        orientations[size] = orientation;
+        eastLinks[size] = east;
+        southLinks[size] = south;
+        size++;
+    }
+
+    /**
+     * @return the number of candidates
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param candidate the candidate number, from 0 to {@link #size()} - 1
+     * @return the index of the candidate's arrow on the board
+     */
+    public int arrowIndex(int candidate) {
+        return arrowIndices[candidate];
+    }
+
+    /**
+     * @param candidate the candidate number
+     * @return the candidate's arrow
+     */
+    public Arrow arrow(int candidate) {
+        return geometry.arrows[arrowIndices[candidate]];
+    }
+
+    /**
+     * @param candidate the candidate number
+     * @return the orientation given to the spare tile before the insertion
+     */
+    public Direction orientation(int candidate) {
+        return orientations[candidate];
+    }
+
+    /**
+     * Returns where a cell ends up after the candidate's insertion.
+     *
+     * @param candidate the candidate number
+     * @param cell      the cell index on the current board
+     * @return the cell index on the candidate board
+     */
+    public int shiftedCell(int candidate, int cell) {
+        return geometry.shiftedCell[arrowIndices[candidate]][cell];
+    }
+
+    /**
+     * Returns the cells reachable on the candidate board from the cell a
+     * pawn is pushed to, as a mask like {@link Board#reachableMask(int)}.
+     *
+     * @param candidate the candidate number
+     * @param cell      the pawn's cell on the current board, before the shift
+     * @return the mask of cells reachable after the insertion
+     */
+    public long reachableMask(int candidate, int cell) {
+        return flood(1L << shiftedCell(candidate, cell), eastLinks[candidate], southLinks[candidate]);
+    }
+
+    /**
+     * Returns the cells reachable on every candidate board from the cell a
+     * pawn is pushed to, each as {@link #reachableMask(int, int)} would.
+     *
+     * @param cell  the pawn's cell on the current board, before the shift
+     * @param masks an array with room for {@link #size()} masks, or null
+     * @return the masks, by candidate, in the given array if it was large enough
+     */
+    public long[] reachableMasks(int cell, long[] masks) {
+        if (laneFlood == null) {
+            return reachableMasksScalar(cell, masks);
+        }
+        long[] reached = seed(cell, masks);
+        int left = laneFlood.flood(reached, eastLinks, southLinks, size, geometry.size);
+        for (int candidate = size - left; candidate < size; candidate++) {
+            reached[candidate] = flood(reached[candidate], eastLinks[candidate], southLinks[candidate]);
+        }
+        return reached;
+    }
+
+    /**
+     * Same as {@link #reachableMasks(int, long[])}, one candidate after the
+     * other, whether or not the batch is vectorized.
+     *
+     * @param cell  the pawn's cell on the current board, before the shift
+     * @param masks an array with room for {@link #size()} masks, or null
+     * @return the masks, by candidate, in the given array if it was large enough
+     */
+    public long[] reachableMasksScalar(int cell, long[] masks) {
+        long[] reached = seed(cell, masks);
+        for (int candidate = 0; candidate < size; candidate++) {
+            reached[candidate] = flood(reached[candidate], eastLinks[candidate], southLinks[candidate]);
+        }
+        return reached;
+    }
+
+    /**
+     * @return true if {@link #reachableMasks(int, long[])} runs on SIMD lanes in new batches
+     */
+    public static boolean isVectorized() {
+        return VECTOR_FLOOD != null;
+    }
+
+    /**
+     * Fills an array with the cell of the pawn on every candidate board.
+     */
+    private long[] seed(int cell, long[] masks) {
+        long[] reached = masks != null && masks.length >= size ? masks : new long[size];
+        for (int candidate = 0; candidate < size; candidate++) {
+            reached[candidate] = 1L << shiftedCell(candidate, cell);
+        }
+        return reached;
+    }
+
+    /**
+     * Grows a set of cells to the whole of their components.
+     */
+    private long flood(long reached, long east, long south) {
+        int step = geometry.size;
+        long previous;
+        do {
+            previous = reached;
+            reached |= (reached & east) << 1
+                    | (reached >>> 1) & east
+                    | (reached & south) << step
+                    | (reached >>> step) & south;
+        } while (reached != previous);
+        return reached;
+    }
+}
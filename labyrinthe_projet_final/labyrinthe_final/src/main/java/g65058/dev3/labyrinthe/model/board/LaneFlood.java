@@ -0,0 +1,20 @@
+package g65058.dev3.labyrinthe.model.board;
+
+/**
+ * A flood of several candidates of an {@link InsertionBatch} at once, as
+ * {@link VectorFlood} does on the SIMD lanes of the processor.
+ */
+interface LaneFlood {
+    /**
+     * Grows the seeds of a range of candidates to their components. The
+     * candidates it leaves are flooded one by one by the batch.
+     *
+     * @param reached the seed of each candidate, replaced by its component
+     * @param east    the east links of each candidate
+     * @param south   the south links of each candidate
+     * @param count   the number of candidates
+     * @param step    the board size, the shift between two rows
+     * @return the number of candidates left to the scalar flood, at the end of the arrays
+     */
+    int flood(long[] reached, long[] east, long[] south, int count, int step);
+}
@@ -1,16 +1,28 @@
 package g65058.dev3.labyrinthe.model.board;
 
-import java.util.Objects;
-
 /**
  * Represents a position on the game board with row and column coordinates.
+ * <p>
+ * Positions are immutable. {@link #of(int, int)} returns cached instances for
+ * on-board coordinates, so moving around the board allocates nothing.
+ * A position can also be packed into a cell index {@code row * size + col}
+ * (see {@link #toCell(int)} and {@link #ofCell(int, int)}), which is how the
+ * board addresses its cells.
  */
 public class Position {
+    /** Coordinates in [0, POOL_SIZE) are cached. */
+    private static final int POOL_SIZE = 32;
+    private static final Position[] POOL = createPool();
+
+    private static final int[] ROW_DELTA = {-1, 0, 1, 0};
+    private static final int[] COL_DELTA = {0, 1, 0, -1};
+
     private final int row;
     private final int col;
 
     /**
      * Creates a new position.
+     * Prefer {@link #of(int, int)}, which reuses cached instances.
      *
      * @param row the row index (0-based)
      * @param col the column index (0-based)
@@ -20,6 +32,41 @@ public class Position {
         this.col = col;
     }
 
+    private static Position[] createPool() {
+        Position[] pool = new Position[POOL_SIZE * POOL_SIZE];
+        for (int row = 0; row < POOL_SIZE; row++) {
+            for (int col = 0; col < POOL_SIZE; col++) {
+                pool[row * POOL_SIZE + col] = new Position(row, col);
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the position with the given coordinates.
+     *
+     * @param row the row index (0-based)
+     * @param col the column index (0-based)
+     * @return a cached position when the coordinates are on a board, a new one otherwise
+     */
+    public static Position of(int row, int col) {
+        if (row >= 0 && row < POOL_SIZE && col >= 0 && col < POOL_SIZE) {
+            return POOL[row * POOL_SIZE + col];
+        }
+        return new Position(row, col);
+    }
+
+    /**
+     * Returns the position of a packed cell index.
+     *
+     * @param cell the cell index ({@code row * size + col})
+     * @param size the board size
+     * @return the position of that cell
+     */
+    public static Position ofCell(int cell, int size) {
+        return of(cell / size, cell % size);
+    }
+
     /**
      * @return the row index
      */
@@ -34,6 +81,16 @@ public class Position {
         return col;
     }
 
+    /**
+     * Packs this position into a cell index.
+     *
+     * @param size the board size
+     * @return {@code row * size + col}
+     */
+    public int toCell(int size) {
+        return row * size + col;
+    }
+
     /**
      * Checks if this position is within the board boundaries.
      *
@@ -51,12 +108,8 @@ public class Position {
      * @return the new position
      */
     public Position move(Direction direction) {
-        return switch (direction) {
-            case NORTH -> new Position(row - 1, col);
-            case SOUTH -> new Position(row + 1, col);
-            case EAST -> new Position(row, col + 1);
-            case WEST -> new Position(row, col - 1);
-        };
+        int d = direction.ordinal();
+        return of(row + ROW_DELTA[d], col + COL_DELTA[d]);
     }
 
     @Override
@@ -68,7 +121,7 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return row * 31 + col;
     }
 
     @Override
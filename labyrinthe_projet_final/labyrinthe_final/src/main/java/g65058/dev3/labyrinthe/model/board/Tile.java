@@ -6,26 +6,132 @@ import java.util.Objects;
  * Represents a corridor tile in the labyrinth.
  * Each tile has a type (I, L, or T), an orientation, optionally an objective,
  * and can be fixed (immovable) or mobile.
+ * <p>
+ * Tiles are immutable flyweights: there is exactly one instance per
+ * (type, orientation, objective, fixed) combination, created when the class
+ * is loaded, and rotating a tile returns another flyweight. Boards, undo
+ * snapshots and AI simulations can therefore share tiles freely.
+ * The attributes are also packed into a single {@code int} code
+ * (see {@link #encode}) which the board stores instead of references.
  */
-public class Tile {
+public final class Tile {
+    /** Bits 0-3: one opening bit per {@link Direction} ordinal. */
+    static final int OPENINGS_MASK = 0xF;
+    private static final int ORIENTATION_SHIFT = 4;
+    private static final int TYPE_SHIFT = 6;
+    private static final int OBJECTIVE_SHIFT = 8;
+    private static final int FIXED_BIT = 1 << 13;
+
+    /** Openings of each tile type when oriented NORTH. */
+    private static final int[] BASE_OPENINGS = {
+            0b0101, // STRAIGHT: N, S
+            0b0011, // CORNER: N, E
+            0b1011  // T_JUNCTION: N, E, W
+    };
+
+    private static final Tile[] FLYWEIGHTS = createFlyweights();
+
+    private final int code;
     private final TileType type;
-    private Direction orientation;
+    private final Direction orientation;
     private final Objective objective;
     private final boolean fixed;
 
+    private Tile(int code, TileType type, Direction orientation, Objective objective, boolean fixed) {
+        this.code = code;
+        this.type = type;
+        this.orientation = orientation;
+        this.objective = objective;
+        this.fixed = fixed;
+    }
+
+    private static Tile[] createFlyweights() {
+        Tile[] tiles = new Tile[(FIXED_BIT << 1) >>> ORIENTATION_SHIFT];
+        for (TileType type : TileType.values()) {
+            for (Direction orientation : Direction.values()) {
+                for (boolean fixed : new boolean[]{false, true}) {
+                    tiles[encode(type, orientation, null, fixed) >>> ORIENTATION_SHIFT] =
+                            new Tile(encode(type, orientation, null, fixed), type, orientation, null, fixed);
+                    for (Objective objective : Objective.values()) {
+                        int code = encode(type, orientation, objective, fixed);
+                        tiles[code >>> ORIENTATION_SHIFT] = new Tile(code, type, orientation, objective, fixed);
+                    }
+                }
+            }
+        }
+        return tiles;
+    }
+
     /**
-     * Creates a new tile.
+     * Returns the tile with the given attributes.
      *
      * @param type        the tile type (STRAIGHT, CORNER, or T_JUNCTION)
      * @param orientation the direction the tile is facing
      * @param objective   the objective on this tile, or null if none
      * @param fixed       true if the tile cannot be moved
+     * @return the shared tile instance
      */
-    public Tile(TileType type, Direction orientation, Objective objective, boolean fixed) {
-        this.type = Objects.requireNonNull(type);
-        this.orientation = Objects.requireNonNull(orientation);
-        this.objective = objective;
-        this.fixed = fixed;
+    public static Tile of(TileType type, Direction orientation, Objective objective, boolean fixed) {
+        return fromCode(encode(Objects.requireNonNull(type), Objects.requireNonNull(orientation), objective, fixed));
+    }
+
+    /**
+     * Returns the tile for a packed code.
+     */
+    static Tile fromCode(int code) {
+        return FLYWEIGHTS[code >>> ORIENTATION_SHIFT];
+    }
+
+    /**
+     * Packs the attributes of a tile into a single code.
+     * The opening mask is derived from the type and orientation.
+     *
+     * @return the packed code
+     */
+    static int encode(TileType type, Direction orientation, Objective objective, boolean fixed) {
+        return openings(type, orientation)
+                | orientation.ordinal() << ORIENTATION_SHIFT
+                | type.ordinal() << TYPE_SHIFT
+                | objectiveBits(objective)
+                | (fixed ? FIXED_BIT : 0);
+    }
+
+    /**
+     * Returns the objective id held by a code.
+     *
+     * @param code the packed tile code
+     * @return the objective ordinal + 1, or 0 if the tile has no objective
+     */
+    static int objectiveId(int code) {
+        return code >>> OBJECTIVE_SHIFT & 0x1F;
+    }
+
+    /**
+     * Returns the bits of a code holding an objective, so that the objective
+     * can be ORed into the code of a tile without one.
+     *
+     * @param objective the objective, or null if none
+     * @return the objective bits (0 for none)
+     */
+    static int objectiveBits(Objective objective) {
+        return objective == null ? 0 : (objective.ordinal() + 1) << OBJECTIVE_SHIFT;
+    }
+
+    /**
+     * Returns the opening mask of a tile type in the given orientation.
+     * Rotating clockwise maps NORTH to EAST, so it is a 4-bit left rotation.
+     */
+    private static int openings(TileType type, Direction orientation) {
+        int base = BASE_OPENINGS[type.ordinal()];
+        int turns = orientation.ordinal();
+        return ((base << turns) | (base >>> (4 - turns))) & OPENINGS_MASK;
+    }
+
+    /**
+     * @return the packed code of this tile
+     */
+    int code() {
+        return code;
     }
 
     /**
@@ -64,24 +170,37 @@ public class Tile {
     }
 
     /**
-     * Rotates the tile 90 degrees clockwise.
-     * Has no effect on fixed tiles.
+     * Returns the openings of this tile as a 4-bit mask,
+     * with bit {@code d.ordinal()} set when the tile is open towards {@code d}.
+     *
+     * @return the opening mask
      */
-    public void rotateClockwise() {
-        if (!fixed) {
-            orientation = orientation.rotateClockwise();
-        }
+    public int getOpenings() {
+        return code & OPENINGS_MASK;
     }
 
     /**
-     * Sets the orientation of this tile (only for mobile tiles).
+     * Returns this tile rotated 90 degrees clockwise.
+     * Fixed tiles are returned unchanged.
+     *
+     * @return the rotated tile
+     */
+    public Tile rotateClockwise() {
+        return withOrientation(orientation.rotateClockwise());
+    }
+
+    /**
+     * Returns this tile with the given orientation (only for mobile tiles).
+     * Fixed tiles are returned unchanged.
      *
      * @param newOrientation the new orientation
+     * @return the tile with that orientation
      */
-    public void setOrientation(Direction newOrientation) {
-        if (!fixed) {
-            this.orientation = newOrientation;
+    public Tile withOrientation(Direction newOrientation) {
+        if (fixed) {
+            return this;
         }
+        return of(type, newOrientation, objective, false);
     }
 
     /**
@@ -91,74 +210,34 @@ public class Tile {
      * @return true if the tile has an opening in that direction
      */
     public boolean isOpenTo(Direction direction) {
-        return !hasWallAt(direction);
+        return (code & (1 << direction.ordinal())) != 0;
     }
 
     /**
      * Checks if this tile has a wall (no opening) in the given direction.
+     * <ul>
+     *     <li>Straight (I): walls on the two sides perpendicular to the orientation</li>
+     *     <li>Corner (L): the orientation and the next clockwise side are open</li>
+     *     <li>T-junction (T): a single wall opposite to the orientation</li>
+     * </ul>
      *
      * @param direction the direction to check
      * @return true if there is a wall in that direction
      */
     public boolean hasWallAt(Direction direction) {
-        return switch (type) {
-            case STRAIGHT -> hasWallAtStraight(direction);
-            case CORNER -> hasWallAtCorner(direction);
-            case T_JUNCTION -> hasWallAtTJunction(direction);
-        };
-    }
-
-    /**
-     * Straight tile (I): walls on the perpendicular sides.
-     * E.g., orientation NORTH means openings N/S, walls E/W.
-     */
-    private boolean hasWallAtStraight(Direction direction) {
-        Direction wall1 = orientation.rotate(1); // 90 degrees clockwise
-        Direction wall2 = orientation.rotate(3); // 270 degrees clockwise (= 90 counter-clockwise)
-        return direction == wall1 || direction == wall2;
-    }
-
-    /**
-     * Corner tile (L): two adjacent openings.
-     * Orientation indicates one opening, the next clockwise is the other opening.
-     */
-    private boolean hasWallAtCorner(Direction direction) {
-        Direction wall1 = orientation.rotate(2); // opposite
-        Direction wall2 = orientation.rotate(3); // 270 degrees
-        return direction == wall1 || direction == wall2;
-    }
-
-    /**
-     * T-junction tile (T): three openings, one wall.
-     * The wall is opposite to the orientation.
-     */
-    private boolean hasWallAtTJunction(Direction direction) {
-        Direction wall = orientation.rotate(2); // opposite direction
-        return direction == wall;
-    }
-
-    /**
-     * Creates a deep copy of this tile.
-     *
-     * @return a copy of this tile
-     */
-    public Tile copy() {
-        return new Tile(type, orientation, objective, fixed);
+        return !isOpenTo(direction);
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof Tile other)) return false;
-        return type == other.type
-                && orientation == other.orientation
-                && objective == other.objective
-                && fixed == other.fixed;
+        return code == other.code;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, orientation, objective, fixed);
+        return code;
     }
 
     @Override
@@ -0,0 +1,41 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The flood of {@link InsertionBatch#reachableMasks(int, long[])} on the
+ * SIMD lanes of the processor: each lane holds the reached cells of one
+ * candidate board, and every step grows all of them at once. A group of
+ * lanes stops when none of its candidates grows any more.
+ * <p>
+ * This class uses the incubating {@code jdk.incubator.vector} module. It is
+ * only compiled by the {@code vector} build profile, and the batch loads it
+ * by name, only when the module is present.
+ */
+final class VectorFlood implements LaneFlood {
+    VectorFlood() {
+    }
+
+    @Override
+    public int flood(long[] reached, long[] east, long[] south, int count, int step) {
+        VectorSpecies<Long> species = LongVector.SPECIES_PREFERRED;
+        int bound = species.loopBound(count);
+        for (int i = 0; i < bound; i += species.length()) {
+            LongVector eastLinks = LongVector.fromArray(species, east, i);
+            LongVector southLinks = LongVector.fromArray(species, south, i);
+            LongVector cells = LongVector.fromArray(species, reached, i);
+            LongVector previous;
+            do {
+                previous = cells;
+                cells = cells.or(cells.and(eastLinks).lanewise(VectorOperators.LSHL, 1))
+                        .or(cells.lanewise(VectorOperators.LSHR, 1).and(eastLinks))
+                        .or(cells.and(southLinks).lanewise(VectorOperators.LSHL, step))
+                        .or(cells.lanewise(VectorOperators.LSHR, step).and(southLinks));
+            } while (!cells.eq(previous).allTrue());
+            cells.intoArray(reached, i);
+        }
+        return count - bound;
+    }
+}
@@ -0,0 +1,161 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of game states.
+ * <p>
+ * A state hash is the XOR of one key per feature of the state: the shape
+ * (type and orientation) and the objective of the tile on every cell and of
+ * the spare tile, the last insertion arrow, each pawn's cell, each player's
+ * number of remaining objectives and the player to move. Changing a feature
+ * XORs its old key out and its new key in, so the hash is updated in a few
+ * operations instead of being recomputed.
+ * <p>
+ * There is one set of keys per board size (see {@link #of(int)}), drawn from
+ * a fixed seed, so hashes are stable between runs.
+ */
+public final class Zobrist {
+    /** Number of players covered by the pawn and objective keys. */
+    public static final int MAX_PLAYERS = 4;
+
+    private static final Zobrist[] CACHE = new Zobrist[Board.MAX_SIZE + 1];
+    private static final long SEED = 0x5EED_1AB1_2177_0001L;
+
+    private static final int SHAPES = 16;
+    private static final int OBJECTIVE_IDS = 32;
+    private static final int SHAPE_SHIFT = 4;
+    private static final int OBJECTIVE_SHIFT = 8;
+    private static final int PROGRESS_STEPS = Objective.values().length + 1;
+
+    private final int cells;
+    private final long[] shape;
+    private final long[] objective;
+    private final long[] lastArrow;
+    private final long[] pawn;
+    private final long[] remaining;
+    private final long[] toMove;
+
+    private Zobrist(int size) {
+        BoardGeometry geometry = BoardGeometry.of(size);
+        SplittableRandom random = new SplittableRandom(SEED + size);
+        this.cells = geometry.cellCount;
+        this.shape = keys(random, (cells + 1) * SHAPES);
+        this.objective = keys(random, (cells + 1) * OBJECTIVE_IDS);
+        this.lastArrow = keys(random, geometry.arrowCount + 1);
+        this.pawn = keys(random, MAX_PLAYERS * cells);
+        this.remaining = keys(random, MAX_PLAYERS * PROGRESS_STEPS);
+        this.toMove = keys(random, MAX_PLAYERS);
+
+        // A missing objective is not a feature
+        for (int cell = 0; cell <= cells; cell++) {
+            objective[cell * OBJECTIVE_IDS] = 0;
+        }
+    }
+
+    /**
+     * Returns the keys for boards of the given size.
+     *
+     * @param size the board size
+     * @return the shared keys for that size
+     */
+    public static synchronized Zobrist of(int size) {
+        BoardGeometry.of(size);
+        if (CACHE[size] == null) {
+            CACHE[size] = new Zobrist(size);
+        }
+        return CACHE[size];
+    }
+
+    private static long[] keys(SplittableRandom random, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the key of a tile lying on a cell.
+     *
+     * @param cell the cell index
+     * @param code the packed tile code
+     */
+    long tile(int cell, int code) {
+        return shape[cell * SHAPES + (code >>> SHAPE_SHIFT & SHAPES - 1)]
+                ^ objective[cell * OBJECTIVE_IDS + (code >>> OBJECTIVE_SHIFT & OBJECTIVE_IDS - 1)];
+    }
+
+    /**
+     * Returns the key of the spare tile.
+     *
+     * @param code the packed tile code
+     */
+    long spare(int code) {
+        return tile(cells, code);
+    }
+
+    /**
+     * Returns the key of a tile lying on a cell.
+     *
+     * @param cell the cell index
+     * @param tile the tile
+     * @return the key for that tile on that cell
+     */
+    public long tile(int cell, Tile tile) {
+        return tile(cell, tile.code());
+    }
+
+    /**
+     * Returns the key of the spare tile.
+     *
+     * @param tile the spare tile
+     * @return the key for that spare tile
+     */
+    public long spare(Tile tile) {
+        return spare(tile.code());
+    }
+
+    /**
+     * Returns the key of the last insertion.
+     *
+     * @param index the arrow index, or -1 if there was none
+     * @return the key for that arrow
+     */
+    public long lastArrow(int index) {
+        return lastArrow[index + 1];
+    }
+
+    /**
+     * Returns the key of a player's pawn standing on a cell.
+     *
+     * @param player the player id
+     * @param cell   the cell index
+     * @return the key for that pawn position
+     */
+    public long pawn(int player, int cell) {
+        return pawn[player * cells + cell];
+    }
+
+    /**
+     * Returns the key of a player's progress, i.e. the index of the current
+     * objective in the player's stack.
+     *
+     * @param player    the player id
+     * @param remaining the number of objectives left to the player
+     * @return the key for that progress
+     */
+    public long remaining(int player, int remaining) {
+        return this.remaining[player * PROGRESS_STEPS + remaining];
+    }
+
+    /**
+     * Returns the key of the player to move.
+     *
+     * @param player the player id
+     * @return the key for that player's turn
+     */
+    public long toMove(int player) {
+        return toMove[player];
+    }
+}
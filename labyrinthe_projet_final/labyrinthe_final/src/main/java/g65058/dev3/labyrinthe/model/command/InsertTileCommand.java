@@ -17,9 +17,7 @@ public class InsertTileCommand implements Command {
     private final Direction spareTileOrientation;
 
     // State for undo
-    private Tile[][] previousTiles;
-    private Tile previousSpareTile;
-    private Arrow previousLastArrow;
+    private Board previousBoard;
     private Map<Integer, Position> previousPlayerPositions;
 
     /**
@@ -37,16 +35,8 @@ public class InsertTileCommand implements Command {
 
     @Override
     public void execute() {
-        // Save state before execution
-        Board board = game.getBoard();
-        previousTiles = new Tile[Board.SIZE][Board.SIZE];
-        for (int r = 0; r < Board.SIZE; r++) {
-            for (int c = 0; c < Board.SIZE; c++) {
-                previousTiles[r][c] = board.getTile(r, c).copy();
-            }
-        }
-        previousSpareTile = board.getSpareTile().copy();
-        previousLastArrow = board.getLastArrow();
+        // Save state before execution (copies share their rows until written)
+        previousBoard = game.getBoard().copy();
 
         // Save player positions
         previousPlayerPositions = new HashMap<>();
@@ -61,7 +51,7 @@ public class InsertTileCommand implements Command {
     @Override
     public void undo() {
         // Restore board state
-        game.restoreBoardState(previousTiles, previousSpareTile, previousLastArrow);
+        game.restoreBoard(previousBoard);
 
         // Restore player positions
         for (Player player : game.getPlayers()) {
@@ -2,11 +2,20 @@ package g65058.dev3.labyrinthe.model.game;
 
 import g65058.dev3.labyrinthe.model.board.*;
 import g65058.dev3.labyrinthe.model.command.*;
+import g65058.dev3.labyrinthe.model.ai.BookStrategy;
+import g65058.dev3.labyrinthe.model.ai.CancellationToken;
+import g65058.dev3.labyrinthe.model.ai.GreedyStrategy;
+import g65058.dev3.labyrinthe.model.ai.MctsStrategy;
+import g65058.dev3.labyrinthe.model.ai.OpeningBook;
+import g65058.dev3.labyrinthe.model.ai.Ponderer;
+import g65058.dev3.labyrinthe.model.ai.SearchStrategy;
 import g65058.dev3.labyrinthe.model.ai.Strategy;
 import g65058.dev3.labyrinthe.model.ai.RandomStrategy;
 import g65058.dev3.labyrinthe.model.observer.Observer;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Facade for the Labyrinth game model.
@@ -14,10 +23,23 @@ import java.util.List;
  * Ensures game rules are enforced and prevents invalid operations.
  */
 public class LabyrinthFacade {
+    /** Default time limit of a robot's move, in milliseconds. */
+    public static final long DEFAULT_AI_TIME_LIMIT_MILLIS = 1000;
+
+    private static final System.Logger LOGGER = System.getLogger(LabyrinthFacade.class.getName());
+
     private LabyrinthGame game;
     private final CommandHistory commandHistory;
     private InsertTileCommand pendingInsertCommand;
     private final java.util.List<Observer> pendingObservers;
+    private long aiTimeLimitMillis = DEFAULT_AI_TIME_LIMIT_MILLIS;
+    // The robot move being chosen, and the state it is chosen for
+    private CancellationToken aiCancellation;
+    private long aiStateHash;
+    // Replies prepared by the robots during the other players' turns
+    private Ponderer ponderer;
+    private CancellationToken ponderCancellation;
+    private OpeningBook openingBook;
 
     /**
      * Creates a new facade.
@@ -30,13 +52,48 @@ public class LabyrinthFacade {
     /**
      * Starts a new game with the specified settings.
      *
-     * @param humanPlayerCount  number of human players (1-4)
-     * @param aiDifficulty      AI difficulty level (0 = random)
+     * @param humanPlayerCount  number of human players (0-4)
+     * @param aiDifficulty      AI difficulty level (0 = random, 1 = greedy, 2 = search, 3 = Monte Carlo)
      * @param simplifiedVersion true for simplified win condition
      */
     public void startNewGame(int humanPlayerCount, int aiDifficulty, boolean simplifiedVersion) {
-        Strategy aiStrategy = createStrategy(aiDifficulty);
-        game = new LabyrinthGame(humanPlayerCount, aiStrategy, simplifiedVersion);
+        startNewGame(humanPlayerCount, aiDifficulty, simplifiedVersion, Board.SIZE);
+    }
+
+    /**
+     * Starts a new game on a board of the given size.
+     *
+     * @param humanPlayerCount  number of human players (0-4)
+     * @param aiDifficulty      AI difficulty level (0 = random, 1 = greedy, 2 = search, 3 = Monte Carlo)
+     * @param simplifiedVersion true for simplified win condition
+     * @param boardSize         the board size, odd, from {@link Board#MIN_SIZE} to {@link Board#MAX_SIZE}
+     */
+    public void startNewGame(int humanPlayerCount, int aiDifficulty, boolean simplifiedVersion, int boardSize) {
+        Strategy aiStrategy = createStrategy(aiDifficulty, boardSize);
+        startNewGame(aiStrategy, new LabyrinthGame(humanPlayerCount, aiStrategy, simplifiedVersion, boardSize));
+    }
+
+    /**
+     * Starts a new game dealt from a seed, always the same for the same
+     * seed, so that the robots may play from the opening book.
+     *
+     * @param humanPlayerCount  number of human players (0-4)
+     * @param aiDifficulty      AI difficulty level (0 = random, 1 = greedy, 2 = search, 3 = Monte Carlo)
+     * @param simplifiedVersion true for simplified win condition
+     * @param boardSize         the board size, odd, from {@link Board#MIN_SIZE} to {@link Board#MAX_SIZE}
+     * @param seed              the seed of the deal
+     */
+    public void startNewGame(int humanPlayerCount, int aiDifficulty, boolean simplifiedVersion, int boardSize,
+                             long seed) {
+        Strategy aiStrategy = createStrategy(aiDifficulty, boardSize);
+        startNewGame(aiStrategy, new LabyrinthGame(humanPlayerCount, aiStrategy, simplifiedVersion, boardSize, seed));
+    }
+
+    private void startNewGame(Strategy aiStrategy, LabyrinthGame newGame) {
+        cancelAITurn();
+        cancelPondering();
+        ponderer = new Ponderer(aiStrategy, newGame.isSimplifiedVersion());
+        game = newGame;
         commandHistory.clear();
         pendingInsertCommand = null;
         
@@ -49,11 +106,32 @@ public class LabyrinthFacade {
     }
 
     /**
-     * Creates an AI strategy based on difficulty level.
+     * Creates an AI strategy based on difficulty level. The searching
+     * levels read the opening book first, if it is for the board size.
+     */
+    private Strategy createStrategy(int difficulty, int boardSize) {
+        if (difficulty <= 0) {
+            return new RandomStrategy();
+        }
+        Strategy strategy = switch (difficulty) {
+            case 1 -> new GreedyStrategy();
+            case 2 -> new SearchStrategy();
+            default -> new MctsStrategy();
+        };
+        if (difficulty >= 2 && openingBook != null && openingBook.getBoardSize() == boardSize) {
+            strategy = new BookStrategy(openingBook, strategy);
+        }
+        return strategy;
+    }
+
+    /**
+     * Sets the opening book of the searching robots, from the next game on.
+     * The facade does not close it.
+     *
+     * @param book the book, or null for none
      */
-    private Strategy createStrategy(int difficulty) {
-        // Currently only random strategy is implemented
-        return new RandomStrategy();
+    public void setOpeningBook(OpeningBook book) {
+        this.openingBook = book;
     }
 
     /**
@@ -145,7 +223,7 @@ public class LabyrinthFacade {
      */
     public void rotateSpareTile() {
         if (game != null && getState() == GameState.WAITING_INSERT) {
-            game.getBoard().getSpareTile().rotateClockwise();
+            game.getBoard().rotateSpareTile();
         }
     }
 
@@ -222,6 +300,19 @@ public class LabyrinthFacade {
         return game != null && game.canMove(destination);
     }
 
+    /**
+     * Returns the corridor path the current player would walk to a destination.
+     *
+     * @param destination the target position
+     * @return the positions from the player to the destination, or an empty list if unreachable
+     */
+    public List<Position> getPathTo(Position destination) {
+        if (game == null) {
+            return List.of();
+        }
+        return game.getBoard().shortestPath(game.getCurrentPlayer().getPosition(), destination);
+    }
+
     /**
      * Moves the current player to the given position.
      * This is the second phase of a turn.
@@ -316,6 +407,8 @@ public class LabyrinthFacade {
      * Abandons the current game.
      */
     public void abandon() {
+        cancelAITurn();
+        cancelPondering();
         if (game != null) {
             game.abandon();
             commandHistory.clear();
@@ -342,6 +435,8 @@ public class LabyrinthFacade {
      * Undoes the last turn.
      */
     public void undo() {
+        cancelAITurn();
+        cancelPondering();
         if (canUndo()) {
             commandHistory.undo();
         }
@@ -351,6 +446,8 @@ public class LabyrinthFacade {
      * Redoes the last undone turn.
      */
     public void redo() {
+        cancelAITurn();
+        cancelPondering();
         if (canRedo()) {
             commandHistory.redo();
         }
@@ -358,29 +455,161 @@ public class LabyrinthFacade {
 
     // ==================== AI Support ====================
 
+    /**
+     * Sets the time a robot may take to choose its move. The strategies
+     * keep their own budgets; the limit only cuts longer searches short.
+     *
+     * @param millis the time limit, in milliseconds
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public void setAITimeLimit(long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("Time limit must be positive");
+        }
+        aiTimeLimitMillis = millis;
+    }
+
+    /**
+     * @return the time a robot may take to choose its move, in milliseconds
+     */
+    public long getAITimeLimit() {
+        return aiTimeLimitMillis;
+    }
+
     /**
      * Executes the AI's turn if the current player is a robot.
      */
     public void playAITurn() {
-        if (!isCurrentPlayerRobot() || !isGameRunning()) {
-            return;
-        }
+        applyAIMove(requestAIMove(Runnable::run).join());
+    }
 
-        Player player = getCurrentPlayer();
-        Strategy strategy = player.getStrategy();
-        if (strategy == null) {
-            return;
+    /**
+     * Starts choosing the current robot's move on an executor, within the
+     * time limit, on copies of the board and players taken on the calling
+     * thread. The move is played by
+     * {@link #applyAIMove(Move)}, back on the thread that drives the game.
+     * Undoing, redoing, abandoning or starting a game cancels the search.
+     * A reply prepared by {@link #requestPondering(Executor)} for the very
+     * position is returned at once. If the search fails, the error is
+     * logged and the robot plays the greedy move instead.
+     * <p>
+     * The robots share their strategy, so the executor must run one search
+     * at a time.
+     *
+     * @param executor the executor running the search
+     * @return the chosen move, or null if no robot is to play or the search was cancelled
+     */
+    public CompletableFuture<Move> requestAIMove(Executor executor) {
+        cancelAITurn();
+        cancelPondering();
+        if (!isCurrentPlayerRobot() || !isGameRunning() || getCurrentPlayer().getStrategy() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Player[] players = game.getPlayers();
+        Strategy strategy = getCurrentPlayer().getStrategy();
+        Board board = game.getBoard().copy();
+        // The search reads copies: undo and redo change the players meanwhile
+        Player[] snapshot = Ponderer.snapshot(board, players);
+        Player player = snapshot[game.getCurrentPlayerIndex()];
+        long timeLimitNanos = aiTimeLimitMillis * 1_000_000;
+        CancellationToken cancellation = new CancellationToken();
+        aiCancellation = cancellation;
+        aiStateHash = game.getStateHash();
+
+        Move anticipated = ponderer.lookup(aiStateHash);
+        if (anticipated != null) {
+            return CompletableFuture.completedFuture(anticipated);
         }
+        return CompletableFuture.supplyAsync(() -> {
+            if (cancellation.isCancelled()) {
+                return null;
+            }
+            strategy.setPlayers(snapshot);
+            Move move;
+            try {
+                move = strategy.chooseMove(board, player, board.getSpareTile(),
+                        System.nanoTime() + timeLimitNanos, cancellation);
+            } catch (RuntimeException e) {
+                // A failed search must not stall the game: the robot plays the greedy move
+                LOGGER.log(System.Logger.Level.WARNING, "AI search failed, playing the greedy move", e);
+                move = new GreedyStrategy().chooseMove(board, player, board.getSpareTile());
+            } finally {
+                strategy.setPlayers(players);
+            }
+            return cancellation.isCancelled() ? null : move;
+        }, executor);
+    }
 
-        Move move = strategy.chooseMove(game.getBoard(), player, getSpareTile());
+    /**
+     * Plays a robot move from {@link #requestAIMove(Executor)}, unless its
+     * search was cancelled or the game changed meanwhile.
+     *
+     * @param move the move, or null
+     * @return true if the move was played
+     */
+    public boolean applyAIMove(Move move) {
+        if (move == null || aiCancellation == null || aiCancellation.isCancelled()
+                || !isGameRunning() || game.getStateHash() != aiStateHash) {
+            return false;
+        }
+        aiCancellation = null;
 
         // Apply the rotation
-        Tile spare = getSpareTile();
-        while (spare.getOrientation() != move.getTileRotation()) {
-            spare.rotateClockwise();
-        }
+        game.getBoard().setSpareOrientation(move.getTileRotation());
 
         // Execute the turn
         playTurn(move.getInsertArrow(), move.getDestination());
+        return true;
+    }
+
+    /**
+     * Cancels the search of the robot move under way, if any.
+     */
+    public void cancelAITurn() {
+        if (aiCancellation != null) {
+            aiCancellation.cancel();
+            aiCancellation = null;
+        }
+    }
+
+    /**
+     * Starts pondering on an executor while a human chooses a move: if the
+     * next player is a robot, its replies to the human's likely moves are
+     * prepared, so that it may answer at once. Pondering goes on until the
+     * robot's turn, an undo, a redo, an abandon or a new game.
+     * <p>
+     * The executor must be the one of {@link #requestAIMove(Executor)},
+     * running one task at a time.
+     *
+     * @param executor the executor running the pondering
+     * @return the pondering, which completes when every likely move is answered or on cancellation
+     */
+    public CompletableFuture<Void> requestPondering(Executor executor) {
+        cancelPondering();
+        if (game == null || getState() != GameState.WAITING_INSERT || isCurrentPlayerRobot()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CancellationToken cancellation = new CancellationToken();
+        ponderCancellation = cancellation;
+        Runnable pondering = ponderer.prepare(game.getBoard(), game.getPlayers(), game.getCurrentPlayerIndex(),
+                cancellation);
+        return CompletableFuture.runAsync(pondering, executor);
+    }
+
+    /**
+     * Stops the pondering under way, if any. The replies already prepared are kept.
+     */
+    public void cancelPondering() {
+        if (ponderCancellation != null) {
+            ponderCancellation.cancel();
+            ponderCancellation = null;
+        }
+    }
+
+    /**
+     * @return the robots' ponderer, or null before the first game
+     */
+    public Ponderer getPonderer() {
+        return ponderer;
     }
 }
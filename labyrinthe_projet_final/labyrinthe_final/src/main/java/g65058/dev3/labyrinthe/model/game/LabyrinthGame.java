@@ -23,16 +23,50 @@ public class LabyrinthGame implements Observable {
     /**
      * Creates a new game with the specified number of human players.
      *
-     * @param humanPlayerCount number of human players (1-4)
+     * @param humanPlayerCount number of human players (0-4)
      * @param aiStrategy       strategy for AI players
      * @param simplifiedVersion true for simplified end condition (no return to start)
      */
     public LabyrinthGame(int humanPlayerCount, Strategy aiStrategy, boolean simplifiedVersion) {
-        if (humanPlayerCount < 1 || humanPlayerCount > 4) {
-            throw new IllegalArgumentException("Must have 1-4 players");
+        this(humanPlayerCount, aiStrategy, simplifiedVersion, Board.SIZE);
+    }
+
+    /**
+     * Creates a new game on a board of the given size.
+     *
+     * @param humanPlayerCount number of human players (0-4)
+     * @param aiStrategy       strategy for AI players
+     * @param simplifiedVersion true for simplified end condition (no return to start)
+     * @param boardSize        the board size, odd, from {@link Board#MIN_SIZE} to {@link Board#MAX_SIZE}
+     */
+    public LabyrinthGame(int humanPlayerCount, Strategy aiStrategy, boolean simplifiedVersion, int boardSize) {
+        this(humanPlayerCount, aiStrategy, simplifiedVersion, new Board(boardSize), new Random());
+    }
+
+    /**
+     * Creates a new game dealt from a seed: the same seed always gives the
+     * same board and objective cards, so that early positions repeat from
+     * game to game (see {@link g65058.dev3.labyrinthe.model.ai.OpeningBook}).
+     *
+     * @param humanPlayerCount number of human players (0-4)
+     * @param aiStrategy       strategy for AI players
+     * @param simplifiedVersion true for simplified end condition (no return to start)
+     * @param boardSize        the board size, odd, from {@link Board#MIN_SIZE} to {@link Board#MAX_SIZE}
+     * @param seed             the seed of the deal
+     */
+    public LabyrinthGame(int humanPlayerCount, Strategy aiStrategy, boolean simplifiedVersion, int boardSize,
+                         long seed) {
+        this(humanPlayerCount, aiStrategy, simplifiedVersion, new BoardGenerator(boardSize).generate(seed),
+                new Random(seed));
+    }
+
+    private LabyrinthGame(int humanPlayerCount, Strategy aiStrategy, boolean simplifiedVersion, Board board,
+                          Random cardShuffle) {
+        if (humanPlayerCount < 0 || humanPlayerCount > 4) {
+            throw new IllegalArgumentException("Must have 0-4 human players");
         }
 
-        this.board = new Board();
+        this.board = board;
         this.players = new Player[4];
         this.currentPlayerIndex = 0;
         this.state = GameState.NOT_STARTED;
@@ -40,19 +74,19 @@ public class LabyrinthGame implements Observable {
         this.observers = new ArrayList<>();
         this.simplifiedVersion = simplifiedVersion;
 
-        initializePlayers(humanPlayerCount, aiStrategy);
+        initializePlayers(humanPlayerCount, aiStrategy, cardShuffle);
     }
 
     /**
      * Initializes players with their objective cards.
      */
-    private void initializePlayers(int humanCount, Strategy aiStrategy) {
+    private void initializePlayers(int humanCount, Strategy aiStrategy, Random cardShuffle) {
         // Create and shuffle objective cards
         List<ObjectiveCard> allCards = new ArrayList<>();
         for (Objective obj : Objective.values()) {
             allCards.add(new ObjectiveCard(obj));
         }
-        Collections.shuffle(allCards);
+        Collections.shuffle(allCards, cardShuffle);
 
         // Distribute cards equally (6 cards each for 4 players)
         int cardsPerPlayer = allCards.size() / 4;
@@ -69,7 +103,11 @@ public class LabyrinthGame implements Observable {
             boolean isRobot = i >= humanCount;
             Strategy strategy = isRobot ? aiStrategy : null;
 
-            players[i] = new Player(i, names[i], colors[i], playerCards, strategy, isRobot);
+            players[i] = new Player(i, names[i], colors[i], playerCards, strategy, isRobot, board.getSize());
+        }
+        if (aiStrategy != null) {
+            aiStrategy.setPlayers(players);
+            aiStrategy.setSimplifiedVersion(simplifiedVersion);
         }
     }
 
@@ -125,6 +163,41 @@ public class LabyrinthGame implements Observable {
         this.currentPlayerIndex = index;
     }
 
+    /**
+     * Returns the Zobrist hash of the game state: tiles, spare tile, last
+     * arrow, pawn positions, each player's progress and the player to move.
+     * The board and the players maintain their parts incrementally, so this
+     * only combines them.
+     *
+     * @return the 64-bit state hash
+     */
+    public long getStateHash() {
+        long hash = board.getHash() ^ Zobrist.of(board.getSize()).toMove(currentPlayerIndex);
+        for (Player player : players) {
+            hash ^= player.hash();
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the state hash from scratch, for checking the incremental one.
+     */
+    long recomputeStateHash() {
+        Zobrist zobrist = Zobrist.of(board.getSize());
+        Arrow last = board.getLastArrow();
+        long hash = zobrist.toMove(currentPlayerIndex)
+                ^ zobrist.spare(board.getSpareTile())
+                ^ zobrist.lastArrow(last == null ? -1 : board.arrowIndex(last));
+        for (int cell = 0; cell < board.getSize() * board.getSize(); cell++) {
+            hash ^= zobrist.tile(cell, board.getTile(board.positionOf(cell)));
+        }
+        for (Player player : players) {
+            hash ^= zobrist.pawn(player.getId(), board.cellOf(player.getPosition()))
+                    ^ zobrist.remaining(player.getId(), player.getRemainingObjectives());
+        }
+        return hash;
+    }
+
     /**
      * @return the ID of the winner, or -1 if no winner yet
      */
@@ -139,6 +212,13 @@ public class LabyrinthGame implements Observable {
         return state == GameState.FINISHED || state == GameState.ABORTED;
     }
 
+    /**
+     * @return true if the game ends once a player's objectives are found, without going home
+     */
+    public boolean isSimplifiedVersion() {
+        return simplifiedVersion;
+    }
+
     /**
      * Checks if a tile insertion is valid.
      *
@@ -160,7 +240,7 @@ public class LabyrinthGame implements Observable {
             return false;
         }
         Player player = getCurrentPlayer();
-        return board.getReachablePositions(player.getPosition()).contains(destination);
+        return board.isReachable(player.getPosition(), destination);
     }
 
     /**
@@ -171,7 +251,7 @@ public class LabyrinthGame implements Observable {
      */
     public void performInsertion(Arrow arrow, Direction orientation) {
         // Set spare tile orientation
-        board.getSpareTile().setOrientation(orientation);
+        board.setSpareOrientation(orientation);
 
         // Update player positions if they are on the affected row/column
         updatePlayerPositionsForShift(arrow);
@@ -185,53 +265,11 @@ public class LabyrinthGame implements Observable {
 
     /**
      * Updates player positions when a row/column shifts.
+     * A player pushed off the board wraps to the inserted tile.
      */
     private void updatePlayerPositionsForShift(Arrow arrow) {
-        int size = Board.SIZE;
-        Direction dir = arrow.getInsertDirection();
-
         for (Player player : players) {
-            Position pos = player.getPosition();
-            int row = pos.getRow();
-            int col = pos.getCol();
-
-            boolean affected = false;
-            int newRow = row;
-            int newCol = col;
-
-            if (arrow.isHorizontal() && row == arrow.getRow()) {
-                // Horizontal shift
-                if (dir == Direction.EAST) {
-                    newCol = col + 1;
-                    if (newCol >= size) {
-                        newCol = 0; // Wrap to inserted tile position
-                    }
-                } else { // WEST
-                    newCol = col - 1;
-                    if (newCol < 0) {
-                        newCol = size - 1;
-                    }
-                }
-                affected = true;
-            } else if (!arrow.isHorizontal() && col == arrow.getCol()) {
-                // Vertical shift
-                if (dir == Direction.SOUTH) {
-                    newRow = row + 1;
-                    if (newRow >= size) {
-                        newRow = 0;
-                    }
-                } else { // NORTH
-                    newRow = row - 1;
-                    if (newRow < 0) {
-                        newRow = size - 1;
-                    }
-                }
-                affected = true;
-            }
-
-            if (affected) {
-                player.setPosition(new Position(newRow, newCol));
-            }
+            player.setPosition(arrow.shift(player.getPosition(), board.getSize()));
         }
     }
 
@@ -245,13 +283,8 @@ public class LabyrinthGame implements Observable {
         player.setPosition(destination);
 
         // Check if objective is achieved
-        Tile tile = board.getTile(destination);
-        if (tile.hasObjective()) {
-            Objective tileObjective = tile.getObjective();
-            Objective playerObjective = player.getCurrentObjectiveType();
-            if (tileObjective == playerObjective) {
-                player.achieveObjective();
-            }
+        if (isOnObjective(player.getCurrentObjectiveType(), destination)) {
+            player.achieveObjective();
         }
 
         // Check for win condition
@@ -271,12 +304,14 @@ public class LabyrinthGame implements Observable {
      * Checks if a move would achieve the current objective.
      */
     public boolean wouldAchieveObjective(Position destination) {
-        Player player = getCurrentPlayer();
-        Tile tile = board.getTile(destination);
-        if (!tile.hasObjective()) {
-            return false;
-        }
-        return tile.getObjective() == player.getCurrentObjectiveType();
+        return isOnObjective(getCurrentPlayer().getCurrentObjectiveType(), destination);
+    }
+
+    /**
+     * Checks with the board's objective index if an objective lies on a position.
+     */
+    private boolean isOnObjective(Objective objective, Position position) {
+        return objective != null && board.locateCell(objective) == board.cellOf(position);
     }
 
     /**
@@ -304,6 +339,29 @@ public class LabyrinthGame implements Observable {
         return board.getReachablePositions(getCurrentPlayer().getPosition());
     }
 
+    /**
+     * Returns positions reachable by any player on the current board,
+     * whatever the game phase.
+     *
+     * @param player the player
+     * @return list of reachable positions
+     */
+    public List<Position> getReachablePositions(Player player) {
+        return board.getReachablePositions(player.getPosition());
+    }
+
+    /**
+     * Checks if two players stand in the same region of corridors,
+     * so that either could walk onto the other's tile.
+     *
+     * @param first  a player
+     * @param second another player
+     * @return true if both players share a region
+     */
+    public boolean shareRegion(Player first, Player second) {
+        return board.sameComponent(first.getPosition(), second.getPosition());
+    }
+
     /**
      * Abandons the current game.
      */
@@ -313,10 +371,13 @@ public class LabyrinthGame implements Observable {
     }
 
     /**
-     * Restores board state (for undo).
+     * Restores a saved version of the board (for undo).
+     * The saved version is left untouched by later moves.
+     *
+     * @param saved the board to restore
      */
-    public void restoreBoardState(Tile[][] tiles, Tile spareTile, Arrow lastArrow) {
-        this.board = new Board(tiles, spareTile, lastArrow);
+    public void restoreBoard(Board saved) {
+        this.board = saved.copy();
         state = GameState.WAITING_INSERT;
         notifyObservers();
     }
@@ -325,7 +386,7 @@ public class LabyrinthGame implements Observable {
      * Restores an objective to a player's stack (for undo).
      */
     public void restoreObjective(Player player, ObjectiveCard card) {
-        player.getObjectiveStackCopy().push(card);
+        player.restoreObjective(card);
     }
 
     /**
@@ -59,7 +59,8 @@ public class Move {
 
     @Override
     public int hashCode() {
-        return Objects.hash(insertArrow, tileRotation, destination);
+        int result = insertArrow.hashCode() * 5 + (tileRotation == null ? 4 : tileRotation.ordinal());
+        return result * 31 + (destination == null ? 0 : destination.hashCode() + 1);
     }
 
     @Override
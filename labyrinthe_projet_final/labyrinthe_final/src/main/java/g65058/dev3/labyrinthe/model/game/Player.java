@@ -1,7 +1,9 @@
 package g65058.dev3.labyrinthe.model.game;
 
+import g65058.dev3.labyrinthe.model.board.Board;
 import g65058.dev3.labyrinthe.model.board.Objective;
 import g65058.dev3.labyrinthe.model.board.Position;
+import g65058.dev3.labyrinthe.model.board.Zobrist;
 import g65058.dev3.labyrinthe.model.ai.Strategy;
 
 import java.util.Objects;
@@ -9,6 +11,8 @@ import java.util.Stack;
 
 /**
  * Represents a player in the game.
+ * The player keeps its share of the game's {@link Zobrist} hash (pawn cell
+ * and number of remaining objectives) up to date as it moves and scores.
  */
 public class Player {
     private final int id;
@@ -19,6 +23,9 @@ public class Player {
     private final Stack<ObjectiveCard> objectiveStack;
     private final Strategy strategy;
     private final boolean isRobot;
+    private final int boardSize;
+    private final Zobrist zobrist;
+    private long hash;
 
     /**
      * Creates a new player.
@@ -32,14 +39,33 @@ public class Player {
      */
     public Player(int id, String name, PlayerColor color, Stack<ObjectiveCard> objectiveStack,
                   Strategy strategy, boolean isRobot) {
+        this(id, name, color, objectiveStack, strategy, isRobot, Board.SIZE);
+    }
+
+    /**
+     * Creates a new player starting in its color's corner of a board of the given size.
+     *
+     * @param id             the player ID (0-3)
+     * @param name           the player name
+     * @param color          the player color
+     * @param objectiveStack the stack of objective cards
+     * @param strategy       the AI strategy (null for human players)
+     * @param isRobot        true if this is an AI player
+     * @param boardSize      the size of the board
+     */
+    public Player(int id, String name, PlayerColor color, Stack<ObjectiveCard> objectiveStack,
+                  Strategy strategy, boolean isRobot, int boardSize) {
         this.id = id;
         this.name = Objects.requireNonNull(name);
         this.color = Objects.requireNonNull(color);
-        this.startPosition = new Position(color.getStartRow(), color.getStartCol());
+        this.boardSize = boardSize;
+        this.zobrist = Zobrist.of(boardSize);
+        this.startPosition = Position.of(color.getStartRow(boardSize), color.getStartCol(boardSize));
         this.position = startPosition;
         this.objectiveStack = Objects.requireNonNull(objectiveStack);
         this.strategy = strategy;
         this.isRobot = isRobot;
+        this.hash = recomputeHash();
     }
 
     /**
@@ -97,7 +123,9 @@ public class Player {
      * @param newPosition the new position
      */
     public void setPosition(Position newPosition) {
-        this.position = Objects.requireNonNull(newPosition);
+        Objects.requireNonNull(newPosition);
+        hash ^= pawnKey(position) ^ pawnKey(newPosition);
+        this.position = newPosition;
     }
 
     /**
@@ -126,9 +154,42 @@ public class Player {
         if (!objectiveStack.isEmpty()) {
             ObjectiveCard card = objectiveStack.pop();
             card.setReached();
+            hash ^= progressKey(objectiveStack.size() + 1) ^ progressKey(objectiveStack.size());
         }
     }
 
+    /**
+     * Puts an achieved objective back on top of the stack (for undo).
+     *
+     * @param card the objective card to restore
+     */
+    void restoreObjective(ObjectiveCard card) {
+        objectiveStack.push(Objects.requireNonNull(card));
+        hash ^= progressKey(objectiveStack.size() - 1) ^ progressKey(objectiveStack.size());
+    }
+
+    /**
+     * @return this player's share of the game hash
+     */
+    long hash() {
+        return hash;
+    }
+
+    /**
+     * Computes this player's share of the game hash from scratch.
+     */
+    long recomputeHash() {
+        return pawnKey(position) ^ progressKey(objectiveStack.size());
+    }
+
+    private long pawnKey(Position at) {
+        return zobrist.pawn(id, at.toCell(boardSize));
+    }
+
+    private long progressKey(int remaining) {
+        return zobrist.remaining(id, remaining);
+    }
+
     /**
      * @return the number of objectives remaining
      */
@@ -180,7 +241,7 @@ public class Player {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, color);
+        return id * 4 + color.ordinal();
     }
 
     @Override
@@ -45,4 +45,25 @@ public enum PlayerColor {
     public int getStartCol() {
         return startCol;
     }
+
+    /**
+     * Returns the starting row on a board of the given size: the same corner
+     * as on the standard board.
+     *
+     * @param boardSize the board size
+     * @return the starting row for this color
+     */
+    public int getStartRow(int boardSize) {
+        return startRow == 0 ? 0 : boardSize - 1;
+    }
+
+    /**
+     * Returns the starting column on a board of the given size.
+     *
+     * @param boardSize the board size
+     * @return the starting column for this color
+     */
+    public int getStartCol(int boardSize) {
+        return startCol == 0 ? 0 : boardSize - 1;
+    }
 }
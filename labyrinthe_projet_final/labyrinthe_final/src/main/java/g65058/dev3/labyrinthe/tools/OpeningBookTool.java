@@ -0,0 +1,79 @@
+package g65058.dev3.labyrinthe.tools;
+
+import g65058.dev3.labyrinthe.model.ai.OpeningBookWriter;
+import g65058.dev3.labyrinthe.model.ai.SearchMode;
+import g65058.dev3.labyrinthe.model.ai.SearchStrategy;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line tool building an opening book for the seeded games of one
+ * human against three search robots: for each seed, the robots' replies to
+ * the human's likely first moves, until the human plays again.
+ * <p>
+ * Usage: {@code OpeningBookTool <book file> <first seed> <seed count> [node budget] [board size]}, e.g.
+ * {@code mvn compile exec:java -Dexec.mainClass=g65058.dev3.labyrinthe.tools.OpeningBookTool -Dexec.args="book.bin 0 100"}.
+ */
+public final class OpeningBookTool {
+    /** Default node budget of each robot move. */
+    public static final long DEFAULT_NODE_BUDGET = 1_000_000;
+
+    private OpeningBookTool() {
+    }
+
+    /**
+     * Main entry point.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: OpeningBookTool <book file> <first seed> <seed count> [node budget] [board size]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        long firstSeed = Long.parseLong(args[1]);
+        int seedCount = Integer.parseInt(args[2]);
+        long nodeBudget = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_NODE_BUDGET;
+        int boardSize = args.length > 4 ? Integer.parseInt(args[4]) : Board.SIZE;
+
+        OpeningBookWriter writer = new OpeningBookWriter(boardSize);
+        for (long seed = firstSeed; seed < firstSeed + seedCount; seed++) {
+            addSeed(writer, seed, nodeBudget, boardSize);
+            System.out.println("Seed " + seed + ": " + writer.size() + " positions");
+        }
+        writer.write(path);
+        System.out.println(writer.size() + " positions written to " + path);
+    }
+
+    /**
+     * Builds the book of a range of seeds. The robots search with a node
+     * budget and no time limit, so that the book does not depend on the
+     * machine's speed.
+     *
+     * @param firstSeed  the first seed
+     * @param seedCount  the number of seeds
+     * @param nodeBudget the node budget of each robot move
+     * @param boardSize  the board size
+     * @return the book, to be written
+     */
+    public static OpeningBookWriter build(long firstSeed, int seedCount, long nodeBudget, int boardSize) {
+        OpeningBookWriter writer = new OpeningBookWriter(boardSize);
+        for (long seed = firstSeed; seed < firstSeed + seedCount; seed++) {
+            addSeed(writer, seed, nodeBudget, boardSize);
+        }
+        return writer;
+    }
+
+    /**
+     * Adds the opening of one seed to a book.
+     */
+    private static void addSeed(OpeningBookWriter writer, long seed, long nodeBudget, int boardSize) {
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, SearchStrategy.DEFAULT_MAX_DEPTH,
+                nodeBudget, Long.MAX_VALUE);
+        LabyrinthGame game = new LabyrinthGame(1, strategy, true, boardSize, seed);
+        writer.addOpening(game.getBoard(), game.getPlayers(), 0, strategy, game.isSimplifiedVersion(),
+                Integer.MAX_VALUE);
+    }
+}
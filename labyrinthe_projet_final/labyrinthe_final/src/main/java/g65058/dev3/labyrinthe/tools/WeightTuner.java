@@ -0,0 +1,274 @@
+package g65058.dev3.labyrinthe.tools;
+
+import g65058.dev3.labyrinthe.model.ai.EvaluationWeights;
+import g65058.dev3.labyrinthe.model.ai.SearchMode;
+import g65058.dev3.labyrinthe.model.ai.SearchStrategy;
+import g65058.dev3.labyrinthe.model.ai.TranspositionTable;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthGame;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes the {@link EvaluationWeights} of the search robots by self-play,
+ * with simultaneous perturbation stochastic approximation (SPSA).
+ * <p>
+ * Each iteration moves every weight up or down at random, all at once,
+ * and plays the weights moved up against the weights moved down: games of
+ * four search robots, two per side, seated alternately. Each deal is
+ * played twice, the sides swapping seats. The games follow the simplified
+ * end condition of the application's games, and the robots score them
+ * under the same rule. The weights then take a step
+ * towards the side that did better, the step and the perturbation
+ * shrinking as the iterations go.
+ * <p>
+ * The games of an iteration run in parallel, but every game depends only on
+ * its deal and its weights: the robots search with a node budget and no
+ * time limit, the deals and perturbations come from the tuner's seed, and
+ * results are added in game order. A run is therefore the same for the
+ * same seed whatever the number of threads or the machine.
+ * <p>
+ * Usage: {@code WeightTuner <weights file> <seed> <iterations> [games per iteration] [node budget] [threads] [board size]}, e.g.
+ * {@code mvn compile exec:java -Dexec.mainClass=g65058.dev3.labyrinthe.tools.WeightTuner -Dexec.args="weights.properties 1 200"}.
+ * The weights file is written after every iteration; if it exists, tuning
+ * starts from its weights.
+ */
+public final class WeightTuner implements AutoCloseable {
+    /** Default number of games per iteration. */
+    public static final int DEFAULT_GAMES = 64;
+    /** Default node budget of each robot move. */
+    public static final long DEFAULT_NODE_BUDGET = 5_000;
+    /** Plies after which a game is a draw. */
+    public static final int MAX_PLIES = 400;
+
+    // SPSA gains: step a / (k + 1 + A)^0.602, perturbation c / (k + 1)^0.101, in units of SCALE
+    private static final double STEP_GAIN = 4;
+    private static final double STEP_STABILITY = 10;
+    private static final double PERTURBATION_GAIN = 2;
+    // Unit of each weight in the search space
+    private static final double[] SCALE = {1, 1, 1, 10};
+    // Transposition table of each robot, smaller than the default as many games run at once
+    private static final int TABLE_BITS = 16;
+
+    private final long seed;
+    private final int games;
+    private final long nodeBudget;
+    private final int boardSize;
+    private final ExecutorService pool;
+    private final SplittableRandom perturbations;
+    private final double[] theta;
+    private int iteration;
+    private double lastOutcome;
+
+    /**
+     * Creates a tuner.
+     *
+     * @param start      the weights to start from
+     * @param seed       the seed of the deals and perturbations
+     * @param games      the number of games per iteration, even
+     * @param nodeBudget the node budget of each robot move
+     * @param boardSize  the board size
+     * @param threads    the number of games played at once
+     * @throws IllegalArgumentException if the number of games is not even and positive,
+     *                                  or the budget or number of threads is not positive
+     */
+    public WeightTuner(EvaluationWeights start, long seed, int games, long nodeBudget, int boardSize, int threads) {
+        if (games < 2 || games % 2 != 0 || nodeBudget < 1 || threads < 1) {
+            throw new IllegalArgumentException("Games must be even and positive, budget and threads positive");
+        }
+        this.seed = seed;
+        this.games = games;
+        this.nodeBudget = nodeBudget;
+        this.boardSize = boardSize;
+        this.pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "tuner-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.perturbations = new SplittableRandom(seed);
+        int[] vector = start.toVector();
+        this.theta = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            theta[i] = vector[i];
+        }
+    }
+
+    /**
+     * Main entry point.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: WeightTuner <weights file> <seed> <iterations> [games per iteration]"
+                    + " [node budget] [threads] [board size]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        long seed = Long.parseLong(args[1]);
+        int iterations = Integer.parseInt(args[2]);
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_GAMES;
+        long nodeBudget = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_NODE_BUDGET;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        int boardSize = args.length > 6 ? Integer.parseInt(args[6]) : Board.SIZE;
+
+        EvaluationWeights start = Files.exists(path) ? EvaluationWeights.load(path) : EvaluationWeights.DEFAULT;
+        try (WeightTuner tuner = new WeightTuner(start, seed, games, nodeBudget, boardSize, threads)) {
+            EvaluationWeights weights = start;
+            for (int i = 0; i < iterations; i++) {
+                weights = tuner.step();
+                weights.save(path, "Tuned by self-play, seed " + seed + ", iteration " + tuner.getIteration());
+                System.out.printf("Iteration %d: %s (perturbed match %+.3f)%n", tuner.getIteration(), weights,
+                        tuner.getLastOutcome());
+            }
+            // Fresh deals, not seen during tuning
+            double score = tuner.match(weights, start, seed ^ 0x5DEECE66DL, games);
+            System.out.printf("%s against %s: %+.3f%n", weights, start, score);
+        }
+    }
+
+    /**
+     * Runs one iteration.
+     *
+     * @return the weights after the iteration
+     */
+    public EvaluationWeights step() {
+        int k = iteration;
+        double step = STEP_GAIN / Math.pow(k + 1 + STEP_STABILITY, 0.602);
+        double perturbation = PERTURBATION_GAIN / Math.pow(k + 1, 0.101);
+        int[] delta = new int[theta.length];
+        int[] plus = new int[theta.length];
+        int[] minus = new int[theta.length];
+        for (int i = 0; i < theta.length; i++) {
+            delta[i] = perturbations.nextBoolean() ? 1 : -1;
+            plus[i] = clamp(Math.round(theta[i] + perturbation * SCALE[i] * delta[i]));
+            minus[i] = clamp(Math.round(theta[i] - perturbation * SCALE[i] * delta[i]));
+        }
+        // The plus side's result estimates f(plus) - f(minus)
+        lastOutcome = match(EvaluationWeights.of(plus), EvaluationWeights.of(minus), seed + k, games);
+        for (int i = 0; i < theta.length; i++) {
+            theta[i] += step * SCALE[i] * lastOutcome / (2 * perturbation * delta[i]);
+            theta[i] = Math.max(0, Math.min(EvaluationWeights.MAX_WEIGHT, theta[i]));
+        }
+        iteration++;
+        return getWeights();
+    }
+
+    /**
+     * @return the current weights, rounded
+     */
+    public EvaluationWeights getWeights() {
+        int[] vector = new int[theta.length];
+        for (int i = 0; i < theta.length; i++) {
+            vector[i] = clamp(Math.round(theta[i]));
+        }
+        return EvaluationWeights.of(vector);
+    }
+
+    /**
+     * @return the number of iterations run
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    /**
+     * @return the result of the perturbed weights moved up in the last iteration, from -1 to 1
+     */
+    public double getLastOutcome() {
+        return lastOutcome;
+    }
+
+    /**
+     * Plays two sets of weights against each other, each deal twice with
+     * the sides swapping seats.
+     *
+     * @param first    the first weights
+     * @param second   the second weights
+     * @param dealSeed the seed of the deals
+     * @param games    the number of games, even
+     * @return the mean result of the first weights, from -1 (every game lost) to 1 (every game won)
+     */
+    public double match(EvaluationWeights first, EvaluationWeights second, long dealSeed, int games) {
+        SplittableRandom deals = new SplittableRandom(dealSeed);
+        List<Callable<Double>> tasks = new ArrayList<>(games);
+        for (int pair = 0; pair < games / 2; pair++) {
+            long deal = deals.nextLong();
+            tasks.add(() -> playGame(first, second, deal));
+            tasks.add(() -> -playGame(second, first, deal));
+        }
+        double total = 0;
+        try {
+            for (Future<Double> result : pool.invokeAll(tasks)) {
+                total += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play game failed", e.getCause());
+        }
+        return total / tasks.size();
+    }
+
+    /**
+     * Plays one game of four search robots, the first weights in seats 1
+     * and 3, the second in seats 2 and 4.
+     *
+     * @return 1 if the first side wins, -1 if the second does, otherwise the
+     * difference of objectives found over the number of cards of a side
+     */
+    double playGame(EvaluationWeights first, EvaluationWeights second, long deal) {
+        LabyrinthGame game = new LabyrinthGame(0, null, true, boardSize, deal);
+        Player[] players = game.getPlayers();
+        SearchStrategy[] robots = new SearchStrategy[players.length];
+        int[] cards = new int[players.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            robots[seat] = new SearchStrategy(SearchMode.PARANOID, SearchStrategy.DEFAULT_MAX_DEPTH, nodeBudget,
+                    Long.MAX_VALUE, new TranspositionTable(TABLE_BITS));
+            robots[seat].setPlayers(players);
+            robots[seat].setSimplifiedVersion(game.isSimplifiedVersion());
+            robots[seat].setWeights(seat % 2 == 0 ? first : second);
+            cards[seat] = players[seat].getRemainingObjectives();
+        }
+        game.start();
+        for (int ply = 0; ply < MAX_PLIES && !game.isFinished(); ply++) {
+            Board board = game.getBoard();
+            Move move = robots[game.getCurrentPlayerIndex()].chooseMove(board, game.getCurrentPlayer(),
+                    board.getSpareTile());
+            game.performInsertion(move.getInsertArrow(), move.getTileRotation());
+            game.performMove(move.getDestination());
+        }
+
+        if (game.getWinnerId() >= 0) {
+            return game.getWinnerId() % 2 == 0 ? 1 : -1;
+        }
+        int difference = 0;
+        int sideCards = 0;
+        for (int seat = 0; seat < players.length; seat++) {
+            int found = cards[seat] - players[seat].getRemainingObjectives();
+            difference += seat % 2 == 0 ? found : -found;
+            sideCards += seat % 2 == 0 ? cards[seat] : 0;
+        }
+        return (double) difference / sideCards;
+    }
+
+    private static int clamp(long weight) {
+        return (int) Math.max(0, Math.min(EvaluationWeights.MAX_WEIGHT, weight));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -1,8 +1,10 @@
 package g65058.dev3.labyrinthe.view.console;
 
+import g65058.dev3.labyrinthe.model.ai.OpeningBook;
 import g65058.dev3.labyrinthe.model.board.*;
 import g65058.dev3.labyrinthe.model.game.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Scanner;
 
@@ -23,22 +25,59 @@ public class ConsoleApp {
     }
 
     /**
-     * Main entry point.
+     * Main entry point. The optional arguments are the AI difficulty (0 by
+     * default) and the seed of the deal: the searching robots of a seeded
+     * game play from the opening book named by the
+     * {@value OpeningBook#BOOK_PROPERTY} system property, if set.
      */
-    public static void main(String[] args) {
-        ConsoleApp app = new ConsoleApp();
-        app.run();
+    public static void main(String[] args) throws IOException {
+        int aiDifficulty = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        try (OpeningBook book = OpeningBook.openFromProperty()) {
+            ConsoleApp app = new ConsoleApp();
+            app.facade.setOpeningBook(book);
+            if (args.length > 1) {
+                app.run(aiDifficulty, Long.parseLong(args[1]));
+            } else {
+                app.run(aiDifficulty);
+            }
+        }
     }
 
     /**
-     * Runs the game loop.
+     * Runs the game loop against random robots.
      */
     public void run() {
-        System.out.println("=== LABYRINTH ===");
-        System.out.println("Welcome to the Labyrinth game!");
+        run(0);
+    }
 
+    /**
+     * Runs the game loop.
+     *
+     * @param aiDifficulty AI difficulty level
+     */
+    public void run(int aiDifficulty) {
         // Start a new game (1 human, 3 AI, simplified version)
-        facade.startNewGame(1, 0, true);
+        facade.startNewGame(1, aiDifficulty, true);
+        play();
+    }
+
+    /**
+     * Runs the game loop on a game dealt from a seed.
+     *
+     * @param aiDifficulty AI difficulty level
+     * @param seed         the seed of the deal
+     */
+    public void run(int aiDifficulty, long seed) {
+        facade.startNewGame(1, aiDifficulty, true, Board.SIZE, seed);
+        play();
+    }
+
+    /**
+     * Plays the started game to its end.
+     */
+    private void play() {
+        System.out.println("=== LABYRINTH ===");
+        System.out.println("Welcome to the Labyrinth game!");
 
         // Game loop
         while (!facade.isFinished()) {
@@ -70,18 +109,24 @@ public class ConsoleApp {
      */
     private void displayBoard() {
         Board board = facade.getBoard();
-        System.out.println("\n  0 1 2 3 4 5 6");
-        System.out.println("  -------------");
+        int size = board.getSize();
+        StringBuilder header = new StringBuilder("\n  ");
+        for (int col = 0; col < size; col++) {
+            header.append(col % 10).append(' ');
+        }
+        String rule = "  " + "-".repeat(2 * size - 1);
+        System.out.println(header.toString().stripTrailing());
+        System.out.println(rule);
 
-        for (int row = 0; row < Board.SIZE; row++) {
-            System.out.print(row + "|");
-            for (int col = 0; col < Board.SIZE; col++) {
+        for (int row = 0; row < size; row++) {
+            System.out.print(row % 10 + "|");
+            for (int col = 0; col < size; col++) {
                 Tile tile = board.getTile(row, col);
                 System.out.print(getTileSymbol(tile) + " ");
             }
             System.out.println("|");
         }
-        System.out.println("  -------------");
+        System.out.println(rule);
 
         // Display spare tile
         Tile spare = facade.getSpareTile();
@@ -116,7 +161,9 @@ public class ConsoleApp {
 
         ObjectiveCard objective = player.getCurrentObjective();
         if (objective != null) {
-            System.out.println("Current objective: " + objective.getObjective());
+            Position location = facade.getBoard().locate(objective.getObjective());
+            System.out.println("Current objective: " + objective.getObjective()
+                    + (location != null ? " at " + location : " (on the spare tile)"));
         } else {
             System.out.println("All objectives complete! Return to start position.");
         }
@@ -169,7 +216,7 @@ public class ConsoleApp {
             String[] parts = input.split("\\s+");
             int row = Integer.parseInt(parts[0]);
             int col = Integer.parseInt(parts[1]);
-            destination = new Position(row, col);
+            destination = Position.of(row, col);
         }
 
         facade.movePlayer(destination);
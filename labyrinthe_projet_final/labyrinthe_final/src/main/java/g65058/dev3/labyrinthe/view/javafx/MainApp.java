@@ -1,6 +1,7 @@
 package g65058.dev3.labyrinthe.view.javafx;
 
 import g65058.dev3.labyrinthe.controller.GameController;
+import g65058.dev3.labyrinthe.model.ai.OpeningBook;
 import g65058.dev3.labyrinthe.model.game.LabyrinthFacade;
 import javafx.application.Application;
 import javafx.scene.Scene;
@@ -8,13 +9,22 @@ import javafx.stage.Stage;
 
 /**
  * Main JavaFX application for the Labyrinth game.
+ * The opening book named by the {@value OpeningBook#BOOK_PROPERTY} system
+ * property, if set, is open while the application runs.
  */
 public class MainApp extends Application {
+    private OpeningBook openingBook;
+
+    @Override
+    public void init() throws Exception {
+        openingBook = OpeningBook.openFromProperty();
+    }
 
     @Override
     public void start(Stage primaryStage) {
         // Create model (facade)
         LabyrinthFacade facade = new LabyrinthFacade();
+        facade.setOpeningBook(openingBook);
 
         // Create controller
         GameController controller = new GameController(facade);
@@ -37,6 +47,13 @@ public class MainApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() throws Exception {
+        if (openingBook != null) {
+            openingBook.close();
+        }
+    }
+
     /**
      * Main entry point.
      */
@@ -13,19 +13,17 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 
-import java.util.List;
-
 /**
  * Pane displaying the game board with tiles and players.
  * Handles mouse interactions for tile insertion and player movement.
  */
 public class BoardPane extends GridPane {
     private static final int TILE_SIZE = 70;
-    private static final int BOARD_SIZE = 7;
 
     private final LabyrinthFacade facade;
     private final GameController controller;
-    private final TilePane[][] tilePanes;
+    private int boardSize;
+    private TilePane[][] tilePanes;
     private final ArrowButton[] arrowButtons;
 
     /**
@@ -37,7 +35,6 @@ public class BoardPane extends GridPane {
     public BoardPane(LabyrinthFacade facade, GameController controller) {
         this.facade = facade;
         this.controller = controller;
-        this.tilePanes = new TilePane[BOARD_SIZE][BOARD_SIZE];
         this.arrowButtons = new ArrowButton[12];
 
         setAlignment(Pos.CENTER);
@@ -46,17 +43,23 @@ public class BoardPane extends GridPane {
         setVgap(2);
         setStyle("-fx-background-color: #1a252f; -fx-background-radius: 10;");
 
-        initializeBoard();
+        initializeBoard(Board.SIZE);
     }
 
     /**
      * Initializes the board grid with tiles and arrow buttons.
+     *
+     * @param size the number of rows and columns of the board
      */
-    private void initializeBoard() {
+    private void initializeBoard(int size) {
+        getChildren().clear();
+        boardSize = size;
+        tilePanes = new TilePane[size][size];
+
         // Create arrow buttons and tile panes
         // Row 0: top arrows
         add(new Label(), 0, 0); // Corner
-        for (int col = 0; col < BOARD_SIZE; col++) {
+        for (int col = 0; col < boardSize; col++) {
             if (col % 2 == 1) {
                 ArrowButton arrow = new ArrowButton(Direction.SOUTH, col);
                 arrow.setOnAction(e -> handleArrowClick(arrow));
@@ -65,10 +68,10 @@ public class BoardPane extends GridPane {
                 add(new Label(), col + 1, 0);
             }
         }
-        add(new Label(), BOARD_SIZE + 1, 0); // Corner
+        add(new Label(), boardSize + 1, 0); // Corner
 
         // Main grid rows
-        for (int row = 0; row < BOARD_SIZE; row++) {
+        for (int row = 0; row < boardSize; row++) {
             // Left arrow
             if (row % 2 == 1) {
                 ArrowButton arrow = new ArrowButton(Direction.EAST, row);
@@ -79,7 +82,7 @@ public class BoardPane extends GridPane {
             }
 
             // Tiles
-            for (int col = 0; col < BOARD_SIZE; col++) {
+            for (int col = 0; col < boardSize; col++) {
                 TilePane tilePane = new TilePane(row, col);
                 tilePane.setOnMouseClicked(e -> handleTileClick(tilePane));
                 tilePane.setOnMouseEntered(e -> handleTileHover(tilePane, true));
@@ -92,24 +95,24 @@ public class BoardPane extends GridPane {
             if (row % 2 == 1) {
                 ArrowButton arrow = new ArrowButton(Direction.WEST, row);
                 arrow.setOnAction(e -> handleArrowClick(arrow));
-                add(arrow, BOARD_SIZE + 1, row + 1);
+                add(arrow, boardSize + 1, row + 1);
             } else {
-                add(new Label(), BOARD_SIZE + 1, row + 1);
+                add(new Label(), boardSize + 1, row + 1);
             }
         }
 
         // Bottom arrows
-        add(new Label(), 0, BOARD_SIZE + 1); // Corner
-        for (int col = 0; col < BOARD_SIZE; col++) {
+        add(new Label(), 0, boardSize + 1); // Corner
+        for (int col = 0; col < boardSize; col++) {
             if (col % 2 == 1) {
                 ArrowButton arrow = new ArrowButton(Direction.NORTH, col);
                 arrow.setOnAction(e -> handleArrowClick(arrow));
-                add(arrow, col + 1, BOARD_SIZE + 1);
+                add(arrow, col + 1, boardSize + 1);
             } else {
-                add(new Label(), col + 1, BOARD_SIZE + 1);
+                add(new Label(), col + 1, boardSize + 1);
             }
         }
-        add(new Label(), BOARD_SIZE + 1, BOARD_SIZE + 1); // Corner
+        add(new Label(), boardSize + 1, boardSize + 1); // Corner
     }
 
     /**
@@ -120,7 +123,7 @@ public class BoardPane extends GridPane {
             return;
         }
 
-        Arrow gameArrow = arrow.toArrow();
+        Arrow gameArrow = arrow.toArrow(boardSize);
         if (facade.canInsert(gameArrow)) {
             controller.insertTile(gameArrow);
         }
@@ -134,7 +137,7 @@ public class BoardPane extends GridPane {
             return;
         }
 
-        Position destination = new Position(tilePane.getBoardRow(), tilePane.getBoardCol());
+        Position destination = Position.of(tilePane.getBoardRow(), tilePane.getBoardCol());
         if (facade.canMove(destination)) {
             controller.movePlayer(destination);
         }
@@ -147,7 +150,7 @@ public class BoardPane extends GridPane {
         GameState state = facade.getState();
 
         if (state == GameState.WAITING_MOVE) {
-            Position pos = new Position(tilePane.getBoardRow(), tilePane.getBoardCol());
+            Position pos = Position.of(tilePane.getBoardRow(), tilePane.getBoardCol());
             boolean canMove = facade.canMove(pos);
 
             if (entering) {
@@ -166,13 +169,8 @@ public class BoardPane extends GridPane {
         if (board == null) {
             return;
         }
-
-        // Update all tiles
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                Tile tile = board.getTile(row, col);
-                tilePanes[row][col].updateTile(tile);
-            }
+        if (board.getSize() != boardSize) {
+            initializeBoard(board.getSize());
         }
 
         // Update player positions
@@ -182,11 +180,22 @@ public class BoardPane extends GridPane {
             tilePanes[pos.getRow()][pos.getCol()].addPlayer(player);
         }
 
-        // Highlight reachable positions in move phase
+        // In move phase, highlight the tiles sharing the current player's component
+        int[] components = null;
+        int reachable = -1;
         if (facade.getState() == GameState.WAITING_MOVE) {
-            List<Position> reachable = facade.getReachablePositions();
-            for (Position pos : reachable) {
-                tilePanes[pos.getRow()][pos.getCol()].setReachable(true);
+            components = board.componentLabels();
+            reachable = components[board.cellOf(facade.getCurrentPlayer().getPosition())];
+        }
+
+        // Update all tiles
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                Tile tile = board.getTile(row, col);
+                tilePanes[row][col].updateTile(tile);
+                if (components != null && components[row * boardSize + col] == reachable) {
+                    tilePanes[row][col].setReachable(true);
+                }
             }
         }
     }
@@ -195,8 +204,8 @@ public class BoardPane extends GridPane {
      * Clears all player markers from tiles.
      */
     private void clearPlayers() {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
                 tilePanes[row][col].clearPlayers();
                 tilePanes[row][col].setReachable(false);
             }
@@ -409,7 +418,7 @@ public class BoardPane extends GridPane {
             setOnMouseExited(e -> setStyle("-fx-font-size: 16px; -fx-background-color: #3498db; -fx-text-fill: white;"));
         }
 
-        Arrow toArrow() {
+        Arrow toArrow(int boardSize) {
             int row, col;
             switch (direction) {
                 case SOUTH -> {
@@ -417,7 +426,7 @@ public class BoardPane extends GridPane {
                     col = index;
                 }
                 case NORTH -> {
-                    row = 6;
+                    row = boardSize - 1;
                     col = index;
                 }
                 case EAST -> {
@@ -426,11 +435,11 @@ public class BoardPane extends GridPane {
                 }
                 case WEST -> {
                     row = index;
-                    col = 6;
+                    col = boardSize - 1;
                 }
                 default -> throw new IllegalStateException();
             }
-            return new Arrow(new Position(row, col), direction);
+            return new Arrow(Position.of(row, col), direction);
         }
     }
 }
@@ -18,6 +18,7 @@ public class MenuPane extends HBox {
     private final Button redoButton;
     private final Button abandonButton;
     private final ComboBox<String> difficultyCombo;
+    private final TextField seedField;
     private final Label statusLabel;
 
     /**
@@ -34,9 +35,14 @@ public class MenuPane extends HBox {
 
         // Difficulty selector
         difficultyCombo = new ComboBox<>();
-        difficultyCombo.getItems().addAll("Easy (Random)", "Medium", "Hard");
+        difficultyCombo.getItems().addAll("Easy (Random)", "Medium", "Hard", "Expert");
         difficultyCombo.setValue("Easy (Random)");
 
+        // Seed of the deal, empty for a random board
+        seedField = new TextField();
+        seedField.setPromptText("Seed");
+        seedField.setPrefColumnCount(6);
+
         // Undo/Redo buttons
         undoButton = new Button("↶ Undo");
         undoButton.setOnAction(e -> controller.undo());
@@ -67,6 +73,7 @@ public class MenuPane extends HBox {
                     setStyle("-fx-text-fill: white;");
                 }},
                 difficultyCombo,
+                seedField,
                 new Separator() {{
                     setOrientation(javafx.geometry.Orientation.VERTICAL);
                 }},
@@ -84,11 +91,24 @@ public class MenuPane extends HBox {
     }
 
     /**
-     * Shows the new game dialog.
+     * Starts a new game, dealt from the seed if one is given.
      */
     private void showNewGameDialog() {
         int difficulty = difficultyCombo.getSelectionModel().getSelectedIndex();
-        controller.startNewGame(1, difficulty, true);
+        String seed = seedField.getText().strip();
+        if (seed.isEmpty()) {
+            controller.startNewGame(1, difficulty, true);
+            return;
+        }
+        try {
+            // A seeded game repeats its opening, which the robots may play from the book
+            controller.startNewGame(1, difficulty, true, Long.parseLong(seed));
+        } catch (NumberFormatException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("New Game");
+            alert.setHeaderText("The seed must be a whole number.");
+            alert.showAndWait();
+        }
     }
 
     /**
@@ -0,0 +1,45 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.board.BoardGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many starting boards one thread generates per second, with a
+ * reused seeded generator and with the {@code Board} constructor, which
+ * builds a generator and a fresh random stream for every board.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=BoardGeneratorBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardGeneratorBenchmark {
+    @Param({"7", "15"})
+    public int size;
+
+    private BoardGenerator generator;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new BoardGenerator(size);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Board seededGenerator() {
+        return generator.generate(random);
+    }
+
+    @Benchmark
+    public Board constructor() {
+        return new Board(size);
+    }
+}
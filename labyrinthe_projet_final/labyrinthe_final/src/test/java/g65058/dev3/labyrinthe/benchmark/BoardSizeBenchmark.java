@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.RandomStrategy;
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+import g65058.dev3.labyrinthe.model.game.PlayerColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the main board operations for growing board sizes: one insertion
+ * followed by the reachable positions of four pawns, and one move of the
+ * random robot. Dividing the scores by the number of cells shows how the
+ * cost per cell evolves with the size.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=BoardSizeBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardSizeBenchmark {
+    @Param({"7", "9", "15", "21", "31"})
+    public int size;
+
+    private Board board;
+    private InsertionSequence sequence;
+    private Player player;
+    private RandomStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new Board(size);
+        sequence = new InsertionSequence(board, 42);
+        player = new Player(0, "Robot", PlayerColor.YELLOW, new Stack<>(), null, true, size);
+        strategy = new RandomStrategy(42);
+    }
+
+    @Benchmark
+    public int insertAndReach() {
+        sequence.insertNext();
+        int reach = 0;
+        for (int pawn : sequence.pawns()) {
+            reach += board.getReachablePositions(board.positionOf(pawn)).size();
+        }
+        return reach;
+    }
+
+    @Benchmark
+    public Move randomMove() {
+        sequence.insertNext();
+        return strategy.chooseMove(board, player, board.getSpareTile());
+    }
+}
@@ -0,0 +1,94 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one insertion followed by the reachability of four pawns,
+ * with the incrementally maintained component labels of the Board and with
+ * a full BFS over the tiles after every insertion, and one insertion
+ * followed by the distance fields of the four pawns in a reused field.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=ConnectivityBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConnectivityBenchmark {
+    private Board board;
+    private InsertionSequence sequence;
+    private DistanceField field;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new Board();
+        sequence = new InsertionSequence(board, 42);
+        field = new DistanceField(Board.SIZE * Board.SIZE);
+    }
+
+    @Benchmark
+    public int insertOnly() {
+        sequence.insertNext();
+        return sequence.pawns()[0];
+    }
+
+    @Benchmark
+    public long incrementalLabels() {
+        sequence.insertNext();
+        long reach = 0;
+        for (int pawn : sequence.pawns()) {
+            reach += board.reachableMask(pawn);
+        }
+        return reach;
+    }
+
+    @Benchmark
+    public int fullBfs() {
+        sequence.insertNext();
+        int reach = 0;
+        for (int pawn : sequence.pawns()) {
+            reach += bfs(board, board.positionOf(pawn)).size();
+        }
+        return reach;
+    }
+
+    @Benchmark
+    public int distanceFields() {
+        sequence.insertNext();
+        int reach = 0;
+        for (int pawn : sequence.pawns()) {
+            reach += board.fillDistances(pawn, field).getReachedCount();
+        }
+        return reach;
+    }
+
+    /**
+     * Breadth-first search over tile openings, recomputed from scratch.
+     */
+    private static Set<Position> bfs(Board board, Position start) {
+        Set<Position> visited = new HashSet<>();
+        Queue<Position> queue = new ArrayDeque<>();
+        visited.add(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            Position current = queue.poll();
+            Tile currentTile = board.getTile(current);
+            for (Direction dir : Direction.values()) {
+                Position neighbor = current.move(dir);
+                if (!neighbor.isInBounds(Board.SIZE) || visited.contains(neighbor)) continue;
+                if (currentTile.isOpenTo(dir) && board.getTile(neighbor).isOpenTo(dir.opposite())) {
+                    visited.add(neighbor);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return visited;
+    }
+}
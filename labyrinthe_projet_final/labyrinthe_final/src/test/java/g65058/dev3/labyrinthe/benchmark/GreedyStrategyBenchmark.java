@@ -0,0 +1,58 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.GreedyStrategy;
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.ObjectiveCard;
+import g65058.dev3.labyrinthe.model.game.Player;
+import g65058.dev3.labyrinthe.model.game.PlayerColor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one decision of the greedy robot, from its starting corner, on
+ * generated boards of growing sizes. The target objective changes with the
+ * board, so both near and far objectives are part of the average.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=GreedyStrategyBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GreedyStrategyBenchmark {
+    private static final int BOARDS = 64;
+
+    @Param({"7", "9", "15", "31"})
+    public int size;
+
+    private Board[] boards;
+    private Player[] players;
+    private GreedyStrategy strategy;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BoardGenerator generator = new BoardGenerator(size);
+        Objective[] objectives = Objective.values();
+        boards = new Board[BOARDS];
+        players = new Player[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = generator.generate(i);
+            Stack<ObjectiveCard> cards = new Stack<>();
+            cards.push(new ObjectiveCard(objectives[i % objectives.length]));
+            players[i] = new Player(0, "Robot", PlayerColor.YELLOW, cards, null, true, size);
+        }
+        strategy = new GreedyStrategy();
+    }
+
+    @Benchmark
+    public Move greedyMove() {
+        int i = step++ & (BOARDS - 1);
+        return strategy.chooseMove(boards[i], players[i], boards[i].getSpareTile());
+    }
+}
@@ -0,0 +1,112 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the reachable cells of one pawn after every allowed insertion
+ * and spare orientation: with a copied board per candidate, with the
+ * insertion applied and reverted in place on the board itself, and with an
+ * {@link InsertionBatch}, one candidate after the other or all at once, on
+ * one candidate at a time ({@code batchScalar}) or on the SIMD lanes
+ * ({@code batchVector}, the same as {@code batchScalar} when the JVM lacks
+ * the vector module).
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=InsertionBatchBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertionBatchBenchmark {
+    private BoardGenerator generator;
+    private Board[] boards;
+    private InsertionBatch batch;
+    private long[] masks = new long[Arrow.COUNT * 4];
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new BoardGenerator();
+        boards = new Board[64];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = generator.generate(i);
+            boards[i].insertAndShift(Arrow.get(i % Arrow.COUNT));
+        }
+        batch = new InsertionBatch();
+    }
+
+    @Benchmark
+    public long copyPerCandidate() {
+        Board board = boards[step++ & 63];
+        Position pawn = Position.of(0, 0);
+        long total = 0;
+        for (Arrow arrow : board.getValidArrows()) {
+            for (Direction orientation : Direction.values()) {
+                Board candidate = board.copy();
+                candidate.setSpareOrientation(orientation);
+                candidate.insertAndShift(arrow);
+                List<Position> reachable = candidate.getReachablePositions(arrow.shift(pawn));
+                total += reachable.size();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long applyRevert() {
+        Board board = boards[step++ & 63];
+        int[] pawn = new int[1];
+        long total = Long.bitCount(board.reachableMask(0));
+        for (long mask = board.validArrowMask(); mask != 0; mask &= mask - 1) {
+            int arrowIndex = Long.numberOfTrailingZeros(mask);
+            for (Direction orientation : Direction.values()) {
+                pawn[0] = 0;
+                long undo = board.applyInsertion(arrowIndex, orientation, pawn);
+                total += Long.bitCount(board.reachableMask(pawn[0]));
+                board.revertInsertion(undo);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long batch() {
+        Board board = boards[step++ & 63];
+        board.evaluateInsertions(batch);
+        long total = 0;
+        for (int candidate = 0; candidate < batch.size(); candidate++) {
+            total += Long.bitCount(batch.reachableMask(candidate, 0));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long batchScalar() {
+        Board board = boards[step++ & 63];
+        board.evaluateInsertions(batch);
+        batch.reachableMasksScalar(0, masks);
+        long total = 0;
+        for (int candidate = 0; candidate < batch.size(); candidate++) {
+            total += Long.bitCount(masks[candidate]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long batchVector() {
+        Board board = boards[step++ & 63];
+        board.evaluateInsertions(batch);
+        batch.reachableMasks(0, masks);
+        long total = 0;
+        for (int candidate = 0; candidate < batch.size(); candidate++) {
+            total += Long.bitCount(masks[candidate]);
+        }
+        return total;
+    }
+}
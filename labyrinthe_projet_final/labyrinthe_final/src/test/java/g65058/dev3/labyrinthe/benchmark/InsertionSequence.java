@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+
+import java.util.Random;
+
+/**
+ * A fixed, seeded sequence of insertions on a board, with four pawns
+ * starting in the corners and moving with the lines, shared by the
+ * benchmarks that measure the work following an insertion.
+ */
+final class InsertionSequence {
+    private static final int LENGTH = 1024;
+
+    private final Board board;
+    private final int[] arrows;
+    private final int[] pawns;
+    private int step;
+
+    /**
+     * Creates the sequence of a board.
+     *
+     * @param board the board, changed by the insertions
+     * @param seed  the seed of the arrows
+     */
+    InsertionSequence(Board board, long seed) {
+        this.board = board;
+        Random random = new Random(seed);
+        arrows = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            arrows[i] = random.nextInt(board.getArrowCount());
+        }
+        int size = board.getSize();
+        int last = size * size - 1;
+        pawns = new int[]{0, size - 1, last - size + 1, last};
+    }
+
+    /**
+     * @return the cells of the pawns, updated by each insertion
+     */
+    int[] pawns() {
+        return pawns;
+    }
+
+    /**
+     * Inserts the next arrow of the sequence, or the one after it if it is
+     * forbidden, and moves the pawns with the line.
+     */
+    void insertNext() {
+        int index = arrows[step++ & (LENGTH - 1)];
+        if (!board.canInsert(board.getArrow(index))) {
+            index = (index + 1) % board.getArrowCount();
+        }
+        board.insertAndShift(board.getArrow(index));
+        for (int i = 0; i < pawns.length; i++) {
+            pawns[i] = board.shiftedCell(index, pawns[i]);
+        }
+    }
+}
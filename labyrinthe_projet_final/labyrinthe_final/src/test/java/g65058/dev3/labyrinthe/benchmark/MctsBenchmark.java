@@ -0,0 +1,57 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.MctsStrategy;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthGame;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one decision of the Monte Carlo robot at the start of a
+ * four-player game, every worker running {@link #PLAYOUTS_PER_WORKER}
+ * playouts. With one processor per worker the time stays flat as threads
+ * are added, and {@code threads * PLAYOUTS_PER_WORKER} divided by the score
+ * gives the playouts per second.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=MctsBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MctsBenchmark {
+    /** Playouts of each worker per decision. */
+    public static final long PLAYOUTS_PER_WORKER = 2_000;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private Board board;
+    private Player player;
+    private MctsStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        board = game.getBoard();
+        player = game.getCurrentPlayer();
+        strategy = new MctsStrategy(threads, 60_000, PLAYOUTS_PER_WORKER, new SplittableRandom(42));
+        strategy.setPlayers(game.getPlayers());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        strategy.close();
+    }
+
+    @Benchmark
+    public Move mctsMove() {
+        return strategy.chooseMove(board, player, board.getSpareTile());
+    }
+}
@@ -0,0 +1,73 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.OpeningBook;
+import g65058.dev3.labyrinthe.model.ai.OpeningBookWriter;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.board.BoardGenerator;
+import g65058.dev3.labyrinthe.model.board.Direction;
+import g65058.dev3.labyrinthe.model.game.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening a book of {@link #ENTRIES} positions, which maps the
+ * file without reading it, and looking up a position of the book.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=OpeningBookBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpeningBookBenchmark {
+    /** Positions of the book. */
+    public static final int ENTRIES = 1_000_000;
+
+    private Path path;
+    private Board board;
+    private long[] keys;
+    private OpeningBook book;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        board = new BoardGenerator().generate(0);
+        SplittableRandom random = new SplittableRandom(1);
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        keys = new long[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            keys[i] = random.nextLong();
+            writer.add(keys[i], board, new Move(board.getArrow(i % board.getArrowCount()), Direction.NORTH,
+                    board.positionOf(i % 49)));
+        }
+        path = Files.createTempFile("opening-book", ".bin");
+        writer.write(path);
+        book = OpeningBook.open(path);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        book.close();
+        Files.delete(path);
+    }
+
+    @Benchmark
+    public Move lookup() {
+        next = next + 1 == ENTRIES ? 0 : next + 1;
+        return book.lookup(keys[next], board);
+    }
+
+    @Benchmark
+    public int openAndClose() throws IOException {
+        try (OpeningBook opened = OpeningBook.open(path)) {
+            return opened.size();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.SearchMode;
+import g65058.dev3.labyrinthe.model.ai.SearchStrategy;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthGame;
+import g65058.dev3.labyrinthe.model.game.Move;
+import g65058.dev3.labyrinthe.model.game.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one decision of the search robot at the start of a four-player
+ * game on the standard board, with a fixed node budget: the score divided
+ * into {@link #NODE_BUDGET} gives the nodes per second of each mode. The
+ * depth reached is read from {@link SearchStrategy#getLastStats()}.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=SearchStrategyBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchStrategyBenchmark {
+    /** Nodes searched per decision. */
+    public static final long NODE_BUDGET = 100_000;
+
+    @Param({"PARANOID", "MAX_N"})
+    public SearchMode mode;
+
+    private Board board;
+    private Player player;
+    private SearchStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        board = game.getBoard();
+        player = game.getCurrentPlayer();
+        strategy = new SearchStrategy(mode, SearchStrategy.DEFAULT_MAX_DEPTH, NODE_BUDGET, 60_000);
+        strategy.setPlayers(game.getPlayers());
+    }
+
+    @Benchmark
+    public Move searchMove() {
+        return strategy.chooseMove(board, player, board.getSpareTile());
+    }
+}
@@ -0,0 +1,69 @@
+package g65058.dev3.labyrinthe.benchmark;
+
+import g65058.dev3.labyrinthe.model.ai.SearchMode;
+import g65058.dev3.labyrinthe.model.ai.SearchStrategy;
+import g65058.dev3.labyrinthe.model.ai.TranspositionTable;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.board.BoardGenerator;
+import g65058.dev3.labyrinthe.model.game.Player;
+import g65058.dev3.labyrinthe.model.game.TestPlayers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a paranoid search to a fixed depth at the start of four-player
+ * games on seeded standard boards, with and without a transposition table.
+ * The table is emptied before each operation, so that it only helps within
+ * the searches; the nodes and the hit rate are read from
+ * {@link SearchStrategy#getLastStats()} and {@link TranspositionTable#getHitRate()}.
+ * <p>
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=TranspositionTableBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TranspositionTableBenchmark {
+    /** Depth of the search, in plies. */
+    public static final int DEPTH = 5;
+    /** Positions searched per operation. */
+    public static final int POSITIONS = 4;
+
+    @Param({"true", "false"})
+    public boolean withTable;
+
+    private final Board[] boards = new Board[POSITIONS];
+    private final Player[][] players = new Player[POSITIONS][];
+    private SearchStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BoardGenerator generator = new BoardGenerator();
+        for (int i = 0; i < POSITIONS; i++) {
+            boards[i] = generator.generate(i);
+            players[i] = TestPlayers.deal(new Random(i));
+        }
+        TranspositionTable table = withTable ? new TranspositionTable(SearchStrategy.DEFAULT_TABLE_BITS) : null;
+        strategy = new SearchStrategy(SearchMode.PARANOID, DEPTH, Long.MAX_VALUE, 60_000, table);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        if (strategy.getTable() != null) {
+            strategy.getTable().clear();
+        }
+    }
+
+    @Benchmark
+    public void searchMoves(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            strategy.setPlayers(players[i]);
+            blackhole.consume(strategy.chooseMove(boards[i], players[i][0], boards[i].getSpareTile()));
+        }
+    }
+}
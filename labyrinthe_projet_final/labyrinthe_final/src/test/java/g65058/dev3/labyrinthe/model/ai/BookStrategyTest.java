@@ -0,0 +1,110 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the BookStrategy class.
+ */
+class BookStrategyTest {
+    private static final long SEED = 11;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the opening of the seeded game, with small searches.
+     */
+    private OpeningBook writeBook() throws IOException {
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 2, 2_000, 60_000);
+        LabyrinthGame game = new LabyrinthGame(1, strategy, true, Board.SIZE, SEED);
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        writer.addOpening(game.getBoard(), game.getPlayers(), 0, strategy, game.isSimplifiedVersion(), 3);
+        assertEquals(3 * 3, writer.size(), "Three robot moves after each human move");
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+        return OpeningBook.open(path);
+    }
+
+    @Test
+    void testRobotsPlayFromTheBook() throws IOException {
+        try (OpeningBook book = writeBook()) {
+            BookStrategy strategy = new BookStrategy(book, new SearchStrategy(SearchMode.PARANOID, 2, 2_000, 60_000));
+            LabyrinthGame game = new LabyrinthGame(1, strategy, true, Board.SIZE, SEED);
+            game.start();
+            Board board = game.getBoard();
+            play(game, new GreedyStrategy().chooseMove(board, game.getCurrentPlayer(), board.getSpareTile()));
+
+            // The three robots answer from the book
+            for (int robot = 1; robot <= 3; robot++) {
+                board = game.getBoard();
+                Move move = strategy.chooseMove(board, game.getCurrentPlayer(), board.getSpareTile());
+                assertEquals(robot, strategy.getHits());
+                assertTrue(game.canInsert(move.getInsertArrow()));
+                play(game, move);
+            }
+            assertEquals(0, game.getCurrentPlayerIndex());
+        }
+    }
+
+    @Test
+    void testPositionOutOfTheBookIsSearched() throws IOException {
+        try (OpeningBook book = writeBook()) {
+            BookStrategy strategy = new BookStrategy(book, new GreedyStrategy());
+            LabyrinthGame game = new LabyrinthGame(1, strategy, true, Board.SIZE, SEED + 1);
+            Board board = game.getBoard();
+            Player robot = game.getPlayers()[1];
+
+            Move move = strategy.chooseMove(board, robot, board.getSpareTile());
+            assertEquals(1, strategy.getLookups());
+            assertEquals(0, strategy.getHits());
+            Move greedy = new GreedyStrategy().chooseMove(board, robot, board.getSpareTile());
+            assertEquals(greedy.getDestination(), move.getDestination());
+            assertEquals("Greedy (Level 1)", strategy.getName());
+        }
+    }
+
+    @Test
+    void testIllegalBookMoveIsNotPlayed() throws IOException {
+        LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, SEED);
+        Board board = game.getBoard();
+        Player robot = game.getPlayers()[1];
+        long key = new Simulation(board, game.getPlayers(), robot, true).hash(1);
+
+        // A corrupted entry for the robot's position: a destination it cannot reach
+        Arrow arrow = board.getValidArrows().get(0);
+        Direction orientation = board.getSpareTile().getOrientation();
+        Board after = play(board, new Move(arrow, orientation, null));
+        Position pawn = arrow.shift(robot.getPosition(), Board.SIZE);
+        Position unreachable = null;
+        for (int cell = 0; unreachable == null; cell++) {
+            if (!after.isReachable(pawn, board.positionOf(cell))) {
+                unreachable = board.positionOf(cell);
+            }
+        }
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        writer.add(key, board, new Move(arrow, orientation, unreachable));
+        Path path = directory.resolve("corrupted.bin");
+        writer.write(path);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertNotNull(book.lookup(key, board));
+            BookStrategy strategy = new BookStrategy(book, new GreedyStrategy());
+            strategy.setPlayers(game.getPlayers());
+            strategy.setSimplifiedVersion(true);
+
+            Move move = strategy.chooseMove(board, robot, board.getSpareTile());
+            assertEquals(0, strategy.getHits());
+            Move greedy = new GreedyStrategy().chooseMove(board, robot, board.getSpareTile());
+            assertEquals(greedy.getDestination(), move.getDestination());
+        }
+    }
+}
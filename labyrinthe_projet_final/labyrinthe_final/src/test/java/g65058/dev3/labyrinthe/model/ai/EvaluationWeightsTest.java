@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the EvaluationWeights class.
+ */
+class EvaluationWeightsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSavedWeightsAreLoadedBack() throws IOException {
+        EvaluationWeights weights = new EvaluationWeights(6, 2, 1, 75);
+        Path path = directory.resolve("weights.properties");
+        weights.save(path, "test");
+
+        assertEquals(weights, EvaluationWeights.load(path));
+        assertArrayEquals(new int[]{6, 2, 1, 75}, weights.toVector());
+    }
+
+    @Test
+    void testMissingWeightsKeepTheirDefault() throws IOException {
+        Path path = directory.resolve("weights.properties");
+        Files.writeString(path, "reach=3\n");
+
+        assertEquals(new EvaluationWeights(4, 1, 3, 100), EvaluationWeights.load(path));
+    }
+
+    @Test
+    void testInvalidFileIsRejected() throws IOException {
+        Path path = directory.resolve("weights.properties");
+        Files.writeString(path, "found=many\n");
+        assertThrows(IOException.class, () -> EvaluationWeights.load(path));
+
+        Files.writeString(path, "distance=-1\n");
+        assertThrows(IOException.class, () -> EvaluationWeights.load(path));
+    }
+
+    @Test
+    void testInvalidWeightsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationWeights(4, 1, 0, EvaluationWeights.MAX_WEIGHT + 1));
+        assertThrows(IllegalArgumentException.class, () -> EvaluationWeights.of(1, 2, 3));
+    }
+
+    @Test
+    void testDefaultWeightsWithoutFile() {
+        assertNull(System.getProperty(EvaluationWeights.WEIGHTS_PROPERTY));
+        assertEquals(EvaluationWeights.DEFAULT, EvaluationWeights.tuned());
+        assertEquals(EvaluationWeights.DEFAULT, new SearchStrategy().getWeights());
+    }
+}
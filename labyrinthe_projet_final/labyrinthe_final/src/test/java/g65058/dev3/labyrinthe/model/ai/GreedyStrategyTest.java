@@ -0,0 +1,147 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Stack;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GreedyStrategy class.
+ */
+class GreedyStrategyTest {
+    private static final int MAX_TURNS = 2000;
+
+    private final GreedyStrategy strategy = new GreedyStrategy();
+
+    /**
+     * Creates a player at its starting corner looking for one objective.
+     */
+    private static Player playerLookingFor(Objective objective, int boardSize) {
+        Stack<ObjectiveCard> objectives = new Stack<>();
+        objectives.push(new ObjectiveCard(objective));
+        return new Player(0, "TestPlayer", PlayerColor.YELLOW, objectives, null, true, boardSize);
+    }
+
+    /**
+     * Checks by brute force if some insertion lets the player reach the objective.
+     */
+    private static boolean objectiveWithinReach(Board board, Player player, Objective objective) {
+        for (Arrow arrow : board.getValidArrows()) {
+            for (Direction orientation : Direction.values()) {
+                Board after = play(board, new Move(arrow, orientation, null));
+                Position pawn = arrow.shift(player.getPosition(), board.getSize());
+                Position target = after.locate(objective);
+                if (target != null && after.isReachable(pawn, target)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void testMovesAreLegal() {
+        for (int size : new int[]{Board.SIZE, 9}) {
+            BoardGenerator generator = new BoardGenerator(size);
+            for (long seed = 0; seed < 30; seed++) {
+                Board board = generator.generate(seed);
+                Player player = playerLookingFor(Objective.values()[(int) seed % Objective.values().length], size);
+                long hash = board.getHash();
+
+                Move move = strategy.chooseMove(board, player, board.getSpareTile());
+                assertEquals(hash, board.getHash(), "The board must be left as it was");
+                assertTrue(board.canInsert(move.getInsertArrow()));
+
+                Board after = play(board, move);
+                Position pawn = move.getInsertArrow().shift(player.getPosition(), size);
+                assertTrue(after.isReachable(pawn, move.getDestination()));
+            }
+        }
+    }
+
+    @Test
+    void testTakesTheObjectiveWhenWithinReach() {
+        for (int size : new int[]{Board.SIZE, 9}) {
+            BoardGenerator generator = new BoardGenerator(size);
+            int withinReach = 0;
+            for (long seed = 0; seed < 60; seed++) {
+                Board board = generator.generate(seed);
+                Objective objective = Objective.values()[(int) seed % Objective.values().length];
+                Player player = playerLookingFor(objective, size);
+                if (!objectiveWithinReach(board, player, objective)) {
+                    continue;
+                }
+                withinReach++;
+
+                Move move = strategy.chooseMove(board, player, board.getSpareTile());
+                assertEquals(move.getDestination(), play(board, move).locate(objective));
+            }
+            assertTrue(withinReach > 0);
+        }
+    }
+
+    @Test
+    void testHeadsHomeAfterTheLastObjective() {
+        Board board = new BoardGenerator().generate(3);
+        Player player = playerLookingFor(Objective.SWORD, Board.SIZE);
+        player.achieveObjective();
+        player.setPosition(board.positionOf(24));
+
+        Move move = strategy.chooseMove(board, player, board.getSpareTile());
+        Board after = play(board, move);
+        Position pawn = move.getInsertArrow().shift(player.getPosition(), Board.SIZE);
+        List<Position> reachable = after.getReachablePositions(pawn);
+        for (Position position : reachable) {
+            assertTrue(distance(move.getDestination(), player.getStartPosition())
+                    <= distance(position, player.getStartPosition()));
+        }
+    }
+
+    private static int distance(Position first, Position second) {
+        return Math.abs(first.getRow() - second.getRow()) + Math.abs(first.getCol() - second.getCol());
+    }
+
+    @Test
+    void testBeatsRandomStrategy() {
+        int greedyWins = 0;
+        int games = 20;
+        for (int game = 0; game < games; game++) {
+            // Each deal is played twice with the seats swapped, so that playing first is no advantage
+            Strategy[] seats = game % 2 == 0
+                    ? new Strategy[]{new GreedyStrategy(), new RandomStrategy(game), new GreedyStrategy(), new RandomStrategy(-game)}
+                    : new Strategy[]{new RandomStrategy(game), new GreedyStrategy(), new RandomStrategy(-game), new GreedyStrategy()};
+            int winner = playOut(seats, game / 2);
+            assertTrue(winner >= 0, "Game " + game + " undecided after " + MAX_TURNS + " turns");
+            if (seats[winner] instanceof GreedyStrategy) {
+                greedyWins++;
+            }
+        }
+        assertTrue(greedyWins >= games * 9 / 10, "Greedy won only " + greedyWins + " of " + games);
+    }
+
+    /**
+     * Plays a simplified game dealt from a seed, with one strategy per seat.
+     *
+     * @return the winner's seat, or -1 if nobody won in time
+     */
+    private static int playOut(Strategy[] seats, long seed) {
+        LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, seed);
+        game.start();
+        for (int turn = 0; turn < MAX_TURNS && !game.isFinished(); turn++) {
+            Player player = game.getCurrentPlayer();
+            Board board = game.getBoard();
+            play(game, seats[player.getId()].chooseMove(board, player, board.getSpareTile()));
+        }
+        return game.getWinnerId();
+    }
+
+    @Test
+    void testStrategyNameIsCorrect() {
+        assertEquals("Greedy (Level 1)", strategy.getName());
+    }
+}
@@ -0,0 +1,146 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.Stack;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the MctsStrategy class.
+ */
+class MctsStrategyTest {
+
+    @Test
+    void testMovesAreLegal() {
+        for (int size : new int[]{Board.SIZE, 9}) {
+            LabyrinthGame game = new LabyrinthGame(1, null, true, size);
+            try (MctsStrategy strategy = new MctsStrategy(2, 10_000, 200, new SplittableRandom(size))) {
+                strategy.setPlayers(game.getPlayers());
+                Board board = game.getBoard();
+                long hash = board.getHash();
+
+                for (Player player : game.getPlayers()) {
+                    Move move = strategy.chooseMove(board, player, board.getSpareTile());
+                    assertEquals(hash, board.getHash(), "The board must be left as it was");
+                    assertTrue(board.canInsert(move.getInsertArrow()));
+                    Position pawn = move.getInsertArrow().shift(player.getPosition(), size);
+                    assertTrue(play(board, move).isReachable(pawn, move.getDestination()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEveryWorkerSpendsItsPlayoutBudget() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        try (MctsStrategy strategy = new MctsStrategy(3, 60_000, 150, new SplittableRandom(1))) {
+            strategy.setPlayers(game.getPlayers());
+            strategy.chooseMove(game.getBoard(), game.getCurrentPlayer(), game.getBoard().getSpareTile());
+
+            SearchStats stats = strategy.getLastStats();
+            assertEquals(3 * 150, stats.getNodes());
+            assertTrue(stats.getDepth() >= 2, stats.toString());
+        }
+    }
+
+    @Test
+    void testGoesHomeWhenItWins() {
+        BoardGenerator generator = new BoardGenerator();
+        int wins = 0;
+        try (MctsStrategy strategy = new MctsStrategy(2, 60_000, 300, new SplittableRandom(2))) {
+            for (long seed = 0; seed < 20; seed++) {
+                Board board = generator.generate(seed);
+                Stack<ObjectiveCard> cards = new Stack<>();
+                cards.push(new ObjectiveCard(Objective.RING));
+                Player player = new Player(0, "Robot", PlayerColor.YELLOW, cards, null, true);
+                player.achieveObjective();
+                player.setPosition(board.positionOf((int) (seed * 5 % 49)));
+
+                boolean homeWithinReach = false;
+                for (Arrow arrow : board.getValidArrows()) {
+                    for (Direction orientation : Direction.values()) {
+                        Board after = play(board, new Move(arrow, orientation, null));
+                        Position pawn = arrow.shift(player.getPosition(), Board.SIZE);
+                        homeWithinReach |= after.isReachable(pawn, player.getStartPosition());
+                    }
+                }
+                if (homeWithinReach) {
+                    wins++;
+                    Move move = strategy.chooseMove(board, player, board.getSpareTile());
+                    assertEquals(player.getStartPosition(), move.getDestination());
+                }
+            }
+        }
+        assertTrue(wins > 0);
+    }
+
+    @Test
+    void testCancelledSearchPlaysTheClosestMove() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+        CancellationToken cancellation = new CancellationToken();
+        cancellation.cancel();
+        try (MctsStrategy strategy = new MctsStrategy(2, 60_000, Long.MAX_VALUE, new SplittableRandom(3))) {
+            strategy.setPlayers(game.getPlayers());
+            Move move = strategy.chooseMove(board, player, board.getSpareTile(), Strategy.NO_DEADLINE, cancellation);
+
+            assertEquals(0, strategy.getLastStats().getNodes());
+            Move greedy = new GreedyStrategy().chooseMove(board, player, board.getSpareTile());
+            assertEquals(greedy.getInsertArrow(), move.getInsertArrow());
+            assertEquals(greedy.getDestination(), move.getDestination());
+        }
+    }
+
+    @Test
+    void testInterruptedSearchPlaysTheClosestMove() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+        try (MctsStrategy strategy = new MctsStrategy(2, 60_000, Long.MAX_VALUE, new SplittableRandom(5))) {
+            strategy.setPlayers(game.getPlayers());
+            Thread.currentThread().interrupt();
+            Move move = strategy.chooseMove(board, player, board.getSpareTile());
+
+            assertTrue(Thread.interrupted(), "The interrupt must be kept");
+            assertEquals(0, strategy.getLastStats().getNodes());
+            Move greedy = new GreedyStrategy().chooseMove(board, player, board.getSpareTile());
+            assertEquals(greedy.getInsertArrow(), move.getInsertArrow());
+            assertEquals(greedy.getDestination(), move.getDestination());
+        }
+    }
+
+    @Test
+    void testCallerDeadlineStopsTheWorkers() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        try (MctsStrategy strategy = new MctsStrategy(2, 60_000, Long.MAX_VALUE, new SplittableRandom(4))) {
+            strategy.setPlayers(game.getPlayers());
+            long deadline = System.nanoTime() + 50_000_000;
+            strategy.chooseMove(game.getBoard(), game.getCurrentPlayer(), game.getBoard().getSpareTile(),
+                    deadline, new CancellationToken());
+
+            SearchStats stats = strategy.getLastStats();
+            assertTrue(stats.getElapsedNanos() < 5_000_000_000L, stats.toString());
+        }
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        SplittableRandom random = new SplittableRandom();
+        assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(0, 1, 1, random));
+        assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(1, 0, 1, random));
+        assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(1, 1, 0, random));
+    }
+
+    @Test
+    void testStrategyNameIsCorrect() {
+        try (MctsStrategy strategy = new MctsStrategy()) {
+            assertEquals("Monte Carlo (Level 3)", strategy.getName());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Stack;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the MoveGenerator class.
+ */
+class MoveGeneratorTest {
+
+    @Test
+    void testMovesAreLegalAndDistinct() {
+        for (long seed = 0; seed < 5; seed++) {
+            LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, seed);
+            Board board = game.getBoard();
+            Player player = game.getCurrentPlayer();
+            long hash = board.getHash();
+            MoveGenerator generator = new MoveGenerator();
+            generator.setPlayers(game.getPlayers());
+
+            Set<String> positions = new HashSet<>();
+            for (Move move : generator.moves(board, player, board.getSpareTile())) {
+                assertTrue(board.canInsert(move.getInsertArrow()));
+                Board after = play(board, move);
+                Position pawn = move.getInsertArrow().shift(player.getPosition(), Board.SIZE);
+                assertTrue(after.isReachable(pawn, move.getDestination()));
+                assertTrue(positions.add(after.getHash() + "/" + move.getDestination()), "Position listed twice");
+            }
+            assertEquals(hash, board.getHash(), "The board must be left as it was");
+            assertEquals(positions.size(), generator.getDistinctCount());
+        }
+    }
+
+    @Test
+    void testEveryReachableCellIsListed() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, 7);
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+        MoveGenerator generator = new MoveGenerator();
+
+        // For each insertion tried, the listed destinations are the reachable cells
+        Set<String> listed = new HashSet<>();
+        for (Move move : generator.moves(board, player, board.getSpareTile())) {
+            listed.add(move.getInsertArrow() + "/" + move.getTileRotation() + "/" + move.getDestination());
+        }
+        Set<String> insertions = new HashSet<>();
+        for (String key : listed) {
+            insertions.add(key.substring(0, key.lastIndexOf('/')));
+        }
+        long raw = 0;
+        for (Arrow arrow : board.getValidArrows()) {
+            for (Direction orientation : Direction.values()) {
+                Board after = play(board, new Move(arrow, orientation, null));
+                Position pawn = arrow.shift(player.getPosition(), Board.SIZE);
+                int reachable = 0;
+                for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+                    if (after.isReachable(pawn, board.positionOf(cell))) {
+                        reachable++;
+                        if (insertions.contains(arrow + "/" + orientation)) {
+                            assertTrue(listed.contains(arrow + "/" + orientation + "/" + board.positionOf(cell)));
+                        }
+                    }
+                }
+                raw += reachable;
+            }
+        }
+        assertEquals(raw, generator.getRawCount());
+    }
+
+    @Test
+    void testStraightTileHasTwoOrientations() {
+        BoardGenerator boardGenerator = new BoardGenerator();
+        Board board = boardGenerator.generate(0);
+        for (long seed = 1; board.getSpareTile().getType() != TileType.STRAIGHT; seed++) {
+            board = boardGenerator.generate(seed);
+        }
+        Player player = new Player(0, "Robot", PlayerColor.YELLOW, new Stack<>(), null, true);
+        player.setPosition(board.positionOf(0));
+        MoveGenerator generator = new MoveGenerator();
+
+        Set<Direction> orientations = new HashSet<>();
+        for (Move move : generator.moves(board, player, board.getSpareTile())) {
+            orientations.add(move.getTileRotation());
+        }
+        assertEquals(2, orientations.size());
+        assertTrue(generator.getReductionFactor() >= 2);
+    }
+
+    @Test
+    void testIterationIsLazy() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, 11);
+        Board board = game.getBoard();
+        MoveGenerator generator = new MoveGenerator();
+        Iterator<Move> moves = generator.moves(board, game.getCurrentPlayer(), board.getSpareTile()).iterator();
+
+        assertTrue(moves.hasNext());
+        moves.next();
+        assertEquals(0, generator.getDistinctCount(), "Counts are only known after a complete iteration");
+        while (moves.hasNext()) {
+            moves.next();
+        }
+        assertThrows(NoSuchElementException.class, moves::next);
+        assertTrue(generator.getRawCount() >= generator.getDistinctCount());
+    }
+}
@@ -0,0 +1,133 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the OpeningBook and OpeningBookWriter classes.
+ */
+class OpeningBookTest {
+    @TempDir
+    Path directory;
+
+    private static Move randomMove(Board board, SplittableRandom random) {
+        return new Move(board.getArrow(random.nextInt(board.getArrowCount())),
+                Direction.values()[random.nextInt(4)],
+                board.positionOf(random.nextInt(board.getSize() * board.getSize())));
+    }
+
+    @Test
+    void testEveryWrittenPositionIsFound() throws IOException {
+        Board board = new BoardGenerator().generate(1);
+        SplittableRandom random = new SplittableRandom(2);
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        Map<Long, Move> written = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            long key = random.nextLong();
+            Move move = randomMove(board, random);
+            writer.add(key, board, move);
+            written.put(key, move);
+        }
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+        assertEquals(OpeningBook.HEADER_BYTES + 1000L * OpeningBook.ENTRY_BYTES, Files.size(path));
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(1000, book.size());
+            assertEquals(Board.SIZE, book.getBoardSize());
+            for (Map.Entry<Long, Move> entry : written.entrySet()) {
+                Move found = book.lookup(entry.getKey(), board);
+                assertEquals(entry.getValue().getInsertArrow(), found.getInsertArrow());
+                assertEquals(entry.getValue().getTileRotation(), found.getTileRotation());
+                assertEquals(entry.getValue().getDestination(), found.getDestination());
+            }
+            assertNull(book.lookup(random.nextLong(), board));
+        }
+    }
+
+    @Test
+    void testLaterMoveReplacesEarlierOne() throws IOException {
+        Board board = new BoardGenerator().generate(3);
+        SplittableRandom random = new SplittableRandom(4);
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        Move second = randomMove(board, random);
+        writer.add(42, board, randomMove(board, random));
+        writer.add(42, board, second);
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(1, book.size());
+            assertEquals(second.getDestination(), book.lookup(42, board).getDestination());
+        }
+    }
+
+    @Test
+    void testBoardOfAnotherSizeIsNotLookedUp() throws IOException {
+        Board board = new BoardGenerator().generate(5);
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        writer.add(7, board, randomMove(board, new SplittableRandom(6)));
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertNull(book.lookup(7, new BoardGenerator(9).generate(5)));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.add(8, new BoardGenerator(9).generate(5), randomMove(board, new SplittableRandom(6))));
+    }
+
+    @Test
+    void testEmptyBook() throws IOException {
+        Path path = directory.resolve("empty.bin");
+        new OpeningBookWriter(Board.SIZE).write(path);
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(0, book.size());
+            assertNull(book.lookup(0, new BoardGenerator().generate(0)));
+        }
+    }
+
+    @Test
+    void testBookNamedByThePropertyIsOpened() throws IOException {
+        Path path = directory.resolve("book.bin");
+        new OpeningBookWriter(9).write(path);
+        assertNull(System.getProperty(OpeningBook.BOOK_PROPERTY));
+        assertNull(OpeningBook.openFromProperty());
+
+        System.setProperty(OpeningBook.BOOK_PROPERTY, "");
+        assertNull(OpeningBook.openFromProperty());
+        System.setProperty(OpeningBook.BOOK_PROPERTY, path.toString());
+        try (OpeningBook book = OpeningBook.openFromProperty()) {
+            assertEquals(9, book.getBoardSize());
+        } finally {
+            System.clearProperty(OpeningBook.BOOK_PROPERTY);
+        }
+    }
+
+    @Test
+    void testOtherFilesAreRejected() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+
+        Path truncated = directory.resolve("truncated.bin");
+        OpeningBookWriter writer = new OpeningBookWriter(Board.SIZE);
+        Board board = new BoardGenerator().generate(0);
+        writer.add(1, board, randomMove(board, new SplittableRandom(0)));
+        writer.write(truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> OpeningBook.open(truncated));
+    }
+}
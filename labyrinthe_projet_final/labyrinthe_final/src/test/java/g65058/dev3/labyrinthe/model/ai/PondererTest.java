@@ -0,0 +1,89 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Ponderer class.
+ */
+class PondererTest {
+
+    @Test
+    void testAnticipatedPositionIsAnsweredAtOnce() {
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 2, 2_000, 10_000);
+        LabyrinthGame game = new LabyrinthGame(1, strategy, true);
+        game.start();
+        Ponderer ponderer = new Ponderer(strategy, true);
+
+        ponderer.prepare(game.getBoard(), game.getPlayers(), 0, new CancellationToken()).run();
+        assertTrue(ponderer.getAnticipated() > 0);
+
+        // The human plays the most promising move, which was anticipated
+        Board board = game.getBoard();
+        play(game, new GreedyStrategy().chooseMove(board, game.getCurrentPlayer(), board.getSpareTile()));
+        Move reply = ponderer.lookup(game.getStateHash());
+        assertNotNull(reply);
+        assertEquals(1, ponderer.getHits());
+
+        // The reply is legal in the actual position
+        Player robot = game.getCurrentPlayer();
+        board = game.getBoard();
+        board.setSpareOrientation(reply.getTileRotation());
+        assertTrue(game.canInsert(reply.getInsertArrow()));
+        game.performInsertion(reply.getInsertArrow(), reply.getTileRotation());
+        assertTrue(game.canMove(reply.getDestination()), robot + " " + reply);
+    }
+
+    @Test
+    void testStrategyKeepsTheGamePlayers() {
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 2, 2_000, 10_000);
+        LabyrinthGame game = new LabyrinthGame(1, strategy, true);
+        game.start();
+        long hash = game.getStateHash();
+
+        new Ponderer(strategy, true).prepare(game.getBoard(), game.getPlayers(), 0, new CancellationToken()).run();
+        assertEquals(hash, game.getStateHash(), "Pondering must leave the game as it was");
+
+        // The robot searches the actual players again: its move is legal for them
+        Board board = game.getBoard();
+        Player robot = game.getPlayers()[1];
+        Move move = strategy.chooseMove(board, robot, board.getSpareTile());
+        Board after = board.copy();
+        after.setSpareOrientation(move.getTileRotation());
+        after.insertAndShift(move.getInsertArrow());
+        Position pawn = move.getInsertArrow().shift(robot.getPosition(), board.getSize());
+        assertTrue(after.isReachable(pawn, move.getDestination()));
+    }
+
+    @Test
+    void testCancelledPonderingKeepsNoReply() {
+        SearchStrategy strategy = new SearchStrategy();
+        LabyrinthGame game = new LabyrinthGame(1, strategy, true);
+        game.start();
+        Ponderer ponderer = new Ponderer(strategy, true);
+        CancellationToken cancellation = new CancellationToken();
+
+        Runnable pondering = ponderer.prepare(game.getBoard(), game.getPlayers(), 0, cancellation);
+        cancellation.cancel();
+        pondering.run();
+        assertEquals(0, ponderer.getAnticipated());
+        assertNull(ponderer.lookup(game.getStateHash()));
+        assertEquals(1, ponderer.getLookups());
+    }
+
+    @Test
+    void testNothingToPrepareBeforeAHuman() {
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 2, 2_000, 10_000);
+        LabyrinthGame game = new LabyrinthGame(2, strategy, true);
+        game.start();
+        Ponderer ponderer = new Ponderer(strategy, true);
+
+        // Player 2 is human too
+        ponderer.prepare(game.getBoard(), game.getPlayers(), 0, new CancellationToken()).run();
+        assertEquals(0, ponderer.getAnticipated());
+    }
+}
@@ -94,7 +94,7 @@ class RandomStrategyTest {
 
         // Simulate the insertion
         Board tempBoard = board.copy();
-        tempBoard.getSpareTile().setOrientation(move.getTileRotation());
+        tempBoard.setSpareOrientation(move.getTileRotation());
         tempBoard.insertAndShift(move.getInsertArrow());
 
         // The destination should be reachable from the player's (possibly shifted) position
@@ -102,4 +102,36 @@ class RandomStrategyTest {
         assertNotNull(move.getDestination());
         assertTrue(move.getDestination().isInBounds(Board.SIZE));
     }
+
+    @Test
+    void testBoardIsOnlyRead() throws InterruptedException {
+        long hash = board.getHash();
+        Thread[] threads = new Thread[4];
+        Throwable[] failures = new Throwable[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int seat = t;
+            // Several strategies read the same board at once
+            RandomStrategy own = new RandomStrategy(seat);
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        Move move = own.chooseMove(board, player, board.getSpareTile());
+                        assertTrue(board.canInsert(move.getInsertArrow()));
+                    }
+                } catch (Throwable e) {
+                    failures[seat] = e;
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Throwable failure : failures) {
+            assertNull(failure);
+        }
+        assertEquals(hash, board.getHash());
+    }
 }
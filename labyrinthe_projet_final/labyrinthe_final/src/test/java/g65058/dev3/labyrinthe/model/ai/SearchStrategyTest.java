@@ -0,0 +1,264 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.game.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
+import static g65058.dev3.labyrinthe.model.game.TestPlayers.deal;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SearchStrategy class.
+ */
+class SearchStrategyTest {
+
+    private static void assertLegal(Board board, Player player, Move move) {
+        assertTrue(board.canInsert(move.getInsertArrow()));
+        Position pawn = move.getInsertArrow().shift(player.getPosition(), board.getSize());
+        assertTrue(play(board, move).isReachable(pawn, move.getDestination()));
+    }
+
+    @Test
+    void testMovesAreLegalInBothModes() {
+        for (SearchMode mode : SearchMode.values()) {
+            for (int size : new int[]{Board.SIZE, 9}) {
+                LabyrinthGame game = new LabyrinthGame(1, null, true, size);
+                SearchStrategy strategy = new SearchStrategy(mode, 2, 10_000, 10_000);
+                strategy.setPlayers(game.getPlayers());
+                Board board = game.getBoard();
+                long hash = board.getHash();
+
+                for (Player player : game.getPlayers()) {
+                    Move move = strategy.chooseMove(board, player, board.getSpareTile());
+                    assertEquals(hash, board.getHash(), "The board must be left as it was");
+                    assertLegal(board, player, move);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testGoesHomeWhenItWins() {
+        BoardGenerator generator = new BoardGenerator();
+        int wins = 0;
+        for (long seed = 0; seed < 40; seed++) {
+            Board board = generator.generate(seed);
+            Stack<ObjectiveCard> cards = new Stack<>();
+            cards.push(new ObjectiveCard(Objective.KEYS));
+            Player player = new Player(0, "Robot", PlayerColor.YELLOW, cards, null, true);
+            player.achieveObjective();
+            player.setPosition(board.positionOf((int) (seed % 49)));
+
+            boolean homeWithinReach = false;
+            for (Arrow arrow : board.getValidArrows()) {
+                for (Direction orientation : Direction.values()) {
+                    Board after = play(board, new Move(arrow, orientation, null));
+                    Position pawn = arrow.shift(player.getPosition(), Board.SIZE);
+                    homeWithinReach |= after.isReachable(pawn, player.getStartPosition());
+                }
+            }
+            if (!homeWithinReach) {
+                continue;
+            }
+            wins++;
+            SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 3, 100_000, 10_000);
+            Move move = strategy.chooseMove(board, player, board.getSpareTile());
+            assertEquals(player.getStartPosition(), move.getDestination());
+            assertEquals(1, strategy.getLastStats().getDepth(), "A win in one stops the deepening");
+        }
+        assertTrue(wins > 0);
+    }
+
+    @Test
+    void testTakesTheLastObjectiveInTheSimplifiedVersion() {
+        BoardGenerator generator = new BoardGenerator();
+        int wins = 0;
+        for (long seed = 0; seed < 40; seed++) {
+            Board board = generator.generate(seed);
+            Stack<ObjectiveCard> cards = new Stack<>();
+            cards.push(new ObjectiveCard(Objective.KEYS));
+            Player player = new Player(0, "Robot", PlayerColor.YELLOW, cards, null, true);
+            player.setPosition(board.positionOf((int) (seed % 49)));
+
+            boolean objectiveWithinReach = false;
+            for (Arrow arrow : board.getValidArrows()) {
+                for (Direction orientation : Direction.values()) {
+                    Board after = play(board, new Move(arrow, orientation, null));
+                    int target = after.locateCell(Objective.KEYS);
+                    Position pawn = arrow.shift(player.getPosition(), Board.SIZE);
+                    objectiveWithinReach |= target != Board.SPARE_CELL
+                            && after.isReachable(pawn, after.positionOf(target));
+                }
+            }
+            if (!objectiveWithinReach) {
+                continue;
+            }
+            wins++;
+            SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 3, 100_000, 10_000);
+            strategy.setSimplifiedVersion(true);
+            Move move = strategy.chooseMove(board, player, board.getSpareTile());
+            Board after = play(board, move);
+            assertEquals(after.locateCell(Objective.KEYS), after.cellOf(move.getDestination()));
+            assertEquals(1, strategy.getLastStats().getDepth(), "A win in one stops the deepening");
+        }
+        assertTrue(wins > 0);
+    }
+
+    @Test
+    void testNodeBudgetBoundsTheSearch() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 12, 5_000, 60_000);
+        strategy.setPlayers(game.getPlayers());
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+
+        Move move = strategy.chooseMove(board, player, board.getSpareTile());
+        assertLegal(board, player, move);
+        SearchStats stats = strategy.getLastStats();
+        assertTrue(stats.getNodes() <= 5_000, stats.toString());
+        assertTrue(stats.getDepth() >= 1 && stats.getDepth() < 12, stats.toString());
+    }
+
+    @Test
+    void testIterativeDeepeningReachesMaxDepth() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 3, Long.MAX_VALUE, 60_000);
+        strategy.setPlayers(game.getPlayers());
+        Board board = game.getBoard();
+
+        strategy.chooseMove(board, game.getCurrentPlayer(), board.getSpareTile());
+        SearchStats stats = strategy.getLastStats();
+        assertEquals(3, stats.getDepth(), stats.toString());
+        assertTrue(stats.getNodes() > 0);
+        assertTrue(stats.getNodesPerSecond() > 0);
+    }
+
+    @Test
+    void testTranspositionTableSavesNodes() {
+        BoardGenerator generator = new BoardGenerator();
+        SearchStrategy without = new SearchStrategy(SearchMode.PARANOID, 5, Long.MAX_VALUE, 60_000, null);
+        SearchStrategy with = new SearchStrategy(SearchMode.PARANOID, 5, Long.MAX_VALUE, 60_000);
+        long nodesWithout = 0;
+        long nodesWith = 0;
+        // On a single position, the table may reorder moves for the worse
+        for (long seed = 0; seed < 4; seed++) {
+            Board board = generator.generate(seed);
+            Player[] players = deal(new Random(seed));
+            without.setPlayers(players);
+            with.setPlayers(players);
+            with.getTable().clear();
+
+            without.chooseMove(board, players[0], board.getSpareTile());
+            with.chooseMove(board, players[0], board.getSpareTile());
+            nodesWithout += without.getLastStats().getNodes();
+            nodesWith += with.getLastStats().getNodes();
+        }
+        assertNull(without.getTable());
+        assertTrue(with.getTable().getHitRate() > 0);
+        assertTrue(nodesWith < nodesWithout, nodesWith + " / " + nodesWithout);
+    }
+
+    @Test
+    void testSharedTableAcrossThreads() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(12);
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        Board board = game.getBoard();
+        Player[] players = game.getPlayers();
+        Move[] moves = new Move[players.length];
+        Thread[] threads = new Thread[players.length];
+        for (int i = 0; i < players.length; i++) {
+            int seat = i;
+            // Every thread searches its own copy, as a board is not thread-safe
+            Board copy = board.copy();
+            threads[i] = new Thread(() -> {
+                SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 3, 20_000, 60_000, table);
+                strategy.setPlayers(players);
+                moves[seat] = strategy.chooseMove(copy, players[seat], copy.getSpareTile());
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < players.length; i++) {
+            assertLegal(board, players[i], moves[i]);
+        }
+        assertTrue(table.getStores() > 0);
+    }
+
+    @Test
+    void testCancelledSearchPlaysTheClosestMove() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 8, Long.MAX_VALUE, 60_000);
+        strategy.setPlayers(game.getPlayers());
+        CancellationToken cancellation = new CancellationToken();
+        cancellation.cancel();
+
+        Move move = strategy.chooseMove(board, player, board.getSpareTile(), Strategy.NO_DEADLINE, cancellation);
+        assertLegal(board, player, move);
+        assertEquals(0, strategy.getLastStats().getDepth());
+        Move greedy = new GreedyStrategy().chooseMove(board, player, board.getSpareTile());
+        assertEquals(greedy.getInsertArrow(), move.getInsertArrow());
+        assertEquals(greedy.getDestination(), move.getDestination());
+    }
+
+    @Test
+    void testCallerDeadlineCutsTheSearchShort() {
+        LabyrinthGame game = new LabyrinthGame(1, null, true);
+        Board board = game.getBoard();
+        Player player = game.getCurrentPlayer();
+        // Alone, the search would run to depth 12 for a minute
+        SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 12, Long.MAX_VALUE, 60_000);
+        strategy.setPlayers(game.getPlayers());
+
+        Move move = strategy.chooseMove(board, player, board.getSpareTile(), System.nanoTime() + 50_000_000,
+                new CancellationToken());
+        assertLegal(board, player, move);
+        SearchStats stats = strategy.getLastStats();
+        assertTrue(stats.getElapsedNanos() < 5_000_000_000L, stats.toString());
+        assertTrue(stats.getDepth() < 12, stats.toString());
+    }
+
+    @Test
+    void testWeightsChangeTheMove() {
+        for (long seed = 0; seed < 5; seed++) {
+            LabyrinthGame game = new LabyrinthGame(1, null, true, Board.SIZE, seed);
+            Board board = game.getBoard();
+            Player player = game.getCurrentPlayer();
+            // Only the reach counts: the move must reach as many cells as any insertion allows
+            SearchStrategy strategy = new SearchStrategy(SearchMode.PARANOID, 1, 10_000, 10_000);
+            strategy.setWeights(new EvaluationWeights(0, 0, 1, 0));
+
+            int best = 0;
+            for (Arrow arrow : board.getValidArrows()) {
+                for (Direction orientation : Direction.values()) {
+                    Board after = play(board, new Move(arrow, orientation, null));
+                    best = Math.max(best, after.componentSize(after.cellOf(arrow.shift(player.getPosition(), Board.SIZE))));
+                }
+            }
+            Move move = strategy.chooseMove(board, player, board.getSpareTile());
+            assertLegal(board, player, move);
+            Board after = play(board, move);
+            assertEquals(best, after.componentSize(after.cellOf(move.getDestination())));
+        }
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchStrategy(SearchMode.MAX_N, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SearchStrategy(SearchMode.MAX_N, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SearchStrategy(SearchMode.MAX_N, 1, 1, 0));
+    }
+
+    @Test
+    void testStrategyNameIsCorrect() {
+        assertEquals("Search (Level 2)", new SearchStrategy().getName());
+    }
+}
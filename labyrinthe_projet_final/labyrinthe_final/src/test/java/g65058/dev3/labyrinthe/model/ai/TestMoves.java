@@ -0,0 +1,36 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthGame;
+import g65058.dev3.labyrinthe.model.game.Move;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Move helpers shared by the strategy and game tests.
+ */
+public final class TestMoves {
+
+    private TestMoves() {
+    }
+
+    /**
+     * Plays a move on a copy of the board and returns the copy.
+     */
+    public static Board play(Board board, Move move) {
+        Board after = board.copy();
+        after.setSpareOrientation(move.getTileRotation());
+        after.insertAndShift(move.getInsertArrow());
+        return after;
+    }
+
+    /**
+     * Plays a move on the game, as the facade does, checking that the
+     * destination is reachable after the insertion.
+     */
+    public static void play(LabyrinthGame game, Move move) {
+        game.performInsertion(move.getInsertArrow(), move.getTileRotation());
+        assertTrue(game.canMove(move.getDestination()), move.toString());
+        game.performMove(move.getDestination());
+    }
+}
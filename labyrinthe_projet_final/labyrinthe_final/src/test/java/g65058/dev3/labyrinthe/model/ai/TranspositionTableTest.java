@@ -0,0 +1,129 @@
+package g65058.dev3.labyrinthe.model.ai;
+
+import g65058.dev3.labyrinthe.model.board.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the TranspositionTable class.
+ */
+class TranspositionTableTest {
+
+    @Test
+    void testStoredEntryIsFound() {
+        TranspositionTable table = new TranspositionTable(10);
+        table.store(0x1234_5678_9ABCL, 5, TranspositionTable.LOWER_BOUND, -42, 7, Direction.WEST);
+
+        long entry = table.probe(0x1234_5678_9ABCL);
+        assertNotEquals(TranspositionTable.MISS, entry);
+        assertEquals(-42, TranspositionTable.score(entry));
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(7, TranspositionTable.arrowIndex(entry));
+        assertEquals(Direction.WEST, TranspositionTable.orientation(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234_5678_9ABDL));
+    }
+
+    @Test
+    void testEntryWithoutMove() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(99, 0, TranspositionTable.EXACT, Integer.MIN_VALUE, -1, null);
+
+        long entry = table.probe(99);
+        assertEquals(-1, TranspositionTable.arrowIndex(entry));
+        assertEquals(Integer.MIN_VALUE, TranspositionTable.score(entry));
+    }
+
+    @Test
+    void testBucketKeepsTheDeepestEntry() {
+        TranspositionTable table = new TranspositionTable(4);
+        // Same bucket: same low bits
+        long deep = 0x100;
+        long shallow = 0x200;
+        long newest = 0x300;
+        table.store(deep, 6, TranspositionTable.EXACT, 1, 0, Direction.NORTH);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, 0, Direction.NORTH);
+        table.store(newest, 3, TranspositionTable.EXACT, 3, 0, Direction.NORTH);
+
+        assertEquals(1, TranspositionTable.score(table.probe(deep)));
+        assertEquals(TranspositionTable.MISS, table.probe(shallow));
+        assertEquals(3, TranspositionTable.score(table.probe(newest)));
+
+        // In a new search, the old deep entry gives way
+        table.newSearch();
+        table.store(shallow, 1, TranspositionTable.EXACT, 4, 0, Direction.NORTH);
+        assertEquals(TranspositionTable.MISS, table.probe(deep));
+        assertEquals(4, TranspositionTable.score(table.probe(shallow)));
+    }
+
+    @Test
+    void testSamePositionIsOverwritten() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.store(5, 8, TranspositionTable.EXACT, 10, 1, Direction.EAST);
+        table.store(5, 1, TranspositionTable.UPPER_BOUND, 20, 2, Direction.SOUTH);
+
+        long entry = table.probe(5);
+        assertEquals(20, TranspositionTable.score(entry));
+        assertEquals(1, TranspositionTable.depth(entry));
+    }
+
+    @Test
+    void testConcurrentWritersNeverProduceTornEntries() throws InterruptedException {
+        // A tiny table, so that the threads keep writing the same slots
+        TranspositionTable table = new TranspositionTable(2);
+        AtomicBoolean torn = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong(16);
+                    // The score is derived from the key: an entry mixing two writes shows it
+                    table.store(key, (int) key, TranspositionTable.EXACT, (int) key * 1000, (int) key,
+                            Direction.NORTH);
+                    long probed = random.nextLong(16);
+                    long entry = table.probe(probed);
+                    if (entry != TranspositionTable.MISS && (TranspositionTable.score(entry) != probed * 1000
+                            || TranspositionTable.depth(entry) != probed
+                            || TranspositionTable.arrowIndex(entry) != probed)) {
+                        torn.set(true);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(torn.get());
+    }
+
+    @Test
+    void testStatistics() {
+        TranspositionTable table = new TranspositionTable(8);
+        table.store(1, 1, TranspositionTable.EXACT, 0, 0, Direction.NORTH);
+        table.probe(1);
+        table.probe(2);
+        table.probe(1);
+        table.probe(3);
+
+        assertEquals(4, table.getProbes());
+        assertEquals(2, table.getHits());
+        assertEquals(1, table.getStores());
+        assertEquals(0.5, table.getHitRate());
+
+        table.clear();
+        assertEquals(0, table.getHitRate());
+        assertEquals(TranspositionTable.MISS, table.probe(1));
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(31));
+    }
+}
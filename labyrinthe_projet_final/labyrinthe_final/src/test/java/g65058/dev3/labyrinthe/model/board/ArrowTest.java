@@ -0,0 +1,74 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Arrow class and its index registry.
+ */
+class ArrowTest {
+
+    @Test
+    void testRegistryMatchesAllArrows() {
+        List<Arrow> arrows = Arrow.getAllArrows();
+        assertEquals(Arrow.COUNT, arrows.size());
+        for (int i = 0; i < Arrow.COUNT; i++) {
+            assertSame(Arrow.get(i), arrows.get(i));
+            assertEquals(i, arrows.get(i).getIndex());
+        }
+    }
+
+    @Test
+    void testConstructedArrowFindsItsIndex() {
+        assertEquals(Arrow.get(0), new Arrow(Position.of(0, 1), Direction.SOUTH));
+        assertEquals(0, new Arrow(Position.of(0, 1), Direction.SOUTH).getIndex());
+        assertEquals(-1, new Arrow(Position.of(0, 2), Direction.SOUTH).getIndex());
+        assertEquals(-1, new Arrow(Position.of(3, 3), Direction.EAST).getIndex());
+    }
+
+    @Test
+    void testOppositeIndexMatchesGetOpposite() {
+        for (Arrow arrow : Arrow.getAllArrows()) {
+            Arrow opposite = arrow.getOpposite(Board.SIZE);
+            assertEquals(Arrow.oppositeIndex(arrow.getIndex()), opposite.getIndex());
+            assertEquals(arrow.getIndex(), Arrow.oppositeIndex(opposite.getIndex()));
+            assertEquals(arrow.getInsertDirection().opposite(), opposite.getInsertDirection());
+        }
+    }
+
+    @Test
+    void testShiftMovesLineAndWraps() {
+        Arrow down = new Arrow(Position.of(0, 3), Direction.SOUTH);
+        assertEquals(Position.of(1, 3), down.shift(Position.of(0, 3)));
+        assertEquals(Position.of(0, 3), down.shift(Position.of(6, 3)));
+        assertEquals(Position.of(2, 2), down.shift(Position.of(2, 2)));
+
+        Arrow left = new Arrow(Position.of(5, 6), Direction.WEST);
+        assertEquals(Position.of(5, 4), left.shift(Position.of(5, 5)));
+        assertEquals(Position.of(5, 6), left.shift(Position.of(5, 0)));
+    }
+
+    @Test
+    void testValidArrowMask() {
+        Board board = new Board();
+        assertEquals(Arrow.ALL_MASK, board.validArrowMask());
+
+        board.insertAndShift(Arrow.get(2));
+
+        int forbidden = Arrow.oppositeIndex(2);
+        assertEquals(Arrow.ALL_MASK & ~(1 << forbidden), board.validArrowMask());
+        assertEquals(Arrow.listOf(board.validArrowMask()), board.getValidArrows());
+    }
+
+    @Test
+    void testCannotInsertOnFixedLine() {
+        Board board = new Board();
+        Arrow fixedColumn = new Arrow(Position.of(0, 2), Direction.SOUTH);
+
+        assertFalse(board.canInsert(fixedColumn));
+        assertThrows(IllegalArgumentException.class, () -> board.insertAndShift(fixedColumn));
+    }
+}
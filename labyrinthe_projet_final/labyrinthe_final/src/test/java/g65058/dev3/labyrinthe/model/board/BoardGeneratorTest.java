@@ -0,0 +1,80 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the BoardGenerator class.
+ */
+class BoardGeneratorTest {
+
+    private static void assertSameBoard(Board expected, Board actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        for (int cell = 0; cell < expected.getSize() * expected.getSize(); cell++) {
+            assertSame(expected.getTile(expected.positionOf(cell)), actual.getTile(actual.positionOf(cell)));
+        }
+        assertSame(expected.getSpareTile(), actual.getSpareTile());
+        assertEquals(expected.getHash(), actual.getHash());
+    }
+
+    @Test
+    void testSameSeedGivesSameBoard() {
+        BoardGenerator generator = new BoardGenerator();
+        for (long seed = 0; seed < 20; seed++) {
+            assertSameBoard(generator.generate(seed), new BoardGenerator().generate(seed));
+        }
+    }
+
+    @Test
+    void testSameStreamGivesSameSequence() {
+        BoardGenerator generator = new BoardGenerator(9);
+        SplittableRandom first = new SplittableRandom(7);
+        SplittableRandom second = new SplittableRandom(7);
+        for (int i = 0; i < 10; i++) {
+            assertSameBoard(generator.generate(first), generator.generate(second));
+        }
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentBoards() {
+        BoardGenerator generator = new BoardGenerator();
+        assertNotEquals(generator.generate(1).getHash(), generator.generate(2).getHash());
+    }
+
+    @Test
+    void testGeneratedBoardFollowsRules() {
+        BoardGenerator generator = new BoardGenerator();
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = generator.generate(seed);
+            int straight = 0;
+            int corner = 0;
+            int junction = 0;
+            int[] objectives = new int[Objective.values().length];
+            for (int cell = 0; cell <= Board.SIZE * Board.SIZE; cell++) {
+                Tile tile = cell < Board.SIZE * Board.SIZE ? board.getTile(board.positionOf(cell)) : board.getSpareTile();
+                if (tile.hasObjective()) {
+                    objectives[tile.getObjective().ordinal()]++;
+                }
+                if (tile.isFixed()) {
+                    continue;
+                }
+                switch (tile.getType()) {
+                    case STRAIGHT -> straight++;
+                    case CORNER -> corner++;
+                    case T_JUNCTION -> junction++;
+                }
+            }
+            assertEquals(12, straight);
+            assertEquals(16, corner);
+            assertEquals(6, junction);
+            for (int count : objectives) {
+                assertEquals(1, count);
+            }
+            assertTrue(board.getTile(2, 2).isFixed());
+            assertEquals(Direction.SOUTH, board.getTile(0, 0).getOrientation());
+        }
+    }
+}
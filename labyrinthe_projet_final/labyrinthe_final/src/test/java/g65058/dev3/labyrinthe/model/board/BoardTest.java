@@ -3,7 +3,9 @@ package g65058.dev3.labyrinthe.model.board;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -184,4 +186,363 @@ class BoardTest {
 
         assertEquals(rightTile, board.getTile(1, 5));
     }
+
+    @Test
+    void testSpareTileRotationIsStoredInBoard() {
+        Direction before = board.getSpareTile().getOrientation();
+        board.rotateSpareTile();
+
+        assertEquals(before.rotateClockwise(), board.getSpareTile().getOrientation());
+    }
+
+    @Test
+    void testCopyHasIndependentSpare() {
+        Board copy = board.copy();
+        Direction before = board.getSpareTile().getOrientation();
+
+        copy.rotateSpareTile();
+
+        assertEquals(before, board.getSpareTile().getOrientation());
+    }
+
+    @Test
+    void testRestoredBoardMatchesOriginal() {
+        Tile[][] tiles = new Tile[Board.SIZE][Board.SIZE];
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) {
+                tiles[r][c] = board.getTile(r, c);
+            }
+        }
+        Board restored = new Board(tiles, board.getSpareTile(), null);
+
+        for (int r = 0; r < Board.SIZE; r++) {
+            for (int c = 0; c < Board.SIZE; c++) {
+                assertEquals(board.getTile(r, c), restored.getTile(r, c));
+            }
+        }
+        assertEquals(board.getSpareTile(), restored.getSpareTile());
+    }
+
+    @Test
+    void testHashFollowsInsertionsAndSpareRotation() {
+        Random random = new Random(8);
+        for (int i = 0; i < 500; i++) {
+            if (random.nextBoolean()) {
+                board.rotateSpareTile();
+            }
+            List<Arrow> arrows = board.getValidArrows();
+            board.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+            assertEquals(board.recomputeHash(), board.getHash());
+        }
+    }
+
+    @Test
+    void testHashDependsOnSpareOrientation() {
+        long before = board.getHash();
+        board.rotateSpareTile();
+        assertNotEquals(before, board.getHash());
+
+        board.rotateSpareTile();
+        board.rotateSpareTile();
+        board.rotateSpareTile();
+        assertEquals(before, board.getHash());
+    }
+
+    /**
+     * Reads every tile of a board into an array.
+     */
+    private static Tile[] tilesOf(Board board) {
+        Tile[] tiles = new Tile[board.getSize() * board.getSize()];
+        for (int cell = 0; cell < tiles.length; cell++) {
+            tiles[cell] = board.getTile(board.positionOf(cell));
+        }
+        return tiles;
+    }
+
+    @Test
+    void testCopiesAreIndependentVersions() {
+        Random random = new Random(19);
+        List<Board> versions = new ArrayList<>();
+        List<Tile[]> expectedTiles = new ArrayList<>();
+        List<Long> expectedReach = new ArrayList<>();
+
+        Board current = board;
+        for (int i = 0; i < 40; i++) {
+            versions.add(current);
+            expectedTiles.add(tilesOf(current));
+            expectedReach.add(current.reachableMask(24));
+
+            // Branch off a new version and keep changing it
+            current = current.copy();
+            List<Arrow> arrows = current.getValidArrows();
+            current.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+            current.rotateSpareTile();
+        }
+
+        // Writing to an old version must not disturb the newer ones either
+        versions.get(10).insertAndShift(versions.get(10).getValidArrows().get(0));
+        for (int i = 0; i < versions.size(); i++) {
+            if (i == 10) continue;
+            assertArrayEquals(expectedTiles.get(i), tilesOf(versions.get(i)));
+            assertEquals(expectedReach.get(i), versions.get(i).reachableMask(24));
+            assertEquals(versions.get(i).recomputeHash(), versions.get(i).getHash());
+        }
+    }
+
+    @Test
+    void testCopiesMayBeTakenFromSeveralThreads() throws InterruptedException {
+        Tile[] before = tilesOf(board);
+        long hash = board.getHash();
+        Thread[] threads = new Thread[4];
+        Throwable[] failures = new Throwable[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int seat = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        Board copy = board.copy();
+                        List<Arrow> arrows = copy.getValidArrows();
+                        copy.insertAndShift(arrows.get((seat + i) % arrows.size()));
+                        assertEquals(copy.recomputeHash(), copy.getHash());
+                    }
+                } catch (Throwable e) {
+                    failures[seat] = e;
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Throwable failure : failures) {
+            assertNull(failure);
+        }
+        assertArrayEquals(before, tilesOf(board));
+        assertEquals(hash, board.getHash());
+
+        // The source gives up the shared rows before writing again
+        Board copy = board.copy();
+        board.insertAndShift(new Arrow(new Position(0, 3), Direction.SOUTH));
+        assertArrayEquals(before, tilesOf(copy));
+        assertEquals(board.recomputeHash(), board.getHash());
+    }
+
+    @Test
+    void testOriginalChangesAreNotSeenByCopy() {
+        Board copy = board.copy();
+        Tile[] before = tilesOf(copy);
+
+        board.insertAndShift(new Arrow(new Position(0, 3), Direction.SOUTH));
+        board.insertAndShift(new Arrow(new Position(3, 0), Direction.EAST));
+
+        assertArrayEquals(before, tilesOf(copy));
+        assertNull(copy.getLastArrow());
+    }
+
+    @Test
+    void testUnsupportedSizesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(8));
+        assertThrows(IllegalArgumentException.class, () -> new Board(5));
+        assertThrows(IllegalArgumentException.class, () -> new Board(Board.MAX_SIZE + 2));
+    }
+
+    @Test
+    void testLargerBoardLayout() {
+        for (int size : new int[]{9, 15, Board.MAX_SIZE}) {
+            Board large = new Board(size);
+            assertEquals(size, large.getSize());
+            assertEquals(4 * (size / 2), large.getAllArrows().size());
+
+            // Fixed tiles exactly on even rows and columns, corners at the four corners
+            int last = size - 1;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    Tile tile = large.getTile(row, col);
+                    assertEquals(row % 2 == 0 && col % 2 == 0, tile.isFixed(), "(" + row + "," + col + ")");
+                    boolean corner = (row == 0 || row == last) && (col == 0 || col == last);
+                    if (tile.isFixed()) {
+                        assertEquals(corner ? TileType.CORNER : TileType.T_JUNCTION, tile.getType());
+                    }
+                }
+            }
+
+            // Every objective is on exactly one tile, the spare included
+            List<Tile> tiles = new ArrayList<>(List.of(tilesOf(large)));
+            tiles.add(large.getSpareTile());
+            for (Objective objective : Objective.values()) {
+                assertEquals(1, tiles.stream().filter(t -> t.getObjective() == objective).count(),
+                        objective + " on a " + size + "x" + size + " board");
+            }
+        }
+    }
+
+    @Test
+    void testLargerBoardInsertionShiftsLine() {
+        Board large = new Board(9);
+        Arrow arrow = new Arrow(Position.of(0, 7), Direction.SOUTH);
+        assertTrue(large.canInsert(arrow));
+
+        Tile spare = large.getSpareTile();
+        Tile bottom = large.getTile(8, 7);
+        Tile expelled = large.insertAndShift(arrow);
+
+        assertSame(bottom, expelled);
+        assertSame(spare, large.getTile(0, 7));
+        assertFalse(large.canInsert(new Arrow(Position.of(8, 7), Direction.NORTH)));
+        assertEquals(Position.of(0, 7), arrow.shift(Position.of(8, 7), 9));
+        assertEquals(large.recomputeHash(), large.getHash());
+    }
+
+    /**
+     * Finds an objective by scanning every tile.
+     */
+    private static int scanFor(Board board, Objective objective) {
+        for (int cell = 0; cell < board.getSize() * board.getSize(); cell++) {
+            if (board.getTile(board.positionOf(cell)).getObjective() == objective) {
+                return cell;
+            }
+        }
+        return Board.SPARE_CELL;
+    }
+
+    @Test
+    void testLocateFollowsInsertions() {
+        Random random = new Random(5);
+        for (int size : new int[]{Board.SIZE, 9}) {
+            Board current = new Board(size);
+            for (int step = 0; step < 200; step++) {
+                List<Arrow> arrows = current.getValidArrows();
+                current.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+                for (Objective objective : Objective.values()) {
+                    int cell = scanFor(current, objective);
+                    assertEquals(cell, current.locateCell(objective));
+                    if (cell == Board.SPARE_CELL) {
+                        assertEquals(objective, current.getSpareTile().getObjective());
+                        assertNull(current.locate(objective));
+                    } else {
+                        assertEquals(current.positionOf(cell), current.locate(objective));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCopyKeepsItsOwnObjectiveIndex() {
+        Board copy = board.copy();
+        Objective[] objectives = Objective.values();
+        int[] before = new int[objectives.length];
+        for (Objective objective : objectives) {
+            before[objective.ordinal()] = board.locateCell(objective);
+        }
+
+        board.insertAndShift(Arrow.get(0));
+        board.insertAndShift(Arrow.get(7));
+        for (Objective objective : objectives) {
+            assertEquals(before[objective.ordinal()], copy.locateCell(objective));
+            assertEquals(scanFor(board, objective), board.locateCell(objective));
+        }
+    }
+
+    @Test
+    void testApplyInsertionMatchesInsertAndShift() {
+        Random random = new Random(23);
+        for (int size : new int[]{Board.SIZE, 9}) {
+            Board current = new Board(size);
+            for (int step = 0; step < 100; step++) {
+                long mask = current.validArrowMask();
+                int arrowIndex = Long.numberOfTrailingZeros(mask);
+                for (int skip = random.nextInt(Long.bitCount(mask)); skip > 0; skip--) {
+                    arrowIndex = Long.numberOfTrailingZeros(mask &= mask - 1);
+                }
+                Direction orientation = Direction.values()[random.nextInt(4)];
+                Position pawn = current.positionOf(random.nextInt(size * size));
+
+                Board expected = current.copy();
+                expected.setSpareOrientation(orientation);
+                expected.insertAndShift(current.getArrow(arrowIndex));
+
+                int[] pawnCells = {current.cellOf(pawn)};
+                current.applyInsertion(arrowIndex, orientation, pawnCells);
+                assertArrayEquals(tilesOf(expected), tilesOf(current));
+                assertEquals(expected.getSpareTile(), current.getSpareTile());
+                assertEquals(expected.getLastArrow(), current.getLastArrow());
+                assertEquals(expected.getHash(), current.getHash());
+                assertArrayEquals(expected.componentLabels(), current.componentLabels());
+                assertEquals(current.getArrow(arrowIndex).shift(pawn, size), current.positionOf(pawnCells[0]));
+            }
+        }
+    }
+
+    @Test
+    void testRevertInsertionRestoresEveryLevel() {
+        Random random = new Random(29);
+        for (int size : new int[]{Board.SIZE, 9}) {
+            Board current = new Board(size);
+            int[] pawnCells = {0, size - 1, size * size - 1, size * (size - 1)};
+            int depth = 5;
+            long[] tokens = new long[depth];
+            Tile[][] tiles = new Tile[depth][];
+            Tile[] spares = new Tile[depth];
+            Arrow[] lastArrows = new Arrow[depth];
+            long[] hashes = new long[depth];
+            int[][] labels = new int[depth][];
+            int[][] pawns = new int[depth][];
+            int[][] objectives = new int[depth][];
+
+            for (int round = 0; round < 20; round++) {
+                for (int level = 0; level < depth; level++) {
+                    tiles[level] = tilesOf(current);
+                    spares[level] = current.getSpareTile();
+                    lastArrows[level] = current.getLastArrow();
+                    hashes[level] = current.getHash();
+                    labels[level] = current.componentLabels().clone();
+                    pawns[level] = pawnCells.clone();
+                    objectives[level] = new int[Objective.values().length];
+                    for (Objective objective : Objective.values()) {
+                        objectives[level][objective.ordinal()] = current.locateCell(objective);
+                    }
+
+                    long mask = current.validArrowMask();
+                    for (int skip = random.nextInt(Long.bitCount(mask)); skip > 0; skip--) {
+                        mask &= mask - 1;
+                    }
+                    Direction orientation = Direction.values()[random.nextInt(4)];
+                    tokens[level] = current.applyInsertion(Long.numberOfTrailingZeros(mask), orientation, pawnCells);
+                }
+                for (int level = depth - 1; level >= 0; level--) {
+                    current.revertInsertion(tokens[level], pawnCells);
+                    assertArrayEquals(tiles[level], tilesOf(current));
+                    assertEquals(spares[level], current.getSpareTile());
+                    assertEquals(lastArrows[level], current.getLastArrow());
+                    assertEquals(hashes[level], current.getHash());
+                    assertEquals(current.recomputeHash(), current.getHash());
+                    assertArrayEquals(labels[level], current.componentLabels());
+                    assertArrayEquals(pawns[level], pawnCells);
+                    for (Objective objective : Objective.values()) {
+                        assertEquals(objectives[level][objective.ordinal()], current.locateCell(objective));
+                    }
+                }
+
+                // Keep one insertion so the next round starts from another board
+                List<Arrow> arrows = current.getValidArrows();
+                current.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+            }
+        }
+    }
+
+    @Test
+    void testApplyInsertionRejectsReversal() {
+        long undo = board.applyInsertion(0, Direction.NORTH);
+        long blocked = ~board.validArrowMask() & (1L << board.getArrowCount()) - 1;
+        assertEquals(1, Long.bitCount(blocked));
+        int opposite = Long.numberOfTrailingZeros(blocked);
+        assertThrows(IllegalArgumentException.class, () -> board.applyInsertion(opposite, Direction.NORTH));
+
+        board.revertInsertion(undo);
+        assertNull(board.getLastArrow());
+        assertEquals(board.getArrowCount(), Long.bitCount(board.validArrowMask()));
+    }
 }
@@ -0,0 +1,121 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static g65058.dev3.labyrinthe.model.board.TestBoards.shuffleBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the DistanceField class and the distance searches of the Board.
+ */
+class DistanceFieldTest {
+
+    /**
+     * Reference BFS over tile openings, returning the distance of every cell.
+     */
+    private static Map<Position, Integer> distances(Board board, Position start) {
+        Map<Position, Integer> distances = new HashMap<>();
+        Queue<Position> queue = new ArrayDeque<>();
+        distances.put(start, 0);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Position current = queue.poll();
+            for (Direction dir : Direction.values()) {
+                Position neighbor = current.move(dir);
+                if (!neighbor.isInBounds(board.getSize()) || distances.containsKey(neighbor)) continue;
+                if (board.getTile(current).isOpenTo(dir) && board.getTile(neighbor).isOpenTo(dir.opposite())) {
+                    distances.put(neighbor, distances.get(current) + 1);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    void testDistancesMatchBfs() {
+        Random random = new Random(13);
+        DistanceField field = new DistanceField(15 * 15);
+        for (int size : new int[]{Board.SIZE, 15}) {
+            for (int round = 0; round < 20; round++) {
+                Board board = new Board(size);
+                shuffleBoard(board, random, random.nextInt(20));
+                int source = random.nextInt(size * size);
+
+                Map<Position, Integer> expected = distances(board, board.positionOf(source));
+                board.fillDistances(source, field);
+                assertEquals(source, field.getSource());
+                assertEquals(expected.size(), field.getReachedCount());
+                for (int cell = 0; cell < size * size; cell++) {
+                    Integer distance = expected.get(board.positionOf(cell));
+                    assertEquals(distance == null ? DistanceField.UNREACHABLE : distance, field.distance(cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPathsAreShortestCorridorPaths() {
+        Random random = new Random(21);
+        DistanceField field = new DistanceField(Board.SIZE * Board.SIZE);
+        int[] path = new int[Board.SIZE * Board.SIZE];
+        for (int round = 0; round < 50; round++) {
+            Board board = new Board();
+            shuffleBoard(board, random, 10);
+            board.fillDistances(random.nextInt(Board.SIZE * Board.SIZE), field);
+
+            for (int target = 0; target < Board.SIZE * Board.SIZE; target++) {
+                int length = field.pathTo(target, path);
+                if (field.distance(target) == DistanceField.UNREACHABLE) {
+                    assertEquals(0, length);
+                    continue;
+                }
+                assertEquals(field.distance(target) + 1, length);
+                assertEquals(field.getSource(), path[0]);
+                assertEquals(target, path[length - 1]);
+                for (int i = 1; i < length; i++) {
+                    assertTrue(board.isReachable(board.positionOf(path[i - 1]), board.positionOf(path[i])));
+                    assertEquals(field.distance(path[i - 1]) + 1, field.distance(path[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCallerOwnedArraysAreFilled() {
+        Board board = new Board();
+        int[] distance = new int[Board.SIZE * Board.SIZE];
+        int[] parent = new int[Board.SIZE * Board.SIZE];
+        board.fillDistances(0, new DistanceField(distance, parent));
+
+        assertEquals(0, distance[0]);
+        assertEquals(DistanceField.NO_PARENT, parent[0]);
+        for (Position position : board.getReachablePositions(Position.of(0, 0))) {
+            assertTrue(distance[board.cellOf(position)] >= 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DistanceField(new int[3], new int[4]));
+        assertThrows(IllegalArgumentException.class, () -> new Board(9).fillDistances(0, new DistanceField(49)));
+    }
+
+    @Test
+    void testShortestPathBetweenPositions() {
+        Board board = new Board();
+        Position start = Position.of(0, 0);
+        for (Position target : board.getReachablePositions(start)) {
+            List<Position> path = board.shortestPath(start, target);
+            assertEquals(start, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+        }
+        Position unreachable = null;
+        for (int cell = 0; cell < Board.SIZE * Board.SIZE && unreachable == null; cell++) {
+            if (!board.isReachable(start, board.positionOf(cell))) {
+                unreachable = board.positionOf(cell);
+            }
+        }
+        if (unreachable != null) {
+            assertTrue(board.shortestPath(start, unreachable).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the InsertionBatch class.
+ */
+class InsertionBatchTest {
+
+    @Test
+    void testCandidatesMatchCopiedBoards() {
+        Random random = new Random(31);
+        InsertionBatch batch = new InsertionBatch();
+        for (int round = 0; round < 30; round++) {
+            Board board = new Board();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                List<Arrow> arrows = board.getValidArrows();
+                board.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+            }
+
+            board.evaluateInsertions(batch);
+            for (int candidate = 0; candidate < batch.size(); candidate++) {
+                Board expected = board.copy();
+                expected.setSpareOrientation(batch.orientation(candidate));
+                expected.insertAndShift(batch.arrow(candidate));
+                for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+                    int shifted = batch.shiftedCell(candidate, cell);
+                    assertEquals(expected.reachableMask(shifted), batch.reachableMask(candidate, cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBatchedMasksMatchEachCandidate() {
+        Random random = new Random(57);
+        InsertionBatch batch = new InsertionBatch();
+        long[] masks = new long[0];
+        for (int round = 0; round < 30; round++) {
+            Board board = new BoardGenerator().generate(round);
+            board.insertAndShift(board.getValidArrows().get(random.nextInt(board.getValidArrows().size())));
+            board.evaluateInsertions(batch);
+
+            for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+                masks = batch.reachableMasks(cell, masks);
+                long[] scalar = batch.reachableMasksScalar(cell, null);
+                for (int candidate = 0; candidate < batch.size(); candidate++) {
+                    assertEquals(batch.reachableMask(candidate, cell), masks[candidate]);
+                    assertEquals(masks[candidate], scalar[candidate]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEveryFloodGivesTheSameMasks() {
+        // Without lane flood, as shipped by default, and with one leaving every candidate to the scalar tail
+        LaneFlood[] floods = {null, (reached, east, south, count, step) -> count};
+        for (LaneFlood flood : floods) {
+            InsertionBatch batch = new InsertionBatch(flood);
+            for (int round = 0; round < 10; round++) {
+                Board board = new BoardGenerator().generate(round);
+                board.evaluateInsertions(batch);
+                for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+                    assertArrayEquals(batch.reachableMasksScalar(cell, null), batch.reachableMasks(cell, null));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVectorFloodIsUsedWhenAvailable() {
+        // Only the vector profile builds the SIMD flood and starts the tests with its module
+        boolean built = getClass().getResource("VectorFlood.class") != null;
+        boolean module = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(built && module, InsertionBatch.isVectorized());
+    }
+
+    @Test
+    void testOneCandidatePerArrowAndDistinctOrientation() {
+        Board board = new Board();
+        board.insertAndShift(Arrow.get(0));
+        InsertionBatch batch = board.evaluateInsertions(new InsertionBatch());
+
+        Set<Integer> openings = new HashSet<>();
+        for (Direction orientation : Direction.values()) {
+            openings.add(board.getSpareTile().withOrientation(orientation).getOpenings());
+        }
+        assertEquals(board.getValidArrows().size() * openings.size(), batch.size());
+        for (int candidate = 0; candidate < batch.size(); candidate++) {
+            assertTrue(board.canInsert(batch.arrow(candidate)));
+        }
+    }
+
+    @Test
+    void testOnlyOnSingleWordBoards() {
+        assertThrows(IllegalStateException.class, () -> new Board(9).evaluateInsertions(new InsertionBatch()));
+    }
+}
@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Position class.
+ */
+class PositionTest {
+
+    @Test
+    void testOfReturnsCachedInstance() {
+        assertSame(Position.of(3, 4), Position.of(3, 4));
+        assertEquals(new Position(3, 4), Position.of(3, 4));
+    }
+
+    @Test
+    void testOffBoardPositionsAreStillValid() {
+        Position outside = Position.of(0, 0).move(Direction.NORTH);
+        assertEquals(new Position(-1, 0), outside);
+        assertFalse(outside.isInBounds(Board.SIZE));
+    }
+
+    @Test
+    void testMoveUsesCachedPositions() {
+        Position center = Position.of(3, 3);
+        assertSame(Position.of(2, 3), center.move(Direction.NORTH));
+        assertSame(Position.of(3, 4), center.move(Direction.EAST));
+        assertSame(Position.of(4, 3), center.move(Direction.SOUTH));
+        assertSame(Position.of(3, 2), center.move(Direction.WEST));
+    }
+
+    @Test
+    void testCellRoundTrip() {
+        for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+            Position position = Position.ofCell(cell, Board.SIZE);
+            assertEquals(cell, position.toCell(Board.SIZE));
+        }
+        assertEquals(Position.of(2, 5), Position.ofCell(19, Board.SIZE));
+    }
+
+    @Test
+    void testBoardNeighbourTable() {
+        Board board = new Board();
+        int cell = board.cellOf(Position.of(0, 3));
+
+        assertEquals(-1, board.neighbour(cell, Direction.NORTH));
+        assertEquals(board.cellOf(Position.of(1, 3)), board.neighbour(cell, Direction.SOUTH));
+        assertEquals(board.cellOf(Position.of(0, 4)), board.neighbour(cell, Direction.EAST));
+        assertEquals(board.cellOf(Position.of(0, 2)), board.neighbour(cell, Direction.WEST));
+    }
+
+    @Test
+    void testEqualPositionsHaveEqualHashes() {
+        assertEquals(new Position(5, 1).hashCode(), Position.of(5, 1).hashCode());
+        assertNotEquals(Position.of(1, 5).hashCode(), Position.of(5, 1).hashCode());
+    }
+}
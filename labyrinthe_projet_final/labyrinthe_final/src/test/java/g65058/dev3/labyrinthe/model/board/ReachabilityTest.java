@@ -0,0 +1,185 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static g65058.dev3.labyrinthe.model.board.TestBoards.shuffleBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the bit-parallel reachability of the Board against a plain BFS.
+ */
+class ReachabilityTest {
+
+    /**
+     * Reference BFS over tile openings, as the board used to compute it.
+     */
+    private static Set<Position> bfs(Board board, Position start) {
+        Set<Position> visited = new HashSet<>();
+        Queue<Position> queue = new ArrayDeque<>();
+        visited.add(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            Position current = queue.poll();
+            Tile currentTile = board.getTile(current);
+            for (Direction dir : Direction.values()) {
+                Position neighbor = current.move(dir);
+                if (!neighbor.isInBounds(board.getSize()) || visited.contains(neighbor)) continue;
+                if (currentTile.isOpenTo(dir) && board.getTile(neighbor).isOpenTo(dir.opposite())) {
+                    visited.add(neighbor);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return visited;
+    }
+
+    @Test
+    void testMatchesBfsOnRandomBoards() {
+        Random random = new Random(2024);
+        for (int round = 0; round < 200; round++) {
+            Board board = new Board();
+            shuffleBoard(board, random, random.nextInt(20));
+
+            for (int row = 0; row < Board.SIZE; row++) {
+                for (int col = 0; col < Board.SIZE; col++) {
+                    Position start = new Position(row, col);
+                    Set<Position> expected = bfs(board, start);
+                    List<Position> actual = board.getReachablePositions(start);
+
+                    assertEquals(expected.size(), actual.size(), "Reachable count from " + start);
+                    assertEquals(expected, new HashSet<>(actual), "Reachable set from " + start);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMaskMatchesPositions() {
+        Board board = new Board();
+        shuffleBoard(board, new Random(7), 5);
+
+        long mask = board.reachableMask(0);
+        List<Position> positions = board.getReachablePositions(new Position(0, 0));
+
+        assertEquals(Long.bitCount(mask), positions.size());
+        for (Position position : positions) {
+            assertTrue((mask & (1L << (position.getRow() * Board.SIZE + position.getCol()))) != 0);
+        }
+    }
+
+    @Test
+    void testComponentSizeCountsReachableCells() {
+        for (int size : new int[]{Board.SIZE, 11}) {
+            Board board = new BoardGenerator(size).generate(5);
+            for (int cell = 0; cell < size * size; cell++) {
+                assertEquals(board.getReachablePositions(board.positionOf(cell)).size(), board.componentSize(cell));
+            }
+        }
+    }
+
+    @Test
+    void testMaskIsRecomputedAfterInsertion() {
+        Random random = new Random(99);
+        Board board = new Board();
+        for (int i = 0; i < 50; i++) {
+            board.reachableMask(24);
+            shuffleBoard(board, random, 1);
+            assertEquals(bfs(board, new Position(3, 3)), new HashSet<>(board.getReachablePositions(new Position(3, 3))));
+        }
+    }
+
+    @Test
+    void testIsReachableAgreesWithBfs() {
+        Board board = new Board();
+        shuffleBoard(board, new Random(11), 8);
+        Position from = new Position(2, 3);
+        Set<Position> expected = bfs(board, from);
+
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                Position to = new Position(row, col);
+                assertEquals(expected.contains(to), board.isReachable(from, to));
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalLabelsMatchBfsAlongAGame() {
+        Random random = new Random(314);
+        Board board = new Board();
+        for (int step = 0; step < 300; step++) {
+            // Sometimes several insertions happen between two queries
+            shuffleBoard(board, random, 1 + random.nextInt(3));
+            for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+                Position start = board.positionOf(cell);
+                Set<Position> expected = bfs(board, start);
+                for (Position other : expected) {
+                    assertEquals(board.componentOf(cell), board.componentOf(board.cellOf(other)));
+                }
+                assertEquals(expected.size(), Long.bitCount(board.reachableMask(cell)));
+            }
+        }
+    }
+
+    @Test
+    void testCopyKeepsItsOwnLabels() {
+        Random random = new Random(5);
+        Board board = new Board();
+        shuffleBoard(board, random, 4);
+        long before = board.reachableMask(0);
+
+        Board copy = board.copy();
+        shuffleBoard(copy, random, 6);
+        copy.reachableMask(0);
+
+        assertEquals(before, board.reachableMask(0));
+        assertEquals(bfs(copy, new Position(0, 0)), new HashSet<>(copy.getReachablePositions(new Position(0, 0))));
+    }
+
+    @Test
+    void testComponentLabelsAreSmallestCellOfComponent() {
+        Board board = new Board();
+        shuffleBoard(board, new Random(21), 12);
+        int[] labels = board.componentLabels();
+
+        for (int cell = 0; cell < labels.length; cell++) {
+            long component = board.reachableMask(cell);
+            assertEquals(Long.numberOfTrailingZeros(component), labels[cell]);
+            Position position = board.positionOf(cell);
+            for (Position other : bfs(board, position)) {
+                assertTrue(board.sameComponent(position, other));
+            }
+        }
+    }
+
+    @Test
+    void testMatchesBfsOnLargerBoards() {
+        Random random = new Random(99);
+        for (int size : new int[]{9, 15, 31}) {
+            for (int round = 0; round < 5; round++) {
+                Board board = new Board(size);
+                shuffleBoard(board, random, random.nextInt(30));
+
+                int[] labels = board.componentLabels();
+                for (int cell = 0; cell < size * size; cell += 7) {
+                    Position start = board.positionOf(cell);
+                    Set<Position> expected = bfs(board, start);
+                    assertEquals(expected, new HashSet<>(board.getReachablePositions(start)),
+                            "Size " + size + ", start " + start);
+                    for (Position position : expected) {
+                        assertEquals(labels[cell], labels[board.cellOf(position)]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMaskNeedsASingleWordBoard() {
+        Board board = new Board(9);
+        assertThrows(IllegalStateException.class, () -> board.reachableMask(0));
+    }
+}
@@ -0,0 +1,25 @@
+package g65058.dev3.labyrinthe.model.board;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Board helpers shared by the board tests.
+ */
+final class TestBoards {
+
+    private TestBoards() {
+    }
+
+    /**
+     * Plays random insertions with random spare orientations.
+     */
+    static void shuffleBoard(Board board, Random random, int insertions) {
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < insertions; i++) {
+            List<Arrow> arrows = board.getValidArrows();
+            board.setSpareOrientation(directions[random.nextInt(directions.length)]);
+            board.insertAndShift(arrows.get(random.nextInt(arrows.size())));
+        }
+    }
+}
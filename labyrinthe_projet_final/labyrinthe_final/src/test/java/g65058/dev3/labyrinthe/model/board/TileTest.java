@@ -11,7 +11,7 @@ class TileTest {
 
     @Test
     void testCreateTile() {
-        Tile tile = new Tile(TileType.CORNER, Direction.NORTH, null, false);
+        Tile tile = Tile.of(TileType.CORNER, Direction.NORTH, null, false);
         assertEquals(TileType.CORNER, tile.getType());
         assertEquals(Direction.NORTH, tile.getOrientation());
         assertNull(tile.getObjective());
@@ -20,38 +20,38 @@ class TileTest {
 
     @Test
     void testTileWithObjective() {
-        Tile tile = new Tile(TileType.T_JUNCTION, Direction.SOUTH, Objective.DRAGON, true);
+        Tile tile = Tile.of(TileType.T_JUNCTION, Direction.SOUTH, Objective.DRAGON, true);
         assertTrue(tile.hasObjective());
         assertEquals(Objective.DRAGON, tile.getObjective());
     }
 
     @Test
     void testRotateClockwise() {
-        Tile tile = new Tile(TileType.CORNER, Direction.NORTH, null, false);
-        tile.rotateClockwise();
+        Tile tile = Tile.of(TileType.CORNER, Direction.NORTH, null, false);
+        tile = tile.rotateClockwise();
         assertEquals(Direction.EAST, tile.getOrientation());
 
-        tile.rotateClockwise();
+        tile = tile.rotateClockwise();
         assertEquals(Direction.SOUTH, tile.getOrientation());
 
-        tile.rotateClockwise();
+        tile = tile.rotateClockwise();
         assertEquals(Direction.WEST, tile.getOrientation());
 
-        tile.rotateClockwise();
+        tile = tile.rotateClockwise();
         assertEquals(Direction.NORTH, tile.getOrientation());
     }
 
     @Test
     void testFixedTileDoesNotRotate() {
-        Tile tile = new Tile(TileType.CORNER, Direction.NORTH, null, true);
-        tile.rotateClockwise();
-        assertEquals(Direction.NORTH, tile.getOrientation());
+        Tile tile = Tile.of(TileType.CORNER, Direction.NORTH, null, true);
+        assertSame(tile, tile.rotateClockwise());
+        assertSame(tile, tile.withOrientation(Direction.EAST));
     }
 
     @Test
     void testStraightTileWalls() {
         // Straight tile oriented NORTH has openings N/S, walls E/W
-        Tile tile = new Tile(TileType.STRAIGHT, Direction.NORTH, null, false);
+        Tile tile = Tile.of(TileType.STRAIGHT, Direction.NORTH, null, false);
 
         assertFalse(tile.hasWallAt(Direction.NORTH)); // Opening
         assertFalse(tile.hasWallAt(Direction.SOUTH)); // Opening
@@ -62,7 +62,7 @@ class TileTest {
     @Test
     void testCornerTileWalls() {
         // Corner tile oriented NORTH has openings N/E, walls S/W
-        Tile tile = new Tile(TileType.CORNER, Direction.NORTH, null, false);
+        Tile tile = Tile.of(TileType.CORNER, Direction.NORTH, null, false);
 
         assertFalse(tile.hasWallAt(Direction.NORTH)); // Opening
         assertFalse(tile.hasWallAt(Direction.EAST));  // Opening
@@ -73,7 +73,7 @@ class TileTest {
     @Test
     void testTJunctionTileWalls() {
         // T-junction oriented NORTH has opening N/E/W, wall S
-        Tile tile = new Tile(TileType.T_JUNCTION, Direction.NORTH, null, false);
+        Tile tile = Tile.of(TileType.T_JUNCTION, Direction.NORTH, null, false);
 
         assertFalse(tile.hasWallAt(Direction.NORTH)); // Opening
         assertFalse(tile.hasWallAt(Direction.EAST));  // Opening
@@ -83,7 +83,7 @@ class TileTest {
 
     @Test
     void testIsOpenTo() {
-        Tile tile = new Tile(TileType.STRAIGHT, Direction.NORTH, null, false);
+        Tile tile = Tile.of(TileType.STRAIGHT, Direction.NORTH, null, false);
         assertTrue(tile.isOpenTo(Direction.NORTH));
         assertTrue(tile.isOpenTo(Direction.SOUTH));
         assertFalse(tile.isOpenTo(Direction.EAST));
@@ -91,23 +91,35 @@ class TileTest {
     }
 
     @Test
-    void testTileCopy() {
-        Tile original = new Tile(TileType.CORNER, Direction.EAST, Objective.GHOST, false);
-        Tile copy = original.copy();
-
-        assertEquals(original, copy);
-        assertNotSame(original, copy);
+    void testTilesAreShared() {
+        Tile original = Tile.of(TileType.CORNER, Direction.EAST, Objective.GHOST, false);
+        assertSame(original, Tile.of(TileType.CORNER, Direction.EAST, Objective.GHOST, false));
+
+        // Rotating returns another tile and leaves the original unchanged
+        Tile rotated = original.rotateClockwise();
+        assertEquals(Direction.EAST, original.getOrientation());
+        assertEquals(Direction.SOUTH, rotated.getOrientation());
+        assertSame(original, rotated.withOrientation(Direction.EAST));
+    }
 
-        // Modifying copy shouldn't affect original
-        copy.rotateClockwise();
-        assertNotEquals(original.getOrientation(), copy.getOrientation());
+    @Test
+    void testOpeningMaskMatchesWalls() {
+        for (TileType type : TileType.values()) {
+            for (Direction orientation : Direction.values()) {
+                Tile tile = Tile.of(type, orientation, null, false);
+                for (Direction direction : Direction.values()) {
+                    boolean open = (tile.getOpenings() & (1 << direction.ordinal())) != 0;
+                    assertEquals(!tile.hasWallAt(direction), open);
+                }
+            }
+        }
     }
 
     @Test
     void testTileEquality() {
-        Tile tile1 = new Tile(TileType.CORNER, Direction.NORTH, Objective.DRAGON, false);
-        Tile tile2 = new Tile(TileType.CORNER, Direction.NORTH, Objective.DRAGON, false);
-        Tile tile3 = new Tile(TileType.CORNER, Direction.EAST, Objective.DRAGON, false);
+        Tile tile1 = Tile.of(TileType.CORNER, Direction.NORTH, Objective.DRAGON, false);
+        Tile tile2 = Tile.of(TileType.CORNER, Direction.NORTH, Objective.DRAGON, false);
+        Tile tile3 = Tile.of(TileType.CORNER, Direction.EAST, Objective.DRAGON, false);
 
         assertEquals(tile1, tile2);
         assertNotEquals(tile1, tile3);
@@ -115,8 +127,7 @@ class TileTest {
 
     @Test
     void testRotatedStraightTileWalls() {
-        Tile tile = new Tile(TileType.STRAIGHT, Direction.NORTH, null, false);
-        tile.rotateClockwise(); // Now oriented EAST
+        Tile tile = Tile.of(TileType.STRAIGHT, Direction.NORTH, null, false).rotateClockwise(); // Now oriented EAST
 
         // After rotation: openings E/W, walls N/S
         assertFalse(tile.hasWallAt(Direction.EAST));
@@ -127,8 +138,7 @@ class TileTest {
 
     @Test
     void testRotatedCornerTileWalls() {
-        Tile tile = new Tile(TileType.CORNER, Direction.NORTH, null, false);
-        tile.rotateClockwise(); // Now oriented EAST
+        Tile tile = Tile.of(TileType.CORNER, Direction.NORTH, null, false).rotateClockwise(); // Now oriented EAST
 
         // After rotation: openings E/S, walls W/N
         assertFalse(tile.hasWallAt(Direction.EAST));
@@ -1,10 +1,14 @@
 package g65058.dev3.labyrinthe.model.game;
 
+import g65058.dev3.labyrinthe.model.ai.GreedyStrategy;
+import g65058.dev3.labyrinthe.model.ai.MctsStrategy;
 import g65058.dev3.labyrinthe.model.board.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -197,4 +201,135 @@ class LabyrinthFacadeTest {
         assertTrue(facade.getPlayers()[2].isRobot());
         assertTrue(facade.getPlayers()[3].isRobot());
     }
+
+    @Test
+    void testGameOfRobotsOnly() {
+        facade.startNewGame(0, 1, true, Board.SIZE, 5);
+        for (Player player : facade.getPlayers()) {
+            assertTrue(player.isRobot());
+        }
+
+        // The robots play whole rounds on their own
+        for (int turn = 0; turn < 8 && facade.isGameRunning(); turn++) {
+            assertTrue(facade.isCurrentPlayerRobot());
+            assertTrue(facade.applyAIMove(facade.requestAIMove(Runnable::run).join()));
+        }
+        assertTrue(facade.canUndo());
+    }
+
+    /**
+     * Starts a game with one human, who plays a first turn, so that a robot is to move.
+     */
+    private void startUntilRobotTurn(int aiDifficulty) {
+        facade.startNewGame(1, aiDifficulty, true);
+        facade.playTurn(facade.getValidArrows().get(0), null);
+        assertTrue(facade.isCurrentPlayerRobot());
+    }
+
+    @Test
+    void testRequestedAIMoveIsPlayed() {
+        startUntilRobotTurn(1);
+        Player robot = facade.getCurrentPlayer();
+
+        Move move = facade.requestAIMove(Runnable::run).join();
+        assertNotNull(move);
+        assertTrue(facade.applyAIMove(move));
+        assertNotEquals(robot, facade.getCurrentPlayer());
+        assertTrue(facade.canUndo());
+    }
+
+    @Test
+    void testAIMoveIsSearchedOnTheRequestedPosition() {
+        for (long seed = 0; seed < 10; seed++) {
+            facade.startNewGame(1, 1, true, Board.SIZE, seed);
+            facade.playTurn(facade.getValidArrows().get(0), null);
+            Player robot = facade.getCurrentPlayer();
+            Position position = robot.getPosition();
+            List<Runnable> queued = new ArrayList<>();
+            CompletableFuture<Move> future = facade.requestAIMove(queued::add);
+
+            // The live player changes before the search runs, then comes back
+            robot.setPosition(new Position(Board.SIZE - 1 - position.getRow(), Board.SIZE - 1 - position.getCol()));
+            queued.forEach(Runnable::run);
+            robot.setPosition(position);
+            assertTrue(facade.applyAIMove(future.join()), "Seed " + seed);
+        }
+    }
+
+    @Test
+    void testFailedSearchPlaysTheGreedyMove() {
+        startUntilRobotTurn(3);
+        // A closed Monte Carlo strategy rejects its searches
+        ((MctsStrategy) facade.getCurrentPlayer().getStrategy()).close();
+
+        Move move = facade.requestAIMove(Runnable::run).join();
+        assertNotNull(move);
+        assertTrue(facade.applyAIMove(move));
+    }
+
+    @Test
+    void testAbandonCancelsTheAIMove() {
+        startUntilRobotTurn(2);
+        List<Runnable> queued = new ArrayList<>();
+        CompletableFuture<Move> future = facade.requestAIMove(queued::add);
+
+        facade.abandon();
+        queued.forEach(Runnable::run);
+        assertNull(future.join());
+        assertFalse(facade.applyAIMove(future.join()));
+    }
+
+    @Test
+    void testAIMoveForAnUndoneTurnIsRejected() {
+        startUntilRobotTurn(1);
+        Move move = facade.requestAIMove(Runnable::run).join();
+
+        facade.undo();
+        assertFalse(facade.applyAIMove(move));
+        assertFalse(facade.isCurrentPlayerRobot());
+    }
+
+    @Test
+    void testAITimeLimit() {
+        assertEquals(LabyrinthFacade.DEFAULT_AI_TIME_LIMIT_MILLIS, facade.getAITimeLimit());
+        assertThrows(IllegalArgumentException.class, () -> facade.setAITimeLimit(0));
+
+        startUntilRobotTurn(2);
+        facade.setAITimeLimit(20);
+        long start = System.nanoTime();
+        facade.playAITurn();
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertNotEquals(facade.getPlayers()[1], facade.getCurrentPlayer());
+    }
+
+    @Test
+    void testPonderedReplyNeedsNoSearch() {
+        facade.startNewGame(1, 1, true);
+        facade.requestPondering(Runnable::run).join();
+        assertTrue(facade.getPonderer().getAnticipated() > 0);
+
+        // The human plays the most promising move
+        Player human = facade.getCurrentPlayer();
+        Move move = new GreedyStrategy().chooseMove(facade.getBoard(), human, facade.getSpareTile());
+        facade.getBoard().setSpareOrientation(move.getTileRotation());
+        facade.playTurn(move.getInsertArrow(), move.getDestination());
+
+        CompletableFuture<Move> reply = facade.requestAIMove(task -> fail("The reply was pondered"));
+        assertTrue(reply.isDone());
+        assertTrue(facade.applyAIMove(reply.join()));
+        assertEquals(1, facade.getPonderer().getHits());
+    }
+
+    @Test
+    void testUndoCancelsPondering() {
+        startUntilRobotTurn(2);
+        facade.undo();
+        List<Runnable> queued = new ArrayList<>();
+        CompletableFuture<Void> pondering = facade.requestPondering(queued::add);
+
+        facade.undo();
+        queued.forEach(Runnable::run);
+        assertTrue(pondering.isDone());
+        assertEquals(0, facade.getPonderer().getAnticipated());
+    }
 }
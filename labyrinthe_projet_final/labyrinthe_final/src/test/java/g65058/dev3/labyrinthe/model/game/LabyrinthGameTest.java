@@ -5,6 +5,7 @@ import g65058.dev3.labyrinthe.model.board.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static g65058.dev3.labyrinthe.model.ai.TestMoves.play;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -46,6 +47,15 @@ class LabyrinthGameTest {
         assertTrue(game.getPlayers()[3].isRobot());
     }
 
+    @Test
+    void testGameOfRobotsOnly() {
+        LabyrinthGame robots = new LabyrinthGame(0, new RandomStrategy(), true);
+        for (Player player : robots.getPlayers()) {
+            assertTrue(player.isRobot());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new LabyrinthGame(5, new RandomStrategy(), true));
+    }
+
     @Test
     void testCurrentPlayerIsFirstAfterStart() {
         game.start();
@@ -180,4 +190,59 @@ class LabyrinthGameTest {
         // Note: after move, current player changes, so we check the previous player
         assertEquals(newPos, game.getPlayers()[0].getPosition());
     }
+
+    @Test
+    void testShareRegionMatchesReachablePositions() {
+        game.start();
+        game.performInsertion(Arrow.getAllArrows().get(0), Direction.NORTH);
+        Player[] players = game.getPlayers();
+
+        for (Player first : players) {
+            for (Player second : players) {
+                boolean reachable = game.getReachablePositions(first).contains(second.getPosition());
+                assertEquals(reachable, game.shareRegion(first, second));
+            }
+        }
+    }
+
+    @Test
+    void testLargerBoardGame() {
+        LabyrinthGame large = new LabyrinthGame(1, new RandomStrategy(7), true, 15);
+        large.start();
+        assertEquals(15, large.getBoard().getSize());
+        assertEquals(Position.of(14, 14), large.getPlayers()[2].getPosition());
+
+        // Robots play whole turns on the larger board, wrapping pawns included
+        for (int turn = 0; turn < 20 && !large.isFinished(); turn++) {
+            Player player = large.getCurrentPlayer();
+            Board board = large.getBoard();
+            play(large, new RandomStrategy(turn).chooseMove(board, player, board.getSpareTile()));
+            assertEquals(large.recomputeStateHash(), large.getStateHash());
+        }
+    }
+
+    @Test
+    void testWouldAchieveObjectiveOnlyOnItsTile() {
+        game.start();
+        Objective objective = game.getCurrentPlayer().getCurrentObjectiveType();
+        Position location = game.getBoard().locate(objective);
+        for (int cell = 0; cell < Board.SIZE * Board.SIZE; cell++) {
+            Position position = game.getBoard().positionOf(cell);
+            assertEquals(position.equals(location), game.wouldAchieveObjective(position));
+        }
+    }
+
+    @Test
+    void testSeededGamesAreDealtAlike() {
+        LabyrinthGame first = new LabyrinthGame(1, null, true, Board.SIZE, 5);
+        LabyrinthGame second = new LabyrinthGame(1, null, true, Board.SIZE, 5);
+        LabyrinthGame other = new LabyrinthGame(1, null, true, Board.SIZE, 6);
+
+        assertEquals(first.getStateHash(), second.getStateHash());
+        assertNotEquals(first.getStateHash(), other.getStateHash());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(first.getPlayers()[i].getObjectiveStackCopy().stream().map(ObjectiveCard::getObjective).toList(),
+                    second.getPlayers()[i].getObjectiveStackCopy().stream().map(ObjectiveCard::getObjective).toList());
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package g65058.dev3.labyrinthe.model.game;
+
+import g65058.dev3.labyrinthe.model.ai.RandomStrategy;
+import g65058.dev3.labyrinthe.model.board.*;
+import g65058.dev3.labyrinthe.model.command.MovePlayerCommand;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the incremental Zobrist hash of LabyrinthGame against a full recompute.
+ */
+class StateHashTest {
+
+    /**
+     * Returns the position of the current player's objective if it is reachable,
+     * otherwise a random reachable position.
+     */
+    private static Position chooseDestination(LabyrinthGame game, Random random) {
+        List<Position> reachable = game.getReachablePositions();
+        for (Position position : reachable) {
+            if (game.wouldAchieveObjective(position)) {
+                return position;
+            }
+        }
+        return reachable.get(random.nextInt(reachable.size()));
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecomputeInLongGames() {
+        Random random = new Random(1234);
+        Direction[] orientations = Direction.values();
+        for (int round = 0; round < 20; round++) {
+            LabyrinthGame game = new LabyrinthGame(1, new RandomStrategy(), true);
+            game.start();
+            assertEquals(game.recomputeStateHash(), game.getStateHash());
+
+            for (int turn = 0; turn < 300 && game.getState() != GameState.FINISHED; turn++) {
+                List<Arrow> arrows = game.getBoard().getValidArrows();
+                game.performInsertion(arrows.get(random.nextInt(arrows.size())),
+                        orientations[random.nextInt(orientations.length)]);
+                assertEquals(game.recomputeStateHash(), game.getStateHash());
+
+                MovePlayerCommand move = new MovePlayerCommand(game, chooseDestination(game, random));
+                move.execute();
+                assertEquals(game.recomputeStateHash(), game.getStateHash());
+
+                // Take some moves back and play them again
+                if (random.nextInt(4) == 0) {
+                    move.undo();
+                    assertEquals(game.recomputeStateHash(), game.getStateHash());
+                    move.execute();
+                    assertEquals(game.recomputeStateHash(), game.getStateHash());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUndoingAMoveRestoresTheHash() {
+        LabyrinthGame game = new LabyrinthGame(1, new RandomStrategy(), true);
+        game.start();
+        game.performInsertion(Arrow.getAllArrows().get(0), Direction.NORTH);
+        long beforeMove = game.getStateHash();
+
+        MovePlayerCommand move = new MovePlayerCommand(game, chooseDestination(game, new Random(3)));
+        move.execute();
+        move.undo();
+
+        assertEquals(beforeMove, game.getStateHash());
+    }
+
+    @Test
+    void testUndoRestoresAchievedObjective() {
+        Random random = new Random(77);
+        LabyrinthGame game = new LabyrinthGame(1, new RandomStrategy(), true);
+        game.start();
+        for (int turn = 0; turn < 500; turn++) {
+            List<Arrow> arrows = game.getBoard().getValidArrows();
+            game.performInsertion(arrows.get(random.nextInt(arrows.size())), Direction.NORTH);
+            Position destination = chooseDestination(game, random);
+            if (game.wouldAchieveObjective(destination)) {
+                Player player = game.getCurrentPlayer();
+                int remaining = player.getRemainingObjectives();
+                Objective objective = player.getCurrentObjectiveType();
+
+                MovePlayerCommand move = new MovePlayerCommand(game, destination);
+                move.execute();
+                assertEquals(remaining - 1, player.getRemainingObjectives());
+                move.undo();
+
+                assertEquals(remaining, player.getRemainingObjectives());
+                assertEquals(objective, player.getCurrentObjectiveType());
+                return;
+            }
+            new MovePlayerCommand(game, destination).execute();
+        }
+        fail("No objective reached");
+    }
+}
@@ -0,0 +1,36 @@
+package g65058.dev3.labyrinthe.model.game;
+
+import g65058.dev3.labyrinthe.model.board.Objective;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Player helpers shared by the search tests and benchmarks.
+ */
+public final class TestPlayers {
+
+    private TestPlayers() {
+    }
+
+    /**
+     * Deals the objective cards to four robot players, as a new game does.
+     */
+    public static Player[] deal(Random random) {
+        List<Objective> objectives = new ArrayList<>(List.of(Objective.values()));
+        Collections.shuffle(objectives, random);
+        Player[] players = new Player[4];
+        int cardsPerPlayer = objectives.size() / players.length;
+        for (int i = 0; i < players.length; i++) {
+            Stack<ObjectiveCard> cards = new Stack<>();
+            for (Objective objective : objectives.subList(i * cardsPerPlayer, (i + 1) * cardsPerPlayer)) {
+                cards.push(new ObjectiveCard(objective));
+            }
+            players[i] = new Player(i, "Player " + (i + 1), PlayerColor.values()[i], cards, null, true);
+        }
+        return players;
+    }
+}
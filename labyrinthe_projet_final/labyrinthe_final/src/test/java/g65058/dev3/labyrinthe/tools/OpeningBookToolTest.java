@@ -0,0 +1,60 @@
+package g65058.dev3.labyrinthe.tools;
+
+import g65058.dev3.labyrinthe.model.ai.BookStrategy;
+import g65058.dev3.labyrinthe.model.ai.GreedyStrategy;
+import g65058.dev3.labyrinthe.model.ai.OpeningBook;
+import g65058.dev3.labyrinthe.model.ai.OpeningBookWriter;
+import g65058.dev3.labyrinthe.model.board.Board;
+import g65058.dev3.labyrinthe.model.game.LabyrinthFacade;
+import g65058.dev3.labyrinthe.model.game.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the OpeningBookTool class.
+ */
+class OpeningBookToolTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBuildsTheRobotRepliesOfEverySeed() throws IOException {
+        OpeningBookWriter one = OpeningBookTool.build(0, 1, 500, 7);
+        OpeningBookWriter two = OpeningBookTool.build(0, 2, 500, 7);
+        assertTrue(one.size() > 0);
+        assertTrue(two.size() > one.size());
+        assertEquals(0, one.size() % 3, "Three robot moves after each human move");
+
+        Path path = directory.resolve("book.bin");
+        OpeningBookTool.main(new String[]{path.toString(), "0", "1", "500"});
+        try (OpeningBook book = OpeningBook.open(path)) {
+            assertEquals(one.size(), book.size());
+        }
+    }
+
+    @Test
+    void testSeededGameOfTheFacadePlaysFromTheBook() throws IOException {
+        Path path = directory.resolve("book.bin");
+        OpeningBookTool.build(3, 1, 500, Board.SIZE).write(path);
+
+        try (OpeningBook book = OpeningBook.open(path)) {
+            LabyrinthFacade facade = new LabyrinthFacade();
+            facade.setOpeningBook(book);
+            facade.startNewGame(1, 2, true, Board.SIZE, 3);
+            // The human plays the most promising move, which the book answers
+            Move move = new GreedyStrategy().chooseMove(facade.getBoard(), facade.getCurrentPlayer(),
+                    facade.getSpareTile());
+            facade.getBoard().setSpareOrientation(move.getTileRotation());
+            facade.playTurn(move.getInsertArrow(), move.getDestination());
+
+            BookStrategy robot = (BookStrategy) facade.getCurrentPlayer().getStrategy();
+            assertTrue(facade.applyAIMove(facade.requestAIMove(Runnable::run).join()));
+            assertEquals(1, robot.getHits());
+        }
+    }
+}
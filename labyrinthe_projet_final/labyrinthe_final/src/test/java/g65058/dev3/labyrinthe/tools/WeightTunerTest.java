@@ -0,0 +1,59 @@
+package g65058.dev3.labyrinthe.tools;
+
+import g65058.dev3.labyrinthe.model.ai.EvaluationWeights;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the WeightTuner class.
+ */
+class WeightTunerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSameSeedGivesTheSameWeightsWhateverTheThreads() {
+        try (WeightTuner single = new WeightTuner(EvaluationWeights.DEFAULT, 3, 2, 300, 7, 1);
+             WeightTuner parallel = new WeightTuner(EvaluationWeights.DEFAULT, 3, 2, 300, 7, 2)) {
+            for (int i = 0; i < 2; i++) {
+                assertEquals(single.step(), parallel.step());
+                assertEquals(single.getLastOutcome(), parallel.getLastOutcome());
+            }
+            assertEquals(2, single.getIteration());
+        }
+    }
+
+    @Test
+    void testMatchIsAntisymmetric() {
+        EvaluationWeights reach = new EvaluationWeights(4, 1, 2, 100);
+        try (WeightTuner tuner = new WeightTuner(EvaluationWeights.DEFAULT, 0, 2, 300, 7, 2)) {
+            double score = tuner.match(reach, EvaluationWeights.DEFAULT, 5, 2);
+            assertTrue(score >= -1 && score <= 1);
+            assertEquals(-score, tuner.match(EvaluationWeights.DEFAULT, reach, 5, 2));
+            assertEquals(0, tuner.match(reach, reach, 5, 2));
+        }
+    }
+
+    @Test
+    void testMainWritesTheWeightsFile() throws IOException {
+        Path path = directory.resolve("weights.properties");
+        WeightTuner.main(new String[]{path.toString(), "1", "1", "2", "300", "1"});
+
+        try (WeightTuner tuner = new WeightTuner(EvaluationWeights.DEFAULT, 1, 2, 300, 7, 1)) {
+            assertEquals(tuner.step(), EvaluationWeights.load(path));
+        }
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightTuner(EvaluationWeights.DEFAULT, 0, 3, 300, 7, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WeightTuner(EvaluationWeights.DEFAULT, 0, 2, 0, 7, 1));
+    }
+}